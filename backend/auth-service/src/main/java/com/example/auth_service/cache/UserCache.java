@@ -0,0 +1,197 @@
+package com.example.auth_service.cache;
+
+import com.example.auth_service.entities.User;
+import com.example.auth_service.enums.UserRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache borné des utilisateurs lus lors de l'authentification.
+ *
+ * Chaque connexion, et chaque inscription pour son contrôle de doublon, recherchait l'utilisateur
+ * par son nom en base. Les utilisateurs trouvés sont désormais conservés pendant une durée limitée
+ * ({@code auth.user-cache.ttl}) ; le cache est invalidé explicitement à l'inscription et au
+ * changement de mot de passe.
+ *
+ * Les noms inconnus sont aussi mémorisés (cache négatif), plus brièvement et dans une table à part
+ * de taille plafonnée : une fois pleine, les nouveaux noms inconnus ne sont plus mémorisés. Un client
+ * qui essaie des noms au hasard ne peut donc ni faire grossir la mémoire ni évincer les vrais utilisateurs.
+ *
+ * Le cache conserve un instantané de chaque utilisateur et renvoie une copie à chaque lecture :
+ * une modification de l'objet renvoyé n'altère pas le cache.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class UserCache {
+
+    /**
+     * Utilisateurs connus, indexés par nom d'utilisateur.
+     */
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    /**
+     * Noms d'utilisateur inconnus et instant d'expiration de l'entrée (en millisecondes).
+     */
+    private final Map<String, Long> unknown = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final int maxNegativeEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    /**
+     * Constructeur du cache.
+     *
+     * @param maxEntries Le nombre maximal d'utilisateurs conservés.
+     * @param maxNegativeEntries Le nombre maximal de noms inconnus conservés.
+     * @param ttl La durée de conservation d'un utilisateur.
+     * @param negativeTtl La durée de conservation d'un nom inconnu.
+     */
+    public UserCache(@Value("${auth.user-cache.max-entries:10000}") int maxEntries,
+                     @Value("${auth.user-cache.max-negative-entries:1000}") int maxNegativeEntries,
+                     @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+                     @Value("${auth.user-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.maxEntries = maxEntries;
+        this.maxNegativeEntries = maxNegativeEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+    }
+
+    /**
+     * Recherche un utilisateur, dans le cache puis, à défaut, avec la fonction de chargement.
+     *
+     * @param username Le nom d'utilisateur.
+     * @param loader La fonction de chargement de l'utilisateur en base.
+     * @return Une copie de l'utilisateur, ou {@code null} s'il n'existe pas.
+     */
+    public User get(String username, Function<String, User> loader) {
+        if (username == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        CachedUser cached = users.get(username);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.copy();
+            }
+            users.remove(username, cached);
+        }
+        Long unknownUntil = unknown.get(username);
+        if (unknownUntil != null) {
+            if (unknownUntil > now) {
+                return null;
+            }
+            unknown.remove(username, unknownUntil);
+        }
+
+        User user = loader.apply(username);
+        if (user == null) {
+            rememberUnknown(username, now);
+            return null;
+        }
+        CachedUser loaded = new CachedUser(user, now + ttlMillis);
+        if (users.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        users.put(username, loaded);
+        return loaded.copy();
+    }
+
+    /**
+     * Retire un utilisateur du cache (inscription, changement de mot de passe).
+     *
+     * @param username Le nom d'utilisateur.
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            users.remove(username);
+            unknown.remove(username);
+        }
+    }
+
+    /**
+     * Mémorise un nom inconnu, si la table des noms inconnus n'est pas pleine.
+     *
+     * @param username Le nom d'utilisateur inconnu.
+     * @param now L'instant courant en millisecondes.
+     */
+    private void rememberUnknown(String username, long now) {
+        if (unknown.size() >= maxNegativeEntries) {
+            unknown.values().removeIf(expiresAt -> expiresAt <= now);
+            if (unknown.size() >= maxNegativeEntries) {
+                return;
+            }
+        }
+        unknown.put(username, now + negativeTtlMillis);
+    }
+
+    /**
+     * Libère de la place lorsque le cache est plein : les entrées expirées sont retirées en premier,
+     * puis des entrées arbitraires jusqu'à repasser sous la limite.
+     *
+     * @param now L'instant courant en millisecondes.
+     */
+    private void makeRoom(long now) {
+        users.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> keys = users.keySet().iterator();
+        while (users.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * @return Le nombre d'utilisateurs actuellement dans le cache.
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Instantané d'un utilisateur en cache.
+     */
+    private static final class CachedUser {
+
+        private final Long id;
+        private final String username;
+        private final String password;
+        private final UserRole role;
+
+        /**
+         * L'instant d'expiration de l'entrée, en millisecondes.
+         */
+        private final long expiresAt;
+
+        /**
+         * Constructeur de l'instantané.
+         *
+         * @param user L'utilisateur lu en base.
+         * @param expiresAt L'instant d'expiration de l'entrée.
+         */
+        CachedUser(User user, long expiresAt) {
+            this.id = user.getId();
+            this.username = user.getUsername();
+            this.password = user.getPassword();
+            this.role = user.getRole();
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return Une nouvelle copie de l'utilisateur.
+         */
+        User copy() {
+            User user = new User(username, password);
+            user.setId(id);
+            user.setRole(role);
+            return user;
+        }
+    }
+}
@@ -9,8 +9,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -26,6 +24,8 @@ import java.util.List;
  * la gestion des mots de passe, et la configuration des autorisations 
  * d'accès aux différentes routes HTTP.
  * 
+ * L'encodeur des mots de passe est fourni par {@link PasswordHasher}.
+ * 
  * @author Jules Courné
  * @version 1.0
  */
@@ -47,22 +47,27 @@ public class AuthConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/api/auth/signup").permitAll() 
                         .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/refresh").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/auth/users").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/auth/users/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/auth/users/batch").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/users/batch").permitAll()
+                        // Le token est vérifié par le contrôleur ; la liste des révocations est lue par la passerelle
+                        .requestMatchers(HttpMethod.POST, "/api/auth/logout").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/auth/revocations").permitAll()
+                        // Flux des événements utilisateurs, lu par la passerelle pour invalider ses caches et
+                        // alimenter /api/events (non exposé directement par la passerelle)
+                        .requestMatchers(HttpMethod.GET, "/api/auth/events").permitAll()
+                        // Le rôle administrateur est vérifié par le contrôleur à partir du token
+                        .requestMatchers(HttpMethod.POST, "/api/auth/admin/users/import").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        // Page d'erreur : sans elle, les codes d'erreur des endpoints publics (401, 503) deviendraient des 403
+                        .requestMatchers("/error").permitAll()
                         .anyRequest().authenticated()
                 )
                 .build();
     }
 	
-    /**
-     * Crée et retourne un objet PasswordEncoder utilisant l'algorithme de hachage BCrypt.
-     *
-     * @return Un objet PasswordEncoder qui utilise l'algorithme BCrypt pour encoder les mots de passe.
-     */
-    @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * Crée et retourne un gestionnaire d'authentification (AuthenticationManager) en utilisant la configuration fournie.
      *
@@ -0,0 +1,251 @@
+package com.example.auth_service.configs;
+
+import com.example.auth_service.exceptions.HashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodeur des mots de passe (BCrypt) exécutant les hachages sur un exécuteur dédié et borné.
+ *
+ * BCrypt est volontairement coûteux en CPU : lors d'un pic de connexions, des hachages exécutés
+ * directement sur les threads de Tomcat saturent le CPU et allongent toutes les réponses.
+ * Ici, le nombre de hachages simultanés est limité au nombre de threads de l'exécuteur (par défaut
+ * le nombre de cœurs) et la file d'attente est bornée : au-delà, la requête est refusée
+ * immédiatement (503) au lieu d'attendre indéfiniment.
+ *
+ * Le coût de BCrypt est configurable ({@code auth.password.bcrypt-cost}). Les mots de passe
+ * enregistrés avec un coût inférieur sont signalés par {@link #upgradeEncoding(String)} : Spring
+ * Security les rehache alors à la connexion suivante (voir {@code UserService#updatePassword}).
+ *
+ * Les imports d'utilisateurs hachent sur un second exécuteur ({@link #encodeAll(List)}), limité par
+ * défaut à la moitié des cœurs, pour ne pas retarder les connexions.
+ *
+ * Métriques publiées : auth.password.hashing (durée du hachage, tag operation=encode|matches|bulk_encode),
+ * auth.password.hashing.wait (attente dans la file), auth.password.hashing.queue (taille de la file)
+ * et auth.password.hashing.rejected (requêtes refusées).
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class PasswordHasher implements PasswordEncoder {
+
+    /**
+     * Encodeur BCrypt, configuré avec le coût courant.
+     */
+    private final BCryptPasswordEncoder encoder;
+
+    /**
+     * Exécuteur dédié aux hachages.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Exécuteur des hachages en masse (import d'utilisateurs), séparé de celui des connexions
+     * pour qu'un import ne monopolise pas tous les cœurs.
+     */
+    private final ThreadPoolExecutor bulkExecutor;
+
+    /**
+     * Délai maximal d'attente d'un hachage (file d'attente comprise).
+     */
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer bulkEncodeTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    /**
+     * Constructeur de l'encodeur.
+     *
+     * @param meterRegistry Le registre Micrometer de l'application.
+     * @param cost Le coût (facteur de travail) de BCrypt.
+     * @param threads Le nombre de threads de hachage (0 pour le nombre de cœurs).
+     * @param queueCapacity La taille maximale de la file d'attente.
+     * @param timeout Le délai maximal d'attente d'un hachage.
+     * @param bulkThreads Le nombre de threads des hachages en masse (0 pour la moitié des cœurs).
+     */
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${auth.password.bcrypt-cost:10}") int cost,
+                          @Value("${auth.password.hashing-threads:0}") int threads,
+                          @Value("${auth.password.hashing-queue:64}") int queueCapacity,
+                          @Value("${auth.password.hashing-timeout:5s}") Duration timeout,
+                          @Value("${auth.password.bulk-hashing-threads:0}") int bulkThreads) {
+        this.encoder = new BCryptPasswordEncoder(cost);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeout.toMillis();
+        int bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger bulkCount = new AtomicInteger();
+        this.bulkExecutor = new ThreadPoolExecutor(bulkPoolSize, bulkPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-bulk-hashing-" + bulkCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.encodeTimer = timer(meterRegistry, "encode");
+        this.matchesTimer = timer(meterRegistry, "matches");
+        this.bulkEncodeTimer = timer(meterRegistry, "bulk_encode");
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Attente des hachages dans la file de l'exécuteur")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Hachages refusés, exécuteur saturé")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Hachages en attente dans la file de l'exécuteur")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hache un mot de passe.
+     *
+     * @param rawPassword Le mot de passe en clair.
+     * @return Le mot de passe haché.
+     * @throws HashingRejectedException Si l'exécuteur est saturé.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Vérifie un mot de passe.
+     *
+     * @param rawPassword Le mot de passe en clair.
+     * @param encodedPassword Le mot de passe haché enregistré.
+     * @return {@code true} si le mot de passe correspond.
+     * @throws HashingRejectedException Si l'exécuteur est saturé.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hache une série de mots de passe en parallèle, sur l'exécuteur des hachages en masse.
+     * L'appelant borne la taille de la série (l'import procède par lots).
+     *
+     * @param rawPasswords Les mots de passe en clair.
+     * @return Les mots de passe hachés, dans le même ordre.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> bulkEncodeTimer.record(() -> encoder.encode(rawPassword)), bulkExecutor));
+        }
+        List<String> encoded = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            encoded.add(future.join());
+        }
+        return encoded;
+    }
+
+    /**
+     * Indique si un mot de passe haché l'a été avec un coût inférieur au coût courant.
+     *
+     * @param encodedPassword Le mot de passe haché enregistré.
+     * @return {@code true} si le mot de passe doit être haché de nouveau.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Exécute un hachage sur l'exécuteur dédié et attend son résultat.
+     *
+     * @param task Le hachage à exécuter.
+     * @return Le résultat du hachage.
+     * @throws HashingRejectedException Si la file est pleine ou si le délai est dépassé.
+     */
+    private <T> T submit(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingRejectedException("Too many concurrent password operations");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new HashingRejectedException("Password operation timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingRejectedException("Password operation interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Arrête l'exécuteur à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+
+    /**
+     * Crée le temporisateur d'une opération de hachage.
+     *
+     * @param meterRegistry Le registre Micrometer.
+     * @param operation L'opération (encode ou matches).
+     * @return Le temporisateur.
+     */
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Durée des hachages BCrypt")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -5,11 +5,13 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.UUID;
 
 /**
  * Service de génération et de validation des tokens JWT.
@@ -28,9 +30,17 @@ public class TokenProvider {
      */
     private String JWT_SECRET = "mykey";
 
+    /**
+     * Durée de vie d'un token d'accès. Elle est courte : le client en obtient un nouveau avec son
+     * token de rafraîchissement, sans refaire la vérification du mot de passe.
+     */
+    @Value("${auth.token.access-ttl:15m}")
+    private Duration accessTtl;
+
     /**
      * Génère un token d'accès JWT pour un utilisateur.
-     * Ce token contient des informations sur l'utilisateur, comme son nom d'utilisateur et son rôle.
+     * Ce token contient des informations sur l'utilisateur, comme son nom d'utilisateur et son rôle,
+     * ainsi qu'un identifiant unique ("jti") permettant de le révoquer.
      * 
      * @param user L'utilisateur pour lequel générer le token.
      * @return Un token JWT signé avec la clé secrète.
@@ -40,6 +50,7 @@ public class TokenProvider {
         try {
             Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET);
             return JWT.create()
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(user.getUsername())
                     .withClaim("username", user.getUsername())
                     .withClaim("role", user.getRole().name())
@@ -58,23 +69,40 @@ public class TokenProvider {
      * @throws JWTVerificationException Si le token est invalide ou si l'authentification échoue.
      */
     public String validateToken(String token) {
+        return decodeToken(token).getSubject();
+    }
+
+    /**
+     * Valide un token JWT et retourne l'ensemble de ses claims (sujet, identifiant "jti", expiration...).
+     * 
+     * @param token Le token JWT à valider.
+     * @return Le token décodé.
+     * @throws JWTVerificationException Si le token est invalide ou expiré.
+     */
+    public DecodedJWT decodeToken(String token) {
         try {
             Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET);
             return JWT.require(algorithm)
                     .build()
-                    .verify(token)
-                    .getSubject();
+                    .verify(token);
         } catch (JWTVerificationException exception) {
             throw new JWTVerificationException("Error while validating token", exception);
         }
     }
 
     /**
-     * Génère la date d'expiration du token d'accès (2 heures à partir du moment actuel).
+     * Génère la date d'expiration du token d'accès (durée de vie configurée à partir du moment actuel).
      * 
      * @return L'instant représentant la date et l'heure d'expiration du token.
      */
     private Instant genAccessExpirationDate() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(accessTtl);
+    }
+
+    /**
+     * @return La durée de vie d'un token d'accès.
+     */
+    public Duration getAccessTtl() {
+        return accessTtl;
     }
 }
\ No newline at end of file
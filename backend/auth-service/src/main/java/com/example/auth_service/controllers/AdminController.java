@@ -0,0 +1,143 @@
+package com.example.auth_service.controllers;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.configs.TokenProvider;
+import com.example.auth_service.enums.UserRole;
+import com.example.auth_service.services.RevocationService;
+import com.example.auth_service.services.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Contrôleur des opérations d'administration des utilisateurs, réservées aux administrateurs.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/auth/admin")
+public class AdminController {
+
+    /**
+     * Le service d'import en masse des utilisateurs.
+     */
+    private final UserImportService userImportService;
+
+    /**
+     * Le fournisseur de tokens, pour vérifier le token de l'administrateur.
+     */
+    private final TokenProvider tokenProvider;
+
+    /**
+     * Le service de révocation, pour refuser un token révoqué.
+     */
+    private final RevocationService revocationService;
+
+    /**
+     * Le convertisseur JSON, pour écrire le rapport ligne à ligne.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructeur du contrôleur.
+     *
+     * @param userImportService Le service d'import en masse des utilisateurs.
+     * @param tokenProvider Le fournisseur de tokens JWT.
+     * @param revocationService Le service de révocation des tokens.
+     * @param objectMapper Le convertisseur JSON.
+     */
+    public AdminController(UserImportService userImportService, TokenProvider tokenProvider,
+                           RevocationService revocationService, ObjectMapper objectMapper) {
+        this.userImportService = userImportService;
+        this.tokenProvider = tokenProvider;
+        this.revocationService = revocationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Endpoint d'import en masse des utilisateurs, à partir d'un fichier CSV ("username,password",
+     * en-tête facultatif) ou NDJSON ({"username": ..., "password": ...} par ligne).
+     *
+     * Le rapport est renvoyé en NDJSON au fil de l'import : une ligne par ligne du fichier
+     * ({"line", "username", "status": created|duplicate|invalid, "error"}), puis une ligne de bilan
+     * ({"summary": {"created", "duplicates", "invalid"}}).
+     *
+     * @param authorization L'en-tête d'autorisation contenant le token JWT d'un administrateur.
+     * @param request La requête, dont le corps est le fichier à importer.
+     * @param response La réponse, dans laquelle le rapport est écrit.
+     * @throws IOException Si la lecture du fichier ou l'écriture du rapport échoue.
+     * @throws ResponseStatusException 401 si le token est absent ou invalide, 403 s'il n'est pas celui d'un administrateur.
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public void importUsers(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        checkAdmin(authorization);
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            UserImportService.Summary summary = userImportService.importUsers(reader, ndjson, result -> write(output, result));
+            write(output, Map.of("summary", summary));
+        }
+        output.flush();
+    }
+
+    /**
+     * Vérifie que la requête est authentifiée par le token valide et non révoqué d'un administrateur.
+     *
+     * @param authorization L'en-tête d'autorisation.
+     * @throws ResponseStatusException 401 si le token est absent, invalide ou révoqué, 403 si l'utilisateur n'est pas administrateur.
+     */
+    private void checkAdmin(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authorization header not found");
+        }
+        DecodedJWT jwt;
+        try {
+            jwt = tokenProvider.decodeToken(authorization.substring(7));
+        } catch (JWTVerificationException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT token");
+        }
+        if (revocationService.isRevoked(jwt)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token revoked");
+        }
+        if (!UserRole.ADMIN.name().equals(jwt.getClaim("role").asString())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Administrator role required");
+        }
+    }
+
+    /**
+     * Écrit une ligne du rapport.
+     *
+     * @param output Le flux de la réponse.
+     * @param value La ligne à écrire.
+     */
+    private void write(OutputStream output, Object value) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(value));
+            output.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
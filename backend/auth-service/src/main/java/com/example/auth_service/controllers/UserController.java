@@ -1,25 +1,58 @@
 package com.example.auth_service.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
 import org.springframework.http.MediaType;
 
 import com.example.auth_service.configs.TokenProvider;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.auth_service.dto.UserSummary;
+import com.example.auth_service.entities.RevokedToken;
 import com.example.auth_service.entities.User;
+import com.example.auth_service.events.UserEventPublisher;
+import com.example.auth_service.exceptions.HashingRejectedException;
+import com.example.auth_service.exceptions.InvalidRefreshTokenException;
+import com.example.auth_service.services.RefreshTokenService;
+import com.example.auth_service.services.RevocationService;
+import com.example.auth_service.search.UsernameIndex;
+import com.example.auth_service.security.ClientAddressResolver;
+import com.example.auth_service.security.LoginThrottle;
 import com.example.auth_service.services.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.List;
 import java.util.Map;
 
@@ -54,34 +87,105 @@ public class UserController {
      * Il est utilisé pour interagir avec les données des utilisateurs dans la base de données.
      */
     private UserService userService; 
+
+    /**
+     * Le service de révocation des tokens, utilisé pour la déconnexion.
+     */
+    private final RevocationService revocationService;
     
     /**
-     * Un flux réactif de type Sinks, utilisé pour diffuser des événements en temps réel concernant les utilisateurs.
+     * Le flux des événements utilisateurs, partagé avec l'import en masse.
      * Ce flux est basé sur WebFlux et permet l'envoi d'événements en temps réel aux abonnés.
      */
-    private final Sinks.Many<Map<String, Object>> userSink;
+    private final UserEventPublisher userEvents;
+
+    /**
+     * Taille par défaut et taille maximale d'une page d'utilisateurs.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Nom du cookie contenant le token de rafraîchissement.
+     */
+    private static final String REFRESH_COOKIE = "refresh_token";
+
+    /**
+     * La limitation des tentatives de connexion échouées.
+     */
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    /**
+     * La détermination de l'adresse IP du client (X-Forwarded-For lu seulement depuis la passerelle).
+     */
+    @Autowired
+    private ClientAddressResolver clientAddressResolver;
+
+    /**
+     * Le service des tokens de rafraîchissement.
+     */
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    /**
+     * Durée de vie du token de rafraîchissement (et de son cookie).
+     */
+    @Value("${auth.token.refresh-ttl:14d}")
+    private Duration refreshTtl;
+
+    /**
+     * Indique si le cookie du token de rafraîchissement n'est envoyé qu'en HTTPS.
+     */
+    @Value("${auth.token.refresh-cookie-secure:false}")
+    private boolean secureCookie;
+
+    /**
+     * Nombre maximal de noms et d'identifiants d'une résolution groupée.
+     */
+    private static final int MAX_BATCH_SIZE = 200;
+
+    /**
+     * Nombre maximal de résultats d'une recherche par préfixe.
+     */
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    /**
+     * L'index des noms d'utilisateur, pour l'autocomplétion.
+     */
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    /**
+     * Le convertisseur JSON, utilisé pour écrire les lignes NDJSON.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * Constructeur du contrôleur UserController.
      * Initialise le service utilisateur et le flux des événements utilisateurs.
      * 
      * @param userService Le service utilisé pour gérer les utilisateurs.
+     * @param revocationService Le service de révocation des tokens.
+     * @param userEvents Le flux des événements utilisateurs.
      */
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, RevocationService revocationService, UserEventPublisher userEvents) {
         this.userService = userService;
-        this.userSink = Sinks.many().multicast().onBackpressureBuffer();
+        this.revocationService = revocationService;
+        this.userEvents = userEvents;
     }
 
     /**
      * Endpoint pour recevoir des événements en temps réel concernant les utilisateurs.
-     * Utilise le flux Sinks pour envoyer des événements via WebFlux.
+     * Utilise le flux partagé pour envoyer des événements via WebFlux.
      * 
      * @return Flux de Map contenant les événements utilisateurs.
      */
     @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<Map<String, Object>> getProjectUpdates() {
-        return userSink.asFlux();
+        return userEvents.events();
     }
 
     /**
@@ -89,18 +193,132 @@ public class UserController {
      * L'utilisateur envoie son nom d'utilisateur et son mot de passe, et si l'authentification réussit,
      * un token JWT est généré et retourné.
      * 
+     * Les tentatives sont refusées (429) sans vérifier le mot de passe après trop d'échecs récents
+     * pour ce nom d'utilisateur ou cette adresse IP (voir {@link LoginThrottle}).
+     * 
      * @param data L'objet User contenant les informations d'identification (username, password).
+     * @param request La requête, pour l'adresse IP du client.
      * @param response L'objet HttpServletResponse, utilisé pour répondre à la requête.
      * @return ResponseEntity contenant le token d'accès JWT ou un message d'erreur.
      */
     @PostMapping("/login")
-    public ResponseEntity<String> signIn(@RequestBody @Validated User data, HttpServletResponse response) {
+    public ResponseEntity<String> signIn(@RequestBody @Validated User data, HttpServletRequest request, HttpServletResponse response) {
+        // Limitation des échecs avant toute vérification du mot de passe (BCrypt)
+        String clientIp = clientAddressResolver.clientIp(request);
+        loginThrottle.check(data.getUsername(), clientIp);
         var userPassword = new UsernamePasswordAuthenticationToken(data.getUsername(), data.getPassword());
-        var authUser = authenticationManager.authenticate(userPassword);
+        Authentication authUser;
+        try {
+            authUser = authenticationManager.authenticate(userPassword);
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(data.getUsername(), clientIp);
+            throw e;
+        }
+        loginThrottle.recordSuccess(data.getUsername());
         var accessToken = jwtUtil.generateAccessToken((User) authUser.getPrincipal());
-        System.out.println("Access Token : " + accessToken);
-        userSink.tryEmitNext(Map.of("type", "USER_LOGGED_IN", "username", data.getUsername()));
-        return ResponseEntity.ok(accessToken);
+        var refreshToken = refreshTokenService.issue(data.getUsername());
+        userEvents.publish(Map.of("type", "USER_LOGGED_IN", "username", data.getUsername()));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie(refreshToken, refreshTtl).toString())
+                .body(accessToken);
+    }
+
+    /**
+     * Endpoint pour obtenir un nouveau token d'accès à partir du token de rafraîchissement,
+     * sans vérification du mot de passe. Le token de rafraîchissement est remplacé à chaque appel.
+     * 
+     * Le token est lu dans le cookie "refresh_token" (navigateur) ou, à défaut, dans le corps
+     * de la requête ({"refreshToken": "..."}) pour les autres clients.
+     * 
+     * @param cookie Le token de rafraîchissement transmis par cookie.
+     * @param body Le corps de la requête, contenant éventuellement le token de rafraîchissement.
+     * @return ResponseEntity contenant le nouveau token d'accès, et le nouveau token de rafraîchissement en cookie.
+     * @throws InvalidRefreshTokenException (401) Si le token est absent, inconnu, expiré ou déjà utilisé.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<String> refresh(@CookieValue(value = REFRESH_COOKIE, required = false) String cookie,
+                                          @RequestBody(required = false) Map<String, String> body) {
+        String token = cookie != null ? cookie : (body != null ? body.get("refreshToken") : null);
+        if (token == null || token.isBlank()) {
+            throw new InvalidRefreshTokenException("Missing refresh token");
+        }
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+        var accessToken = jwtUtil.generateAccessToken(rotation.user());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie(rotation.refreshToken(), refreshTtl).toString())
+                .body(accessToken);
+    }
+
+    /**
+     * Construit le cookie du token de rafraîchissement : inaccessible au JavaScript (HttpOnly)
+     * et limité aux routes d'authentification.
+     * 
+     * @param token Le token de rafraîchissement (vide pour supprimer le cookie).
+     * @param maxAge La durée de vie du cookie.
+     * @return Le cookie.
+     */
+    private ResponseCookie refreshCookie(String token, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_COOKIE, token)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Strict")
+                .path("/api/auth")
+                .maxAge(maxAge)
+                .build();
+    }
+
+    /**
+     * Endpoint pour déconnecter un utilisateur : son token est révoqué et sera refusé par la passerelle,
+     * et ses tokens de rafraîchissement sont révoqués.
+     * 
+     * @param authorization L'en-tête d'autorisation contenant le token JWT à révoquer.
+     * @param refreshToken Le token de rafraîchissement transmis par cookie.
+     * @return ResponseEntity vide (204) si le token a été révoqué, 401 si le token est absent ou invalide.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @CookieValue(value = REFRESH_COOKIE, required = false) String refreshToken) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            revocationService.revoke(authorization.substring(7));
+            if (refreshToken != null) {
+                refreshTokenService.revoke(refreshToken);
+            }
+            return ResponseEntity.noContent()
+                    .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+                    .build();
+        } catch (JWTVerificationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    /**
+     * Endpoint utilisé par les passerelles pour récupérer les révocations de tokens
+     * postérieures à leur dernière lecture.
+     * 
+     * Le curseur est le couple (instant de révocation, identifiant) de la dernière révocation lue.
+     * Une révocation peut devenir visible après une révocation plus récente (transactions concurrentes) :
+     * les passerelles relisent donc une fenêtre de recouvrement avant leur dernier curseur.
+     * 
+     * @param since L'instant de révocation de la dernière révocation déjà lue (absent pour tout lire).
+     * @param afterId L'identifiant de la dernière révocation déjà lue (0 pour lire tout l'instant {@code since}).
+     * @return ResponseEntity contenant le curseur suivant ("since", "afterId") et les révocations ("revoked").
+     */
+    @GetMapping("/revocations")
+    public ResponseEntity<Map<String, Object>> getRevocations(@RequestParam(required = false) Instant since,
+                                                              @RequestParam(defaultValue = "0") long afterId) {
+        Instant from = since != null ? since : Instant.EPOCH;
+        List<RevokedToken> revoked = revocationService.revokedSince(from, afterId);
+        RevokedToken last = revoked.isEmpty() ? null : revoked.get(revoked.size() - 1);
+        List<Map<String, Object>> entries = revoked.stream()
+                .map(token -> Map.<String, Object>of("jti", token.getJti(), "expiresAt", token.getExpiresAt().toEpochMilli()))
+                .toList();
+        return ResponseEntity.ok(Map.of(
+                "since", (last != null ? last.getRevokedAt() : from).toString(),
+                "afterId", last != null ? last.getId() : afterId,
+                "revoked", entries));
     }
 
     /**
@@ -118,22 +336,179 @@ public class UserController {
         }
 
         try {
-            userService.signUp(user);
-            userSink.tryEmitNext(Map.of("type", "USER_CREATED", "user", user));
+            User created = (User) userService.signUp(user);
+            UserSummary summary = new UserSummary(created.getId(), created.getUsername());
+            usernameIndex.add(summary);
+            userEvents.publish(Map.of("type", "USER_CREATED", "user", summary));
             return ResponseEntity.ok("User created successfully");
+        } catch (HashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
     /**
-     * Endpoint pour récupérer la liste de tous les utilisateurs enregistrés.
+     * Endpoint pour récupérer les utilisateurs, sous forme de projection légère (id, nom d'utilisateur).
      * 
-     * @return ResponseEntity contenant la liste des utilisateurs.
+     * - Toujours une page par curseur ({@value #DEFAULT_PAGE_SIZE} utilisateurs par défaut, {@value #MAX_PAGE_SIZE}
+     *   au plus) : "nextCursor" est à passer en "after" pour la page suivante (absent sur la dernière page).
+     *   Sans paramètre, la première page : la table entière n'est plus jamais renvoyée en un bloc.
+     * - Avec {@code Accept: application/x-ndjson} : un utilisateur par ligne, lus en base avec un
+     *   curseur JDBC au fil de l'envoi, pour une mémoire constante quelle que soit la taille de la table.
+     * 
+     * @param after L'identifiant du dernier utilisateur déjà reçu.
+     * @param limit La taille de la page.
+     * @param accept L'en-tête Accept de la requête.
+     * @return ResponseEntity contenant les utilisateurs.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            long start = after != null ? after : 0L;
+            StreamingResponseBody body = output -> userService.streamUsers(start, user -> {
+                try {
+                    output.write(objectMapper.writeValueAsBytes(user));
+                    output.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+        int size = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+        List<UserSummary> users = userService.getUserPage(after != null ? after : 0L, size);
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("users", users);
+        if (users.size() == size) {
+            page.put("nextCursor", users.get(users.size() - 1).getId());
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Endpoint d'autocomplétion : les utilisateurs dont le nom commence par un préfixe
+     * (sans tenir compte de la casse), servis depuis l'index en mémoire.
+     * 
+     * @param prefix Le préfixe saisi.
+     * @param limit Le nombre maximal de résultats (10 par défaut, 50 au plus).
+     * @return ResponseEntity contenant les utilisateurs trouvés, par ordre alphabétique.
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<List<UserSummary>> searchUsers(@RequestParam String prefix,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(usernameIndex.search(prefix.trim(), Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS))));
+    }
+
+    /**
+     * Endpoint de résolution groupée des utilisateurs : les utilisateurs correspondant à une liste de
+     * noms et/ou d'identifiants, lus en une seule requête. Utilisé pour afficher les membres d'un projet
+     * sans une requête par membre ni le téléchargement de tous les utilisateurs.
+     * 
+     * Version cacheable : {@code GET /api/auth/users/batch?usernames=a,b&ids=1,2}. La réponse peut être
+     * conservée quelques minutes par le client (Cache-Control) puis revalidée avec son ETag : une requête
+     * If-None-Match dont l'ETag correspond reçoit une réponse 304 sans corps. Au plus 200 valeurs au total ;
+     * la réponse contient les utilisateurs trouvés ("users") et les valeurs inconnues ("notFound").
+     * 
+     * @param usernames Les noms d'utilisateur à résoudre.
+     * @param ids Les identifiants à résoudre.
+     * @return ResponseEntity contenant les utilisateurs trouvés, ou 400 si la liste est trop longue.
+     */
+    @GetMapping("/users/batch")
+    public ResponseEntity<Map<String, Object>> getResolvedUsers(@RequestParam(required = false) List<String> usernames,
+                                                                @RequestParam(required = false) List<Long> ids) {
+        Set<String> wantedUsernames = usernames != null ? new LinkedHashSet<>(usernames) : new LinkedHashSet<>();
+        Set<Long> wantedIds = ids != null ? new LinkedHashSet<>(ids) : new LinkedHashSet<>();
+        if (wantedUsernames.size() + wantedIds.size() > MAX_BATCH_SIZE) {
+            return tooManyValues();
+        }
+        List<UserSummary> users = userService.resolveUsers(wantedUsernames, wantedIds);
+        String etag = etag(users);
+        // Spring répond 304 si l'en-tête If-None-Match de la requête GET correspond à cet ETag
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate())
+                .eTag(etag)
+                .body(resolution(wantedUsernames, wantedIds, users));
+    }
+
+    /**
+     * Calcule l'ETag d'une résolution groupée : l'empreinte SHA-256 des utilisateurs trouvés.
+     * Chaque nom est précédé de sa longueur, pour que deux listes différentes ne produisent jamais
+     * la même suite d'octets.
+     * 
+     * @param users Les utilisateurs trouvés, dans l'ordre de la réponse.
+     * @return L'ETag, entre guillemets.
+     */
+    private static String etag(List<UserSummary> users) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (UserSummary user : users) {
+                digest.update((user.getId() + ":" + user.getUsername().length() + ":" + user.getUsername() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Endpoint de résolution groupée des utilisateurs, pour les listes trop longues pour une URL.
+     * 
+     * Corps de la requête : {"usernames": [...], "ids": [...]}. Une réponse à une requête POST n'est
+     * mise en cache ni par les navigateurs ni par la passerelle : le client conserve lui-même le résultat
+     * s'il le réutilise, ou préfère {@code GET /api/auth/users/batch}.
+     * 
+     * @param body Le corps de la requête.
+     * @return ResponseEntity contenant les utilisateurs trouvés, ou 400 si la liste est trop longue.
+     */
+    @PostMapping("/users/batch")
+    public ResponseEntity<Map<String, Object>> resolveUsers(@RequestBody Map<String, List<Object>> body) {
+        Set<String> usernames = new LinkedHashSet<>();
+        Set<Long> ids = new LinkedHashSet<>();
+        try {
+            body.getOrDefault("usernames", List.of()).forEach(value -> usernames.add((String) value));
+            body.getOrDefault("ids", List.of()).forEach(value -> ids.add(((Number) value).longValue()));
+        } catch (ClassCastException | NullPointerException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (usernames.size() + ids.size() > MAX_BATCH_SIZE) {
+            return tooManyValues();
+        }
+        return ResponseEntity.ok(resolution(usernames, ids, userService.resolveUsers(usernames, ids)));
+    }
+
+    /**
+     * Construit la réponse d'une résolution groupée : les utilisateurs trouvés ("users")
+     * et les valeurs inconnues ("notFound").
+     * 
+     * @param usernames Les noms d'utilisateur demandés.
+     * @param ids Les identifiants demandés.
+     * @param users Les utilisateurs trouvés.
+     * @return Le corps de la réponse.
+     */
+    private static Map<String, Object> resolution(Set<String> usernames, Set<Long> ids, List<UserSummary> users) {
+        Set<String> missingUsernames = new LinkedHashSet<>(usernames);
+        Set<Long> missingIds = new LinkedHashSet<>(ids);
+        users.forEach(user -> {
+            missingUsernames.remove(user.getUsername());
+            missingIds.remove(user.getId());
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", users);
+        result.put("notFound", Map.of("usernames", missingUsernames, "ids", missingIds));
+        return result;
+    }
+
+    /**
+     * @return La réponse 400 d'une résolution groupée de plus de 200 valeurs.
+     */
+    private static ResponseEntity<Map<String, Object>> tooManyValues() {
+        return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BATCH_SIZE + " usernames and ids"));
     }
 }
@@ -0,0 +1,48 @@
+package com.example.auth_service.dto;
+
+/**
+ * Projection légère d'un utilisateur : son identifiant et son nom d'utilisateur.
+ *
+ * C'est la forme renvoyée par les listes d'utilisateurs (sélection des membres d'un projet...),
+ * qui n'ont besoin ni du mot de passe haché, ni du rôle, ni des autorisations.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public class UserSummary {
+
+    /**
+     * Identifiant de l'utilisateur.
+     */
+    private final Long id;
+
+    /**
+     * Nom d'utilisateur (email).
+     */
+    private final String username;
+
+    /**
+     * Constructeur de la projection, utilisé directement par les requêtes JPQL.
+     *
+     * @param id L'identifiant de l'utilisateur.
+     * @param username Le nom d'utilisateur.
+     */
+    public UserSummary(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    /**
+     * @return L'identifiant de l'utilisateur.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return Le nom d'utilisateur.
+     */
+    public String getUsername() {
+        return username;
+    }
+}
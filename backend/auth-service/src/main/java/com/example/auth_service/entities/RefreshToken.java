@@ -0,0 +1,134 @@
+package com.example.auth_service.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entité représentant un token de rafraîchissement (refresh token).
+ *
+ * Le token lui-même est une valeur aléatoire opaque remise au client ; seule son empreinte SHA-256
+ * est conservée. Chaque utilisation remplace le token par un nouveau (rotation) : les tokens issus
+ * d'une même connexion forment une famille, entièrement révoquée si un token déjà utilisé est
+ * présenté de nouveau (signe d'un vol).
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Entity
+@Table(name = "refresh_token_dt")
+public class RefreshToken {
+
+    /**
+     * Identifiant unique du token.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Empreinte SHA-256 (hexadécimale) du token remis au client.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * Nom de l'utilisateur propriétaire du token.
+     */
+    @Column(nullable = false)
+    private String username;
+
+    /**
+     * Famille du token : identifiant commun à tous les tokens issus d'une même connexion.
+     */
+    @Column(nullable = false, length = 36)
+    private String family;
+
+    /**
+     * Date d'expiration du token.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Indique si le token a été utilisé (remplacé) ou révoqué.
+     */
+    @Column(nullable = false)
+    private boolean revoked;
+
+    /**
+     * Instant auquel le token a été échangé contre son successeur ({@code null} s'il ne l'a pas été,
+     * ou si sa famille a été révoquée).
+     */
+    private Instant rotatedAt;
+
+    /**
+     * Constructeur par défaut nécessaire pour JPA.
+     */
+    public RefreshToken() {
+    }
+
+    /**
+     * Constructeur d'un token de rafraîchissement.
+     *
+     * @param tokenHash L'empreinte du token.
+     * @param username Le nom de l'utilisateur.
+     * @param family La famille du token.
+     * @param expiresAt La date d'expiration du token.
+     */
+    public RefreshToken(String tokenHash, String username, String family, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.username = username;
+        this.family = family;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return L'identifiant du token.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return L'empreinte du token.
+     */
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    /**
+     * @return Le nom de l'utilisateur.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return La famille du token.
+     */
+    public String getFamily() {
+        return family;
+    }
+
+    /**
+     * @return La date d'expiration du token.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return {@code true} si le token a été utilisé ou révoqué.
+     */
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    /**
+     * @return L'instant de l'échange du token, ou {@code null}.
+     */
+    public Instant getRotatedAt() {
+        return rotatedAt;
+    }
+}
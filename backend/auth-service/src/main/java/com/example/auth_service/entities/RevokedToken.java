@@ -0,0 +1,96 @@
+package com.example.auth_service.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Entité représentant un token JWT révoqué (déconnexion de l'utilisateur).
+ *
+ * Seul l'identifiant du token (claim "jti") est conservé, jusqu'à son expiration : au-delà,
+ * le token est refusé de toute façon et l'entrée peut être supprimée.
+ *
+ * L'identifiant auto-incrémenté sert de curseur aux passerelles, qui ne récupèrent que les
+ * révocations postérieures à leur dernière lecture.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Entity
+@Table(name = "revoked_token_dt")
+public class RevokedToken {
+
+    /**
+     * Identifiant unique de la révocation. Il est attribué à l'insertion et non à la validation de la
+     * transaction : il ne suffit donc pas à ordonner les révocations visibles.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identifiant (claim "jti") du token révoqué.
+     */
+    @Column(nullable = false, unique = true)
+    private String jti;
+
+    /**
+     * Date d'expiration du token révoqué.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Date de la révocation, tronquée à la microseconde (précision de la colonne) pour que le curseur
+     * renvoyé aux passerelles corresponde exactement à la valeur enregistrée.
+     */
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    /**
+     * Constructeur par défaut nécessaire pour JPA.
+     */
+    public RevokedToken() {
+    }
+
+    /**
+     * Constructeur d'une révocation.
+     *
+     * @param jti L'identifiant du token révoqué.
+     * @param expiresAt La date d'expiration du token.
+     */
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * @return L'identifiant de la révocation.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return L'identifiant du token révoqué.
+     */
+    public String getJti() {
+        return jti;
+    }
+
+    /**
+     * @return La date d'expiration du token révoqué.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return La date de la révocation.
+     */
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+}
@@ -146,4 +146,13 @@ public class User implements UserDetails {
     public UserRole getRole() {
         return this.role;
     }
-}
\ No newline at end of file
+
+    /**
+     * Définit le rôle de l'utilisateur.
+     * 
+     * @param role Le rôle de l'utilisateur.
+     */
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+}
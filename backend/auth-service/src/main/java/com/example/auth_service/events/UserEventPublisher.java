@@ -0,0 +1,45 @@
+package com.example.auth_service.events;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+
+/**
+ * Flux des événements temps réel concernant les utilisateurs, diffusé sur {@code /api/auth/events}.
+ *
+ * Le flux est partagé entre l'inscription, la connexion et l'import en masse : tous les utilisateurs
+ * créés sont ainsi signalés aux abonnés (la passerelle, qui invalide ses réponses en cache),
+ * quel que soit le chemin par lequel ils ont été créés.
+ *
+ * L'émission est synchronisée : un {@link Sinks.Many} refuse les émissions concurrentes, or l'import
+ * et les inscriptions publient depuis des threads différents.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class UserEventPublisher {
+
+    /**
+     * Un flux réactif de type Sinks, utilisé pour diffuser des événements en temps réel concernant les utilisateurs.
+     */
+    private final Sinks.Many<Map<String, Object>> userSink = Sinks.many().multicast().onBackpressureBuffer();
+
+    /**
+     * Publie un événement auprès des abonnés.
+     *
+     * @param event L'événement, avec son type dans le champ "type".
+     */
+    public synchronized void publish(Map<String, Object> event) {
+        userSink.tryEmitNext(event);
+    }
+
+    /**
+     * @return Le flux des événements utilisateurs.
+     */
+    public Flux<Map<String, Object>> events() {
+        return userSink.asFlux();
+    }
+}
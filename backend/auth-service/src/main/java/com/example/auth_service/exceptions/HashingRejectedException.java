@@ -0,0 +1,35 @@
+package com.example.auth_service.exceptions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception levée lorsque l'exécuteur de hachage des mots de passe est saturé
+ * (file d'attente pleine ou délai dépassé).
+ * Elle se traduit par une réponse HTTP 503 (Service indisponible) avec un en-tête Retry-After,
+ * pour que le client réessaie plus tard plutôt que d'allonger la file.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public class HashingRejectedException extends ResponseStatusException {
+
+    /**
+     * Constructeur de l'exception HashingRejectedException.
+     * @param reason La raison du refus.
+     */
+    public HashingRejectedException(String reason) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+    }
+
+    /**
+     * @return Les en-têtes de la réponse : Retry-After (1 seconde).
+     */
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.auth_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception levée lorsqu'un token de rafraîchissement est absent, inconnu, expiré ou déjà utilisé.
+ * Elle est annotée avec `@ResponseStatus(HttpStatus.UNAUTHORIZED)` pour retourner automatiquement
+ * un code HTTP 401 : le client doit alors se reconnecter.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    /**
+     * Constructeur de l'exception InvalidRefreshTokenException.
+     * @param message Le message d'erreur expliquant pourquoi le token est refusé.
+     */
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.auth_service.exceptions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception levée lorsqu'une tentative de connexion est refusée par la limitation des échecs
+ * (trop d'échecs récents pour ce nom d'utilisateur ou cette adresse IP).
+ * Elle se traduit par une réponse HTTP 429 (Trop de requêtes) avec un en-tête Retry-After.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public class LoginThrottledException extends ResponseStatusException {
+
+    /**
+     * Délai, en secondes, avant lequel une nouvelle tentative sera refusée.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructeur de l'exception LoginThrottledException.
+     * @param retryAfterSeconds Le délai avant une nouvelle tentative, en secondes.
+     */
+    public LoginThrottledException(long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return Les en-têtes de la réponse : Retry-After.
+     */
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.auth_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.auth_service.entities.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Interface de dépôt (repository) pour gérer les entités `RefreshToken`.
+ *
+ * Les tokens sont recherchés par empreinte ; leur consommation est une mise à jour conditionnelle,
+ * pour qu'un même token ne puisse être échangé qu'une seule fois, même par deux requêtes simultanées.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Recherche un token par son empreinte.
+     *
+     * @param tokenHash L'empreinte SHA-256 du token.
+     * @return Le token, s'il existe.
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marque un token comme utilisé, s'il ne l'était pas déjà, et note l'instant de sa rotation.
+     *
+     * @param id L'identifiant du token.
+     * @param now L'instant de la rotation.
+     * @return 1 si le token vient d'être consommé, 0 s'il l'avait déjà été.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.rotatedAt = :now WHERE r.id = :id AND r.revoked = false")
+    int consume(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Lit l'instant de rotation d'un token en base (et non dans le contexte de persistance) :
+     * la rotation a pu être validée par une requête concurrente.
+     *
+     * @param id L'identifiant du token.
+     * @return L'instant de rotation, vide si le token n'a pas été échangé ou si sa famille a été révoquée.
+     */
+    @Query("SELECT r.rotatedAt FROM RefreshToken r WHERE r.id = :id")
+    Optional<Instant> findRotatedAt(@Param("id") Long id);
+
+    /**
+     * Révoque tous les tokens d'une famille. L'instant de rotation des tokens déjà échangés est effacé :
+     * aucun token de la famille ne bénéficie plus de la fenêtre de grâce.
+     *
+     * @param family La famille des tokens.
+     * @return Le nombre de tokens de la famille.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.rotatedAt = null WHERE r.family = :family")
+    int revokeFamily(@Param("family") String family);
+
+    /**
+     * Supprime les tokens expirés.
+     *
+     * @param now L'instant courant.
+     * @return Le nombre de tokens supprimés.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
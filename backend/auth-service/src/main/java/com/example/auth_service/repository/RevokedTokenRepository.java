@@ -0,0 +1,54 @@
+package com.example.auth_service.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.auth_service.entities.RevokedToken;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Interface de dépôt (repository) pour gérer les entités `RevokedToken`.
+ *
+ * Elle permet de lire les révocations par curseur (instant de révocation puis identifiant croissants)
+ * et de supprimer les révocations de tokens déjà expirés.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Indique si un token a été révoqué.
+     *
+     * @param jti L'identifiant du token.
+     * @return `true` si le token a été révoqué.
+     */
+    boolean existsByJti(String jti);
+
+    /**
+     * Récupère, dans l'ordre, les révocations postérieures à un curseur (instant de révocation, identifiant).
+     *
+     * @param since L'instant de révocation de la dernière révocation déjà lue.
+     * @param afterId L'identifiant de la dernière révocation déjà lue, pour départager les révocations du même instant.
+     * @param limit Le nombre maximal de révocations renvoyées.
+     * @return Les révocations suivantes, triées par instant de révocation puis par identifiant.
+     */
+    @Query("SELECT r FROM RevokedToken r WHERE (r.revokedAt, r.id) > (:since, :afterId) ORDER BY r.revokedAt, r.id")
+    List<RevokedToken> findRevokedAfter(@Param("since") Instant since, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Supprime les révocations des tokens expirés.
+     *
+     * @param now L'instant courant.
+     * @return Le nombre de révocations supprimées.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
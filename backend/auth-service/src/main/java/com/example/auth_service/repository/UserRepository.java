@@ -1,11 +1,23 @@
 package com.example.auth_service.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.example.auth_service.dto.UserSummary;
 import com.example.auth_service.entities.User;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Interface de dépôt (repository) pour gérer les entités `User`.
  * Cette interface étend `JpaRepository`, ce qui permet de bénéficier de toutes les fonctionnalités 
@@ -25,4 +37,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Un objet `UserDetails` contenant les informations de l'utilisateur, ou `null` si l'utilisateur n'est pas trouvé.
      */
     UserDetails findByUsername(String username);
+
+    /**
+     * Récupère une page d'utilisateurs par curseur (keyset) : les utilisateurs dont l'identifiant
+     * suit le curseur, dans l'ordre des identifiants. Contrairement à un décalage (OFFSET), le coût
+     * ne dépend pas de la position de la page.
+     *
+     * @param after Le curseur : l'identifiant du dernier utilisateur de la page précédente (0 pour la première page).
+     * @param limit La taille de la page.
+     * @return Les utilisateurs de la page, sous forme de projection légère.
+     */
+    @Query("select new com.example.auth_service.dto.UserSummary(u.id, u.username) from User u where u.id > :after order by u.id")
+    List<UserSummary> findSummariesAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * Parcourt les utilisateurs dans l'ordre des identifiants avec un curseur JDBC : les lignes sont
+     * lues par lots au fil du parcours, sans charger toute la table en mémoire.
+     * Le flux doit être consommé dans une transaction, puis fermé.
+     *
+     * @param after L'identifiant à partir duquel commencer (exclu).
+     * @return Le flux des utilisateurs, sous forme de projection légère.
+     */
+    @Query("select new com.example.auth_service.dto.UserSummary(u.id, u.username) from User u where u.id > :after order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserSummary> streamSummariesAfter(@Param("after") long after);
+
+    /**
+     * Récupère, en une seule requête, les utilisateurs correspondant à une liste de noms.
+     *
+     * @param usernames Les noms d'utilisateur recherchés.
+     * @return Les utilisateurs existants parmi ces noms, sous forme de projection légère.
+     */
+    @Query("select new com.example.auth_service.dto.UserSummary(u.id, u.username) from User u where u.username in :usernames")
+    List<UserSummary> findSummariesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Récupère, en une seule requête, les utilisateurs correspondant à une liste d'identifiants.
+     *
+     * @param ids Les identifiants recherchés.
+     * @return Les utilisateurs existants parmi ces identifiants, sous forme de projection légère.
+     */
+    @Query("select new com.example.auth_service.dto.UserSummary(u.id, u.username) from User u where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère, en une seule requête, les utilisateurs correspondant à une liste de noms ou d'identifiants.
+     *
+     * @param usernames Les noms d'utilisateur recherchés (liste non vide).
+     * @param ids Les identifiants recherchés (liste non vide).
+     * @return Les utilisateurs existants, sous forme de projection légère.
+     */
+    @Query("select new com.example.auth_service.dto.UserSummary(u.id, u.username) from User u where u.username in :usernames or u.id in :ids")
+    List<UserSummary> findSummariesByUsernameInOrIdIn(@Param("usernames") Collection<String> usernames,
+                                                      @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,175 @@
+package com.example.auth_service.search;
+
+import com.example.auth_service.dto.UserSummary;
+import com.example.auth_service.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Index en mémoire des noms d'utilisateur, pour l'autocomplétion par préfixe.
+ *
+ * Les noms (en minuscules) sont conservés dans un tableau trié : une recherche par préfixe est une
+ * recherche dichotomique de la première position possible, suivie de la lecture des K noms suivants
+ * tant qu'ils commencent par le préfixe, soit quelques microsecondes même pour des dizaines de
+ * milliers d'utilisateurs.
+ *
+ * L'index est chargé au démarrage, puis mis à jour à chaque création d'utilisateur. Les tableaux
+ * sont remplacés à chaque ajout (copie sur écriture) : les lectures, bien plus fréquentes que les
+ * inscriptions, se font sans verrou sur un instantané cohérent.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class UsernameIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsernameIndex.class);
+
+    /**
+     * Instantané immuable de l'index : clés triées et utilisateurs correspondants.
+     */
+    private record Snapshot(String[] keys, UserSummary[] users) {}
+
+    /**
+     * Instantané courant de l'index.
+     */
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new UserSummary[0]);
+
+    /**
+     * Service des utilisateurs, pour le chargement initial.
+     */
+    private final UserService userService;
+
+    /**
+     * Constructeur de l'index.
+     *
+     * @param userService Le service des utilisateurs.
+     */
+    public UsernameIndex(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Charge l'index au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<UserSummary> all = new ArrayList<>();
+        userService.streamUsers(0L, all::add);
+        all.removeIf(user -> user.getUsername() == null);
+        all.sort((a, b) -> key(a.getUsername()).compareTo(key(b.getUsername())));
+
+        String[] keys = new String[all.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(all.get(i).getUsername());
+        }
+        synchronized (this) {
+            Snapshot loaded = new Snapshot(keys, all.toArray(new UserSummary[0]));
+            // Les utilisateurs créés pendant le chargement sont conservés
+            for (UserSummary user : snapshot.users()) {
+                loaded = insert(loaded, user);
+            }
+            snapshot = loaded;
+        }
+        LOGGER.info("Username index loaded with {} users", keys.length);
+    }
+
+    /**
+     * Ajoute un utilisateur à l'index (création d'utilisateur).
+     *
+     * @param user L'utilisateur créé.
+     */
+    public synchronized void add(UserSummary user) {
+        if (user.getUsername() != null) {
+            snapshot = insert(snapshot, user);
+        }
+    }
+
+    /**
+     * Recherche les utilisateurs dont le nom commence par un préfixe (sans tenir compte de la casse).
+     *
+     * @param prefix Le préfixe recherché.
+     * @param limit Le nombre maximal de résultats.
+     * @return Les utilisateurs trouvés, par ordre alphabétique.
+     */
+    public List<UserSummary> search(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String wanted = key(prefix);
+        int index = lowerBound(current.keys(), wanted);
+        List<UserSummary> matches = new ArrayList<>(Math.min(limit, 16));
+        while (index < current.keys().length && matches.size() < limit && current.keys()[index].startsWith(wanted)) {
+            matches.add(current.users()[index]);
+            index++;
+        }
+        return matches;
+    }
+
+    /**
+     * @return Le nombre d'utilisateurs indexés.
+     */
+    public int size() {
+        return snapshot.keys().length;
+    }
+
+    /**
+     * Insère un utilisateur dans un instantané, à sa place dans l'ordre, s'il n'y est pas déjà.
+     *
+     * @param from L'instantané de départ.
+     * @param user L'utilisateur à insérer.
+     * @return Le nouvel instantané.
+     */
+    private static Snapshot insert(Snapshot from, UserSummary user) {
+        String key = key(user.getUsername());
+        int position = lowerBound(from.keys(), key);
+        for (int i = position; i < from.keys().length && from.keys()[i].equals(key); i++) {
+            if (from.users()[i].getId().equals(user.getId())) {
+                return from;
+            }
+        }
+        int length = from.keys().length;
+        String[] keys = Arrays.copyOf(from.keys(), length + 1);
+        UserSummary[] users = Arrays.copyOf(from.users(), length + 1);
+        System.arraycopy(from.keys(), position, keys, position + 1, length - position);
+        System.arraycopy(from.users(), position, users, position + 1, length - position);
+        keys[position] = key;
+        users[position] = user;
+        return new Snapshot(keys, users);
+    }
+
+    /**
+     * Recherche dichotomique de la première clé supérieure ou égale à une valeur.
+     *
+     * @param keys Les clés triées.
+     * @param value La valeur recherchée.
+     * @return La position de la première clé supérieure ou égale à la valeur.
+     */
+    private static int lowerBound(String[] keys, String value) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param username Un nom d'utilisateur ou un préfixe.
+     * @return La clé d'index correspondante (en minuscules).
+     */
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.auth_service.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Détermination de l'adresse IP du client, utilisée par la limitation des tentatives de connexion.
+ *
+ * Derrière la passerelle, l'adresse de la connexion est celle de la passerelle : l'adresse du client est
+ * alors la dernière de l'en-tête X-Forwarded-For, ajoutée par la passerelle elle-même (les précédentes,
+ * fournies par le client, ne sont pas fiables). Cet en-tête n'est lu que si la connexion provient d'un
+ * mandataire de confiance ({@code auth.trusted-proxies}, adresses ou plages CIDR) : un client qui joint
+ * le service directement ne peut pas choisir l'adresse sous laquelle ses échecs sont comptés.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class ClientAddressResolver {
+
+    /**
+     * Adresses des mandataires de confiance.
+     */
+    private final List<IpAddressMatcher> trustedProxies;
+
+    /**
+     * Constructeur du résolveur.
+     *
+     * @param trustedProxies Les adresses ou plages CIDR des mandataires de confiance (la passerelle).
+     */
+    public ClientAddressResolver(@Value("${auth.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    /**
+     * Détermine l'adresse IP du client d'une requête.
+     *
+     * @param request La requête.
+     * @return L'adresse IP du client.
+     */
+    public String clientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank() || !isTrusted(remote)) {
+            return remote;
+        }
+        String[] addresses = forwarded.split(",");
+        String client = addresses[addresses.length - 1].trim();
+        return client.isEmpty() ? remote : client;
+    }
+
+    /**
+     * Indique si une adresse est celle d'un mandataire de confiance.
+     *
+     * @param address L'adresse de la connexion.
+     * @return {@code true} si l'adresse appartient à l'une des plages de confiance.
+     */
+    private boolean isTrusted(String address) {
+        if (address == null) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Adresse non numérique : jamais de confiance
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.exceptions.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limitation des tentatives de connexion échouées, par nom d'utilisateur et par adresse IP.
+ *
+ * Chaque tentative de connexion coûte une vérification BCrypt : une attaque par bourrage
+ * d'identifiants revient à un déni de service sur le CPU. Les échecs récents sont donc comptés
+ * sur une fenêtre glissante, et une tentative est refusée (429) avant toute vérification du mot
+ * de passe lorsque :
+ *
+ * - le nombre d'échecs dans la fenêtre atteint le plafond (par utilisateur ou par adresse IP) ;
+ * - ou le délai progressif n'est pas écoulé : après quelques échecs tolérés, chaque nouvel échec
+ *   double le délai imposé avant la tentative suivante.
+ *
+ * Les compteurs sont tenus en mémoire, dans une table de taille bornée ; les modifications d'un
+ * compteur sont protégées par un verrou choisi parmi un ensemble fixe (verrous répartis), pour
+ * éviter à la fois un verrou global et un verrou par clé.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class LoginThrottle {
+
+    /**
+     * Nombre de verrous répartis (puissance de deux).
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * Verrous répartis, choisis selon l'empreinte de la clé.
+     */
+    private final Object[] locks = new Object[STRIPES];
+
+    /**
+     * Échecs récents, par clé ("user:<nom>" ou "ip:<adresse>").
+     */
+    private final Map<String, Failures> failures = new ConcurrentHashMap<>();
+
+    private final long windowMillis;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+    private final int freeFailures;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxEntries;
+
+    /**
+     * Compteur des tentatives refusées.
+     */
+    private final Counter throttled;
+
+    /**
+     * Constructeur de la limitation.
+     *
+     * @param meterRegistry Le registre Micrometer de l'application.
+     * @param window La durée de la fenêtre glissante.
+     * @param maxFailuresPerUser Le nombre maximal d'échecs par utilisateur dans la fenêtre.
+     * @param maxFailuresPerIp Le nombre maximal d'échecs par adresse IP dans la fenêtre.
+     * @param freeFailures Le nombre d'échecs tolérés avant le premier délai.
+     * @param baseDelay Le premier délai imposé, doublé à chaque nouvel échec.
+     * @param maxDelay Le délai maximal imposé.
+     * @param maxEntries Le nombre maximal de clés suivies.
+     */
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.login-throttle.window:15m}") Duration window,
+                         @Value("${auth.login-throttle.max-failures-per-user:10}") int maxFailuresPerUser,
+                         @Value("${auth.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                         @Value("${auth.login-throttle.free-failures:3}") int freeFailures,
+                         @Value("${auth.login-throttle.base-delay:1s}") Duration baseDelay,
+                         @Value("${auth.login-throttle.max-delay:5m}") Duration maxDelay,
+                         @Value("${auth.login-throttle.max-entries:100000}") int maxEntries) {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.windowMillis = window.toMillis();
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.freeFailures = freeFailures;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.maxEntries = maxEntries;
+        this.throttled = Counter.builder("auth.login.throttled")
+                .description("Tentatives de connexion refusées avant vérification du mot de passe")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vérifie qu'une tentative de connexion peut avoir lieu.
+     *
+     * @param username Le nom d'utilisateur.
+     * @param ip L'adresse IP du client.
+     * @throws LoginThrottledException Si la tentative doit être refusée.
+     */
+    public void check(String username, String ip) {
+        long now = System.currentTimeMillis();
+        long wait = Math.max(waitMillis(userKey(username), maxFailuresPerUser, now),
+                waitMillis(ipKey(ip), maxFailuresPerIp, now));
+        if (wait > 0) {
+            throttled.increment();
+            throw new LoginThrottledException(Math.max(1, (wait + 999) / 1000));
+        }
+    }
+
+    /**
+     * Enregistre l'échec d'une tentative de connexion.
+     *
+     * @param username Le nom d'utilisateur.
+     * @param ip L'adresse IP du client.
+     */
+    public void recordFailure(String username, String ip) {
+        long now = System.currentTimeMillis();
+        record(userKey(username), maxFailuresPerUser, now);
+        record(ipKey(ip), maxFailuresPerIp, now);
+    }
+
+    /**
+     * Enregistre une connexion réussie : les échecs du nom d'utilisateur sont oubliés
+     * (ceux de l'adresse IP sont conservés, une adresse pouvant essayer de nombreux comptes).
+     *
+     * @param username Le nom d'utilisateur.
+     */
+    public void recordSuccess(String username) {
+        failures.remove(userKey(username));
+    }
+
+    /**
+     * Calcule le temps restant avant qu'une clé puisse de nouveau tenter une connexion.
+     *
+     * @param key La clé.
+     * @param maxFailures Le nombre maximal d'échecs dans la fenêtre pour cette clé.
+     * @param now L'instant courant.
+     * @return Le temps restant en millisecondes (0 si la tentative est permise).
+     */
+    private long waitMillis(String key, int maxFailures, long now) {
+        Failures entry = failures.get(key);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (lockFor(key)) {
+            int count = entry.count(now - windowMillis);
+            if (count >= maxFailures) {
+                // Plafond atteint : attendre que le plus ancien échec sorte de la fenêtre
+                return entry.oldest(now - windowMillis) + windowMillis - now;
+            }
+            if (count < freeFailures) {
+                return 0;
+            }
+            int exponent = Math.min(count - freeFailures, 30);
+            long delay = Math.min(baseDelayMillis << exponent, maxDelayMillis);
+            return Math.max(0, entry.latest() + delay - now);
+        }
+    }
+
+    /**
+     * Enregistre un échec pour une clé.
+     *
+     * @param key La clé.
+     * @param maxFailures Le nombre maximal d'échecs dans la fenêtre pour cette clé.
+     * @param now L'instant courant.
+     */
+    private void record(String key, int maxFailures, long now) {
+        if (!failures.containsKey(key) && failures.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        Failures entry = failures.computeIfAbsent(key, k -> new Failures(maxFailures));
+        synchronized (lockFor(key)) {
+            entry.add(now);
+        }
+    }
+
+    /**
+     * Retire les clés sans échec récent, puis des clés arbitraires si la table est encore pleine.
+     *
+     * @param now L'instant courant.
+     */
+    private void makeRoom(long now) {
+        purge(now);
+        Iterator<String> keys = failures.keySet().iterator();
+        while (failures.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Retire régulièrement les clés dont tous les échecs sont sortis de la fenêtre.
+     */
+    @Scheduled(fixedDelayString = "${auth.login-throttle.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        purge(System.currentTimeMillis());
+    }
+
+    /**
+     * Retire les clés dont tous les échecs sont sortis de la fenêtre.
+     *
+     * @param now L'instant courant.
+     */
+    private void purge(long now) {
+        failures.entrySet().removeIf(entry -> {
+            synchronized (lockFor(entry.getKey())) {
+                return entry.getValue().latest() <= now - windowMillis;
+            }
+        });
+    }
+
+    /**
+     * @param key La clé.
+     * @return Le verrou réparti de la clé.
+     */
+    private Object lockFor(String key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static String userKey(String username) {
+        return "user:" + (username == null ? "" : username.toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+
+    /**
+     * Instants des derniers échecs d'une clé (tampon circulaire), protégés par le verrou réparti de la clé.
+     */
+    private static final class Failures {
+
+        /**
+         * Instants des échecs, en millisecondes.
+         */
+        private final long[] times;
+
+        /**
+         * Position du prochain échec enregistré.
+         */
+        private int next;
+
+        /**
+         * Nombre d'échecs enregistrés (au plus la taille du tampon).
+         */
+        private int size;
+
+        Failures(int capacity) {
+            this.times = new long[Math.max(1, capacity)];
+        }
+
+        void add(long time) {
+            times[next] = time;
+            next = (next + 1) % times.length;
+            size = Math.min(size + 1, times.length);
+        }
+
+        /**
+         * @param since Le début de la fenêtre.
+         * @return Le nombre d'échecs dans la fenêtre.
+         */
+        int count(long since) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (times[i] > since) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @param since Le début de la fenêtre.
+         * @return L'instant du plus ancien échec dans la fenêtre.
+         */
+        long oldest(long since) {
+            long oldest = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (times[i] > since) {
+                    oldest = Math.min(oldest, times[i]);
+                }
+            }
+            return oldest;
+        }
+
+        /**
+         * @return L'instant du dernier échec.
+         */
+        long latest() {
+            return size == 0 ? 0 : times[(next - 1 + times.length) % times.length];
+        }
+    }
+}
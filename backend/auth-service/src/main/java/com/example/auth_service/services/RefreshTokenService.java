@@ -0,0 +1,186 @@
+package com.example.auth_service.services;
+
+import com.example.auth_service.entities.RefreshToken;
+import com.example.auth_service.entities.User;
+import com.example.auth_service.exceptions.InvalidRefreshTokenException;
+import com.example.auth_service.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service des tokens de rafraîchissement.
+ *
+ * Un token de rafraîchissement, de longue durée, permet d'obtenir un nouveau token d'accès sans
+ * refaire la vérification BCrypt du mot de passe : l'échange ne coûte qu'une lecture par empreinte
+ * et une signature HMAC.
+ *
+ * Chaque échange consomme le token et en délivre un nouveau de la même famille (rotation). Si un
+ * token déjà consommé est présenté de nouveau, toute la famille est révoquée : le token a
+ * vraisemblablement été volé, et le voleur comme l'utilisateur devront se reconnecter.
+ *
+ * Une réutilisation pendant une courte fenêtre de grâce après la rotation ({@code auth.token.refresh-reuse-grace})
+ * n'est pas un vol mais un rafraîchissement concurrent (plusieurs onglets, nouvelle tentative après une
+ * réponse perdue) : seule l'empreinte du successeur est conservée, un autre successeur de la même famille
+ * est donc délivré. Seule une réutilisation hors de cette fenêtre révoque la famille.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    /**
+     * Générateur aléatoire des tokens.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Résultat d'un échange : l'utilisateur et son nouveau token de rafraîchissement.
+     *
+     * @param user L'utilisateur propriétaire du token.
+     * @param refreshToken Le nouveau token de rafraîchissement.
+     */
+    public record Rotation(User user, String refreshToken) {}
+
+    /**
+     * Dépôt des tokens de rafraîchissement.
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * Service des utilisateurs, pour recharger l'utilisateur (depuis son cache) lors d'un échange.
+     */
+    private final UserService userService;
+
+    /**
+     * Durée de vie d'un token de rafraîchissement.
+     */
+    private final Duration refreshTtl;
+
+    /**
+     * Fenêtre de grâce pendant laquelle un token déjà échangé reste accepté.
+     */
+    private final Duration reuseGrace;
+
+    /**
+     * Constructeur du service.
+     *
+     * @param refreshTokenRepository Le dépôt des tokens de rafraîchissement.
+     * @param userService Le service des utilisateurs.
+     * @param refreshTtl La durée de vie d'un token de rafraîchissement.
+     * @param reuseGrace La fenêtre de grâce après la rotation d'un token.
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserService userService,
+                               @Value("${auth.token.refresh-ttl:14d}") Duration refreshTtl,
+                               @Value("${auth.token.refresh-reuse-grace:10s}") Duration reuseGrace) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userService = userService;
+        this.refreshTtl = refreshTtl;
+        this.reuseGrace = reuseGrace;
+    }
+
+    /**
+     * Délivre un token de rafraîchissement pour une nouvelle connexion (nouvelle famille).
+     *
+     * @param username Le nom de l'utilisateur connecté.
+     * @return Le token de rafraîchissement à remettre au client.
+     */
+    public String issue(String username) {
+        return create(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Échange un token de rafraîchissement contre un nouveau (rotation).
+     *
+     * @param token Le token présenté par le client.
+     * @return L'utilisateur et son nouveau token.
+     * @throws InvalidRefreshTokenException Si le token est inconnu, expiré, révoqué ou réutilisé hors de la fenêtre de grâce.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        Instant now = Instant.now();
+        if (refreshTokenRepository.consume(current.getId(), now) == 0) {
+            // Déjà échangé : l'instant de rotation est relu en base, la rotation concurrente étant validée
+            Instant rotatedAt = refreshTokenRepository.findRotatedAt(current.getId()).orElse(null);
+            if (rotatedAt == null || rotatedAt.plus(reuseGrace).isBefore(now)) {
+                refreshTokenRepository.revokeFamily(current.getFamily());
+                LOGGER.warn("Refresh token reused for {}, token family revoked", current.getUsername());
+                throw new InvalidRefreshTokenException("Refresh token already used");
+            }
+        }
+        User user = (User) userService.loadUserByUsername(current.getUsername());
+        if (user == null) {
+            throw new InvalidRefreshTokenException("Unknown user");
+        }
+        return new Rotation(user, create(current.getUsername(), current.getFamily()));
+    }
+
+    /**
+     * Révoque la famille d'un token de rafraîchissement (déconnexion). Un token inconnu est ignoré.
+     *
+     * @param token Le token présenté par le client.
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(current -> refreshTokenRepository.revokeFamily(current.getFamily()));
+    }
+
+    /**
+     * Supprime régulièrement les tokens expirés.
+     */
+    @Scheduled(fixedDelayString = "${auth.token.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    /**
+     * Crée et enregistre un token de rafraîchissement.
+     *
+     * @param username Le nom de l'utilisateur.
+     * @param family La famille du token.
+     * @return Le token à remettre au client.
+     */
+    private String create(String username, String family) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), username, family, Instant.now().plus(refreshTtl)));
+        return token;
+    }
+
+    /**
+     * Calcule l'empreinte SHA-256 d'un token : seule l'empreinte est conservée en base.
+     *
+     * @param token Le token.
+     * @return L'empreinte hexadécimale.
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
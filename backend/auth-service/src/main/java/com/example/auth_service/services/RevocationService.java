@@ -0,0 +1,98 @@
+package com.example.auth_service.services;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.auth_service.configs.TokenProvider;
+import com.example.auth_service.entities.RevokedToken;
+import com.example.auth_service.repository.RevokedTokenRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service de révocation des tokens JWT.
+ *
+ * La déconnexion d'un utilisateur enregistre l'identifiant ("jti") de son token jusqu'à l'expiration
+ * de celui-ci. Les passerelles récupèrent périodiquement les nouvelles révocations et refusent
+ * ensuite le token sans interroger ce service à chaque requête.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Service
+public class RevocationService {
+
+    /**
+     * Nombre maximal de révocations renvoyées à chaque lecture.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Dépôt des tokens révoqués.
+     */
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * Fournisseur de tokens, pour valider le token à révoquer.
+     */
+    private final TokenProvider tokenProvider;
+
+    /**
+     * Constructeur du service.
+     *
+     * @param revokedTokenRepository Le dépôt des tokens révoqués.
+     * @param tokenProvider Le fournisseur de tokens JWT.
+     */
+    public RevocationService(RevokedTokenRepository revokedTokenRepository, TokenProvider tokenProvider) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenProvider = tokenProvider;
+    }
+
+    /**
+     * Révoque un token. Un token déjà révoqué ou sans identifiant (émis avant la mise en place
+     * de la révocation) est ignoré.
+     *
+     * @param token Le token JWT à révoquer.
+     * @throws com.auth0.jwt.exceptions.JWTVerificationException Si le token est invalide ou expiré.
+     */
+    public void revoke(String token) {
+        DecodedJWT jwt = tokenProvider.decodeToken(token);
+        String jti = jwt.getId();
+        if (jti == null || revokedTokenRepository.existsByJti(jti)) {
+            return;
+        }
+        Instant expiresAt = jwt.getExpiresAtAsInstant() != null ? jwt.getExpiresAtAsInstant() : Instant.now();
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+    }
+
+    /**
+     * Indique si un token a été révoqué.
+     *
+     * @param jwt Le token décodé.
+     * @return {@code true} si le token a été révoqué.
+     */
+    public boolean isRevoked(DecodedJWT jwt) {
+        return jwt.getId() != null && revokedTokenRepository.existsByJti(jwt.getId());
+    }
+
+    /**
+     * Récupère les révocations postérieures à un curseur.
+     *
+     * @param since L'instant de révocation de la dernière révocation déjà lue.
+     * @param afterId L'identifiant de la dernière révocation déjà lue (0 pour lire tout l'instant {@code since}).
+     * @return Les 1000 révocations suivantes au plus, dans l'ordre.
+     */
+    public List<RevokedToken> revokedSince(Instant since, long afterId) {
+        return revokedTokenRepository.findRevokedAfter(since, afterId, Limit.of(PAGE_SIZE));
+    }
+
+    /**
+     * Supprime régulièrement les révocations des tokens expirés, devenues inutiles.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        revokedTokenRepository.deleteExpired(Instant.now());
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.auth_service.services;
+
+import com.example.auth_service.cache.UserCache;
+import com.example.auth_service.configs.PasswordHasher;
+import com.example.auth_service.dto.UserSummary;
+import com.example.auth_service.enums.UserRole;
+import com.example.auth_service.events.UserEventPublisher;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.search.UsernameIndex;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Service d'import en masse des utilisateurs (intégration d'un nouveau client).
+ *
+ * Le fichier (CSV "username,password" ou NDJSON {"username", "password"}) est lu ligne à ligne et
+ * traité par lots, pour une mémoire constante quelle que soit sa taille. Pour chaque lot :
+ *
+ * - les doublons sont détectés en une seule requête ({@code IN}) et par rapport aux lignes déjà lues,
+ *   pour ne pas hacher le mot de passe d'un utilisateur existant ;
+ * - les mots de passe sont hachés en parallèle ({@link PasswordHasher#encodeAll(List)}) ;
+ * - les utilisateurs sont insérés par une seule requête ({@code ON CONFLICT DO NOTHING}) : un utilisateur
+ *   inscrit entre la détection et l'insertion est signalé comme doublon au lieu d'interrompre l'import.
+ *
+ * Le résultat de chaque ligne est transmis au fur et à mesure à l'appelant. Les utilisateurs créés
+ * par un lot sont signalés par un seul événement {@code USERS_IMPORTED} sur le flux des événements
+ * utilisateurs, comme l'inscription signale les siens par {@code USER_CREATED}.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Service
+public class UserImportService {
+
+    /**
+     * Requête d'insertion d'un lot d'utilisateurs (noms et mots de passe passés en tableaux).
+     * Les noms déjà pris sont ignorés par la base ; seuls les utilisateurs réellement créés sont renvoyés.
+     */
+    private static final String INSERT_USERS = "INSERT INTO user_dt (username, password, role) "
+            + "SELECT username, password, ? FROM unnest(?::varchar[], ?::varchar[]) AS imported(username, password) "
+            + "ON CONFLICT (username) DO NOTHING RETURNING id, username";
+
+    /**
+     * Statuts d'une ligne importée.
+     */
+    public static final String CREATED = "created";
+    public static final String DUPLICATE = "duplicate";
+    public static final String INVALID = "invalid";
+
+    /**
+     * Type de l'événement publié pour les utilisateurs créés par un lot.
+     */
+    public static final String USERS_IMPORTED = "USERS_IMPORTED";
+
+    /**
+     * Résultat de l'import d'une ligne.
+     *
+     * @param line Le numéro de la ligne dans le fichier.
+     * @param username Le nom d'utilisateur de la ligne, s'il a pu être lu.
+     * @param status Le statut : created, duplicate ou invalid.
+     * @param error Le motif du refus d'une ligne invalide.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowResult(int line, String username, String status, String error) {}
+
+    /**
+     * Bilan d'un import.
+     *
+     * @param created Le nombre d'utilisateurs créés.
+     * @param duplicates Le nombre de lignes ignorées car l'utilisateur existait déjà.
+     * @param invalid Le nombre de lignes invalides.
+     */
+    public record Summary(int created, int duplicates, int invalid) {}
+
+    /**
+     * Ligne lue, en attente de traitement.
+     */
+    private record Row(int line, String username, String password) {}
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCache userCache;
+    private final UsernameIndex usernameIndex;
+    private final UserEventPublisher userEvents;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Nombre de lignes traitées par lot.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructeur du service.
+     *
+     * @param userRepository Le dépôt des utilisateurs.
+     * @param passwordHasher L'encodeur des mots de passe.
+     * @param jdbcTemplate Le client JDBC, pour les insertions groupées.
+     * @param transactionTemplate Le modèle de transaction, une transaction par lot.
+     * @param userCache Le cache des utilisateurs, invalidé pour les utilisateurs créés.
+     * @param usernameIndex L'index des noms d'utilisateur, complété avec les utilisateurs créés.
+     * @param userEvents Le flux des événements utilisateurs, informé des utilisateurs créés.
+     * @param objectMapper Le convertisseur JSON, pour lire le NDJSON.
+     * @param chunkSize Le nombre de lignes traitées par lot.
+     */
+    public UserImportService(UserRepository userRepository, PasswordHasher passwordHasher, JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate, UserCache userCache, UsernameIndex usernameIndex,
+                             UserEventPublisher userEvents, ObjectMapper objectMapper, @Value("${auth.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userCache = userCache;
+        this.usernameIndex = usernameIndex;
+        this.userEvents = userEvents;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importe les utilisateurs d'un fichier.
+     *
+     * @param reader Le contenu du fichier.
+     * @param ndjson {@code true} pour un fichier NDJSON, {@code false} pour un fichier CSV.
+     * @param report Le traitement appliqué au résultat de chaque ligne, dès qu'il est connu.
+     * @return Le bilan de l'import.
+     * @throws IOException Si la lecture du fichier échoue.
+     */
+    public Summary importUsers(BufferedReader reader, boolean ndjson, Consumer<RowResult> report) throws IOException {
+        Set<String> seen = new HashSet<>();
+        int[] counts = new int[3];
+        Consumer<RowResult> counting = result -> {
+            switch (result.status()) {
+                case CREATED -> counts[0]++;
+                case DUPLICATE -> counts[1]++;
+                default -> counts[2]++;
+            }
+            report.accept(result);
+        };
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String text;
+        int line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank() || (!ndjson && line == 1 && text.trim().equalsIgnoreCase("username,password"))) {
+                continue;
+            }
+            Row row = ndjson ? parseJson(line, text) : parseCsv(line, text);
+            if (row.username() == null || row.username().isBlank() || row.password() == null || row.password().isEmpty()) {
+                counting.accept(new RowResult(line, row.username(), INVALID, "username and password are required"));
+            } else if (!seen.add(row.username())) {
+                counting.accept(new RowResult(line, row.username(), DUPLICATE, null));
+            } else {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, counting);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, counting);
+        }
+        return new Summary(counts[0], counts[1], counts[2]);
+    }
+
+    /**
+     * Importe un lot de lignes : détection des doublons en une requête, hachage en parallèle,
+     * puis insertion en une requête. Une ligne que la base n'a pas insérée est un doublon.
+     * Les utilisateurs créés sont publiés en un seul événement, après la validation du lot.
+     *
+     * @param chunk Les lignes du lot, sans doublon entre elles.
+     * @param report Le traitement appliqué au résultat de chaque ligne.
+     */
+    private void importChunk(List<Row> chunk, Consumer<RowResult> report) {
+        Set<String> existing = userRepository.findSummariesByUsernameIn(chunk.stream().map(Row::username).toList())
+                .stream()
+                .map(UserSummary::getUsername)
+                .collect(Collectors.toSet());
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existing.contains(row.username())) {
+                report.accept(new RowResult(row.line(), row.username(), DUPLICATE, null));
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String[] usernames = rows.stream().map(Row::username).toArray(String[]::new);
+        String[] hashes = passwordHasher.encodeAll(rows.stream().map(Row::password).toList()).toArray(String[]::new);
+        List<UserSummary> created = transactionTemplate.execute(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_USERS);
+            statement.setString(1, UserRole.USER.name());
+            statement.setArray(2, connection.createArrayOf("varchar", usernames));
+            statement.setArray(3, connection.createArrayOf("varchar", hashes));
+            return statement;
+        }, (result, index) -> new UserSummary(result.getLong("id"), result.getString("username"))));
+
+        Set<String> inserted = new HashSet<>();
+        for (UserSummary user : created) {
+            usernameIndex.add(user);
+            userCache.invalidate(user.getUsername());
+            inserted.add(user.getUsername());
+        }
+        if (!created.isEmpty()) {
+            userEvents.publish(Map.of("type", USERS_IMPORTED, "count", created.size(), "users", created));
+        }
+        for (Row row : rows) {
+            report.accept(new RowResult(row.line(), row.username(), inserted.contains(row.username()) ? CREATED : DUPLICATE, null));
+        }
+    }
+
+    /**
+     * Lit une ligne CSV "username,password" (le mot de passe peut contenir des virgules).
+     *
+     * @param line Le numéro de la ligne.
+     * @param text Le contenu de la ligne.
+     * @return La ligne lue.
+     */
+    private static Row parseCsv(int line, String text) {
+        int comma = text.indexOf(',');
+        if (comma < 0) {
+            return new Row(line, text.trim(), null);
+        }
+        return new Row(line, text.substring(0, comma).trim(), text.substring(comma + 1));
+    }
+
+    /**
+     * Lit une ligne NDJSON {"username": ..., "password": ...}.
+     *
+     * @param line Le numéro de la ligne.
+     * @param text Le contenu de la ligne.
+     * @return La ligne lue (champs {@code null} si la ligne n'est pas un objet JSON valide).
+     */
+    private Row parseJson(int line, String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            return new Row(line, node.path("username").asText(null), node.path("password").asText(null));
+        } catch (IOException e) {
+            return new Row(line, null, null);
+        }
+    }
+}
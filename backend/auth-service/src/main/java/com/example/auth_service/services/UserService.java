@@ -2,27 +2,38 @@ package com.example.auth_service.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.auth_service.cache.UserCache;
+import com.example.auth_service.dto.UserSummary;
 import com.example.auth_service.repository.UserRepository;
 import com.example.auth_service.entities.User;
 import com.example.auth_service.exceptions.InvalidJwtException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service de gestion des utilisateurs.
  * Cette classe implémente l'interface {@link UserDetailsService} de Spring Security pour gérer
  * l'inscription des utilisateurs, la récupération de leurs informations et l'authentification.
  * 
+ * Elle implémente aussi {@link UserDetailsPasswordService} : lorsqu'un mot de passe a été haché avec
+ * un coût BCrypt inférieur au coût configuré, Spring Security le rehache à la connexion et l'enregistre ici.
+ * 
  * @author Courné Jules
  * @version 1.0
  */
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     /**
      * Injecte le repository pour interagir avec la base de données des utilisateurs.
@@ -30,6 +41,18 @@ public class UserService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository; 
 
+    /**
+     * Injecte l'encodeur des mots de passe (BCrypt, exécuté sur un exécuteur dédié).
+     */
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Injecte le cache des utilisateurs, qui évite une requête en base à chaque connexion.
+     */
+    @Autowired
+    private UserCache userCache;
+
     /**
      * Méthode pour inscrire un nouvel utilisateur.
      * 
@@ -42,14 +65,15 @@ public class UserService implements UserDetailsService {
      */
     public UserDetails signUp(User user) throws InvalidJwtException {
         System.out.println("Méthode signUp appelée avec l'utilisateur : " + user);
-        if (userRepository.findByUsername(user.getUsername()) != null) {
+        if (findUser(user.getUsername()) != null) {
             throw new InvalidJwtException("Email already exists");
         }
-        String encryptedPassword = new BCryptPasswordEncoder().encode(user.getPassword());
+        String encryptedPassword = passwordEncoder.encode(user.getPassword());
 
-        System.out.println("Encrypter " + encryptedPassword);
         User newUser = new User(user.getUsername(), encryptedPassword);
-        return userRepository.save(newUser);
+        User saved = userRepository.save(newUser);
+        userCache.invalidate(saved.getUsername());
+        return saved;
     }
 
     /**
@@ -62,16 +86,79 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var user = userRepository.findByUsername(username);
+        var user = findUser(username);
         return user;
     }
 
     /**
-     * Méthode pour récupérer tous les utilisateurs dans la base de données.
+     * Recherche un utilisateur par son nom, en passant par le cache des utilisateurs.
+     * 
+     * @param username Le nom d'utilisateur.
+     * @return L'utilisateur, ou {@code null} s'il n'existe pas.
+     */
+    private User findUser(String username) {
+        return userCache.get(username, name -> (User) userRepository.findByUsername(name));
+    }
+
+    /**
+     * Méthode appelée par Spring Security après une connexion réussie, lorsque le mot de passe
+     * enregistré doit être haché de nouveau (coût BCrypt obsolète).
+     * 
+     * @param user L'utilisateur connecté.
+     * @param newPassword Le mot de passe haché avec le coût courant.
+     * @return L'utilisateur mis à jour.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User existing = (User) user;
+        existing.setPassword(newPassword);
+        User saved = userRepository.save(existing);
+        userCache.invalidate(saved.getUsername());
+        return saved;
+    }
+
+    /**
+     * Méthode pour récupérer une page d'utilisateurs par curseur.
      * 
-     * @return Une liste d'objets User représentant tous les utilisateurs.
+     * @param after L'identifiant du dernier utilisateur de la page précédente (0 pour la première page).
+     * @param limit La taille de la page.
+     * @return Les utilisateurs de la page.
      */
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserSummary> getUserPage(long after, int limit) {
+        return userRepository.findSummariesAfter(after, Limit.of(limit));
+    }
+
+    /**
+     * Méthode pour parcourir les utilisateurs avec un curseur JDBC, sans les charger tous en mémoire.
+     * La transaction (en lecture seule) reste ouverte pendant tout le parcours.
+     * 
+     * @param after L'identifiant à partir duquel commencer (exclu).
+     * @param consumer Le traitement appliqué à chaque utilisateur.
+     */
+    @Transactional(readOnly = true)
+    public void streamUsers(long after, Consumer<UserSummary> consumer) {
+        try (Stream<UserSummary> users = userRepository.streamSummariesAfter(after)) {
+            users.forEach(consumer);
+        }
+    }
+
+    /**
+     * Méthode pour résoudre une liste d'utilisateurs, par nom et/ou par identifiant, en une seule requête.
+     * 
+     * @param usernames Les noms d'utilisateur recherchés.
+     * @param ids Les identifiants recherchés.
+     * @return Les utilisateurs trouvés.
+     */
+    public List<UserSummary> resolveUsers(Collection<String> usernames, Collection<Long> ids) {
+        if (usernames.isEmpty() && ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.isEmpty()) {
+            return userRepository.findSummariesByUsernameIn(usernames);
+        }
+        if (usernames.isEmpty()) {
+            return userRepository.findSummariesByIdIn(ids);
+        }
+        return userRepository.findSummariesByUsernameInOrIdIn(usernames, ids);
     }
 }
@@ -0,0 +1,25 @@
+-- Schéma initial du service d'authentification, tel que créé jusqu'ici par Hibernate (ddl-auto=update).
+-- IF NOT EXISTS : sur une base existante, la migration ne fait que l'enregistrer dans l'historique.
+
+CREATE TABLE IF NOT EXISTS user_dt (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    role     VARCHAR(255) CHECK (role IN ('ADMIN', 'USER'))
+);
+
+CREATE TABLE IF NOT EXISTS revoked_token_dt (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    jti        VARCHAR(255) NOT NULL UNIQUE,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_token_dt (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    username   VARCHAR(255) NOT NULL,
+    family     VARCHAR(36) NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked    BOOLEAN NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Index des requêtes de UserRepository, RefreshTokenRepository et RevokedTokenRepository.
+-- L'index unique sur username sert la connexion (findByUsername) et garantit l'unicité des comptes,
+-- jusqu'ici vérifiée seulement par l'application.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_username ON user_dt (username);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON refresh_token_dt (family);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_token_dt (expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_token_dt (expires_at);
@@ -0,0 +1,5 @@
+-- Index du curseur de lecture des révocations par les passerelles (RevokedTokenRepository.findRevokedAfter).
+-- Le curseur passe de l'identifiant au couple (revoked_at, id) : l'identifiant est attribué à l'insertion,
+-- une révocation peut donc être validée après une révocation d'identifiant supérieur.
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked_at ON revoked_token_dt (revoked_at, id);
@@ -0,0 +1,6 @@
+-- Instant de rotation d'un token de rafraîchissement (RefreshTokenService.rotate).
+-- Un token déjà échangé reste accepté pendant une courte fenêtre de grâce après sa rotation
+-- (requêtes de rafraîchissement simultanées de plusieurs onglets) ; au-delà, sa réutilisation
+-- révoque la famille. La révocation d'une famille efface cet instant : plus aucune grâce.
+
+ALTER TABLE refresh_token_dt ADD COLUMN IF NOT EXISTS rotated_at TIMESTAMP(6) WITH TIME ZONE;
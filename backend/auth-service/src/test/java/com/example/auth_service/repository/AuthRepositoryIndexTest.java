@@ -0,0 +1,192 @@
+package com.example.auth_service.repository;
+
+import com.example.auth_service.dto.UserSummary;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que chaque requête de {@link UserRepository}, {@link RefreshTokenRepository} et
+ * {@link RevokedTokenRepository} est servie par un index créé par les migrations.
+ * 
+ * La requête SQL réellement générée par Hibernate est capturée, puis préparée et passée à EXPLAIN
+ * avec les parcours séquentiels désactivés : un plan qui contient encore un "Seq Scan" signale
+ * une requête qu'aucun index ne peut servir.
+ * 
+ * @author Jules Courné
+ * @version 1.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.auth_service.repository.AuthRepositoryIndexTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class AuthRepositoryIndexTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @Test
+    void findByUsernameUsesIndex() {
+        assertIndexed(explain(() -> userRepository.findByUsername("alice"), "alice"));
+    }
+
+    @Test
+    void findSummariesAfterUsesIndex() {
+        assertIndexed(explain(() -> userRepository.findSummariesAfter(0, Limit.of(100)), "0", "100"));
+    }
+
+    @Test
+    void streamSummariesAfterUsesIndex() {
+        assertIndexed(explain(() -> {
+            try (Stream<UserSummary> users = userRepository.streamSummariesAfter(0)) {
+                users.count();
+            }
+        }, "0"));
+    }
+
+    @Test
+    void findSummariesByUsernameInUsesIndex() {
+        assertIndexed(explain(() -> userRepository.findSummariesByUsernameIn(List.of("alice")), "alice"));
+    }
+
+    @Test
+    void findSummariesByIdInUsesIndex() {
+        assertIndexed(explain(() -> userRepository.findSummariesByIdIn(List.of(1L)), "1"));
+    }
+
+    @Test
+    void findSummariesByUsernameInOrIdInUsesIndex() {
+        assertIndexed(explain(() -> userRepository.findSummariesByUsernameInOrIdIn(List.of("alice"), List.of(1L)),
+                "alice", "1"));
+    }
+
+    @Test
+    void findByTokenHashUsesIndex() {
+        assertIndexed(explain(() -> refreshTokenRepository.findByTokenHash("hash"), "hash"));
+    }
+
+    @Test
+    void consumeUsesIndex() {
+        assertIndexed(explain(() -> refreshTokenRepository.consume(1L, Instant.now()), "2024-01-01 00:00:00+00", "1"));
+    }
+
+    @Test
+    void findRotatedAtUsesIndex() {
+        assertIndexed(explain(() -> refreshTokenRepository.findRotatedAt(1L), "1"));
+    }
+
+    @Test
+    void revokeFamilyUsesIndex() {
+        assertIndexed(explain(() -> refreshTokenRepository.revokeFamily("family"), "family"));
+    }
+
+    @Test
+    void deleteExpiredRefreshTokensUsesIndex() {
+        assertIndexed(explain(() -> refreshTokenRepository.deleteExpired(Instant.now()), "2024-01-01 00:00:00+00"));
+    }
+
+    @Test
+    void existsByJtiUsesIndex() {
+        assertIndexed(explain(() -> revokedTokenRepository.existsByJti("jti"), "jti", "1"));
+    }
+
+    @Test
+    void findRevocationsAfterUsesIndex() {
+        assertIndexed(explain(() -> revokedTokenRepository.findRevokedAfter(Instant.EPOCH, 0L, Limit.of(1000)),
+                "1970-01-01 00:00:00+00", "0", "1000"));
+    }
+
+    @Test
+    void deleteExpiredRevocationsUsesIndex() {
+        assertIndexed(explain(() -> revokedTokenRepository.deleteExpired(Instant.now()), "2024-01-01 00:00:00+00"));
+    }
+
+    /**
+     * Exécute une requête du repository, puis renvoie le plan de la requête SQL capturée.
+     * 
+     * @param query L'appel au repository.
+     * @param values Les valeurs des paramètres de la requête SQL, dans l'ordre.
+     * @return Le plan d'exécution de la requête.
+     */
+    private String explain(Runnable query, String... values) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        assertThat(SqlCapture.STATEMENTS).isNotEmpty();
+        String sql = SqlCapture.STATEMENTS.get(0);
+
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder prepared = new StringBuilder();
+        int count = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(prepared, "\\$" + (++count));
+        }
+        matcher.appendTail(prepared);
+        assertThat(values).as("parameters of %s", sql).hasSize(count);
+
+        jdbcTemplate.execute("DEALLOCATE ALL");
+        jdbcTemplate.execute("PREPARE explained AS " + prepared);
+        List<String> arguments = new ArrayList<>();
+        for (String value : values) {
+            arguments.add("'" + value.replace("'", "''") + "'");
+        }
+        String execute = count == 0 ? "explained" : "explained(" + String.join(", ", arguments) + ")";
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE " + execute, String.class));
+    }
+
+    private static void assertIndexed(String plan) {
+        assertThat(plan).contains("Index").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Capture les requêtes SQL envoyées par Hibernate.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
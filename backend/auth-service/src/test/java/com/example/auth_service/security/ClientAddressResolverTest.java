@@ -0,0 +1,43 @@
+package com.example.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que l'en-tête X-Forwarded-For n'est lu que sur les connexions des mandataires de confiance.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("127.0.0.1", "172.16.0.0/12"));
+
+    @Test
+    void forwardedAddressIsReadFromTrustedProxy() {
+        assertThat(resolver.clientIp(request("172.18.0.5", "1.2.3.4, 203.0.113.7"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void forwardedAddressIsIgnoredFromOtherCallers() {
+        assertThat(resolver.clientIp(request("198.51.100.9", "203.0.113.7"))).isEqualTo("198.51.100.9");
+    }
+
+    @Test
+    void remoteAddressIsUsedWithoutForwardedHeader() {
+        assertThat(resolver.clientIp(request("172.18.0.5", null))).isEqualTo("172.18.0.5");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
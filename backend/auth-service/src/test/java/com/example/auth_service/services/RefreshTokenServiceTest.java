@@ -0,0 +1,114 @@
+package com.example.auth_service.services;
+
+import com.example.auth_service.entities.User;
+import com.example.auth_service.exceptions.InvalidRefreshTokenException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie la rotation des tokens de rafraîchissement : des rafraîchissements simultanés avec le même
+ * token réussissent tous pendant la fenêtre de grâce, une réutilisation plus tardive révoque la famille.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@SpringBootTest(properties = "auth.token.refresh-reuse-grace=10s")
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+
+    @BeforeEach
+    void createUser() throws Exception {
+        username = "user-" + UUID.randomUUID() + "@example.com";
+        userService.signUp(new User(username, "password"));
+    }
+
+    @Test
+    void concurrentRefreshesWithinGraceWindowAllSucceed() throws Exception {
+        String token = refreshTokenService.issue(username);
+
+        int clients = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<RefreshTokenService.Rotation>> rotations = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                rotations.add(executor.submit((Callable<RefreshTokenService.Rotation>) () -> {
+                    start.await();
+                    return refreshTokenService.rotate(token);
+                }));
+            }
+            start.countDown();
+
+            List<String> successors = new ArrayList<>();
+            for (Future<RefreshTokenService.Rotation> rotation : rotations) {
+                RefreshTokenService.Rotation result = rotation.get();
+                assertThat(result.user().getUsername()).isEqualTo(username);
+                successors.add(result.refreshToken());
+            }
+            assertThat(successors).doesNotHaveDuplicates();
+
+            // La famille n'a pas été révoquée : chaque successeur s'échange à son tour
+            for (String successor : successors) {
+                assertThat(refreshTokenService.rotate(successor).refreshToken()).isNotBlank();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reuseAfterGraceWindowRevokesFamily() {
+        String token = refreshTokenService.issue(username);
+        String successor = refreshTokenService.rotate(token).refreshToken();
+        jdbcTemplate.update("UPDATE refresh_token_dt SET rotated_at = rotated_at - INTERVAL '1 minute' "
+                + "WHERE rotated_at IS NOT NULL AND username = ?", username);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(successor)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void revokedTokenIsRefusedWithinGraceWindow() {
+        String token = refreshTokenService.issue(username);
+        String successor = refreshTokenService.rotate(token).refreshToken();
+        refreshTokenService.revoke(successor);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(successor)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+}
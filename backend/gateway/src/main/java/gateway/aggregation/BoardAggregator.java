@@ -0,0 +1,267 @@
+package gateway.aggregation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrégation des données d'un tableau de projet : le projet, ses membres, ses tâches et les utilisateurs.
+ *
+ * Les quatre appels aux services sont lancés simultanément, chacun avec son propre délai maximal,
+ * et protégés par le disjoncteur de la route correspondante : un service lent ou indisponible ne
+ * retarde pas les autres parties, il produit simplement une partie en échec.
+ *
+ * Les services des tâches et des utilisateurs répondent par pages : les pages sont lues en suivant
+ * le curseur et leurs éléments réunis en une seule liste.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class BoardAggregator {
+
+    /**
+     * Noms des parties d'un tableau.
+     */
+    public static final String PROJECT = "project";
+    public static final String MEMBERS = "members";
+    public static final String TASKS = "tasks";
+    public static final String USERS = "users";
+
+    /**
+     * Format d'une réponse paginée : champ des éléments, champ du curseur de la page suivante
+     * et paramètre de requête qui le reçoit.
+     *
+     * @param items Le champ contenant les éléments de la page.
+     * @param next Le champ contenant le curseur de la page suivante (absent sur la dernière page).
+     * @param cursorParam Le paramètre de requête du curseur.
+     */
+    private record Paging(String items, String next, String cursorParam) {}
+
+    /**
+     * Pages du service des tâches ({ items, next }, curseur passé en "cursor").
+     */
+    private static final Paging TASK_PAGES = new Paging("items", "next", "cursor");
+
+    /**
+     * Pages du service des utilisateurs ({ users, nextCursor }, curseur passé en "after").
+     */
+    private static final Paging USER_PAGES = new Paging("users", "nextCursor", "after");
+
+    /**
+     * Client HTTP réactif vers les services.
+     */
+    private final WebClient webClient;
+
+    /**
+     * Fabrique des disjoncteurs, partagés avec les routes de la passerelle.
+     */
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+    /**
+     * Délai maximal de chaque appel.
+     */
+    private final Duration timeout;
+
+    /**
+     * Nombre de tâches demandées par page au service des tâches.
+     */
+    private final int taskPageSize;
+
+    /**
+     * Nombre d'utilisateurs demandés par page au service d'authentification.
+     */
+    private final int userPageSize;
+
+    /**
+     * Adresses des services.
+     */
+    private final String authUri;
+    private final String taskUri;
+    private final String projectUri;
+
+    /**
+     * Constructeur de l'agrégateur.
+     *
+     * @param webClientBuilder Le constructeur de clients HTTP réactifs.
+     * @param circuitBreakerFactory La fabrique des disjoncteurs des routes.
+     * @param timeout Le délai maximal de chaque appel.
+     * @param taskPageSize Le nombre de tâches demandées par page.
+     * @param userPageSize Le nombre d'utilisateurs demandés par page.
+     * @param authUri L'adresse du service d'authentification.
+     * @param taskUri L'adresse du service des tâches.
+     * @param projectUri L'adresse du service des projets.
+     */
+    public BoardAggregator(WebClient.Builder webClientBuilder,
+                           ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                           @Value("${gateway.boards.timeout:3s}") Duration timeout,
+                           @Value("${gateway.boards.task-page-size:200}") int taskPageSize,
+                           @Value("${gateway.boards.user-page-size:500}") int userPageSize,
+                           @Value("${gateway.services.auth-uri:http://auth-service:8081}") String authUri,
+                           @Value("${gateway.services.task-uri:http://task-service:8082}") String taskUri,
+                           @Value("${gateway.services.project-uri:http://project-service:8083}") String projectUri) {
+        this.webClient = webClientBuilder.build();
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.timeout = timeout;
+        this.taskPageSize = taskPageSize;
+        this.userPageSize = userPageSize;
+        this.authUri = authUri;
+        this.taskUri = taskUri;
+        this.projectUri = projectUri;
+    }
+
+    /**
+     * Récupère les parties du tableau d'un projet, dans l'ordre où les services répondent.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param authorization L'en-tête d'autorisation du client, transmis aux services.
+     * @param user L'utilisateur authentifié, transmis aux services dans l'en-tête "userId".
+     * @return Le flux des quatre parties du tableau.
+     */
+    public Flux<BoardPart> parts(Long projectId, String authorization, String user) {
+        return Flux.merge(
+                fetch(PROJECT, "project_route", projectUri + "/api/projects/" + projectId, authorization, user),
+                fetch(MEMBERS, "project_route", projectUri + "/api/projects/" + projectId + "/members", authorization, user),
+                fetchPages(TASKS, "task_route", TASK_PAGES,
+                        taskUri + "/api/tasks/project/" + projectId + "?limit=" + taskPageSize, authorization, user),
+                fetchPages(USERS, "users_route", USER_PAGES,
+                        authUri + "/api/auth/users?limit=" + userPageSize, authorization, user));
+    }
+
+    /**
+     * Appelle un service et convertit sa réponse, ou son échec, en partie du tableau.
+     *
+     * @param part Le nom de la partie.
+     * @param routeId L'identifiant de la route dont le disjoncteur protège l'appel.
+     * @param uri L'URI appelée.
+     * @param authorization L'en-tête d'autorisation du client.
+     * @param user L'utilisateur authentifié.
+     * @return La partie du tableau.
+     */
+    private Mono<BoardPart> fetch(String part, String routeId, String uri, String authorization, String user) {
+        return protect(part, routeId, get(part, uri, authorization, user));
+    }
+
+    /**
+     * Lit toutes les pages d'une liste et réunit leurs éléments en une seule partie.
+     *
+     * @param part Le nom de la partie.
+     * @param routeId L'identifiant de la route dont le disjoncteur protège les appels.
+     * @param paging Le format des pages.
+     * @param uri L'URI de la première page (avec sa taille de page).
+     * @param authorization L'en-tête d'autorisation du client.
+     * @param user L'utilisateur authentifié.
+     * @return La partie, avec la liste de tous les éléments.
+     */
+    private Mono<BoardPart> fetchPages(String part, String routeId, Paging paging, String uri,
+                                       String authorization, String user) {
+        String nextUri = uri + "&" + paging.cursorParam() + "={cursor}";
+        Mono<BoardPart> pages = get(part, uri, authorization, user)
+                .expand(page -> {
+                    String next = nextCursor(page, paging);
+                    return next == null ? Mono.empty() : get(part, nextUri, authorization, user, next);
+                })
+                .collectList()
+                .map(read -> concatPages(part, paging, read));
+        return protect(part, routeId, pages);
+    }
+
+    /**
+     * Appelle un service et convertit sa réponse en partie du tableau.
+     *
+     * @param part Le nom de la partie.
+     * @param uri L'URI appelée (gabarit).
+     * @param authorization L'en-tête d'autorisation du client.
+     * @param user L'utilisateur authentifié.
+     * @param uriVariables Les variables du gabarit de l'URI.
+     * @return La partie du tableau.
+     */
+    private Mono<BoardPart> get(String part, String uri, String authorization, String user, Object... uriVariables) {
+        return webClient.get()
+                .uri(uri, uriVariables)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header("userId", user)
+                .exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                        .map(body -> new BoardPart(part, response.statusCode().value(), body, null))
+                        .defaultIfEmpty(new BoardPart(part, response.statusCode().value(), null, null)));
+    }
+
+    /**
+     * Applique le délai maximal et le disjoncteur de la route à un appel.
+     *
+     * @param part Le nom de la partie.
+     * @param routeId L'identifiant de la route dont le disjoncteur protège l'appel.
+     * @param call L'appel.
+     * @return La partie du tableau, ou la partie en échec.
+     */
+    private Mono<BoardPart> protect(String part, String routeId, Mono<BoardPart> call) {
+        return circuitBreakerFactory.create(routeId)
+                .run(call.timeout(timeout), error -> Mono.just(failed(part, error)));
+    }
+
+    /**
+     * Renvoie le curseur de la page suivante d'une réponse paginée.
+     *
+     * @param page La partie contenant une page.
+     * @param paging Le format des pages.
+     * @return Le curseur de la page suivante, ou {@code null} s'il s'agit de la dernière page ou d'une erreur.
+     */
+    private static String nextCursor(BoardPart page, Paging paging) {
+        if (page.getStatus() / 100 != 2 || page.getData() == null || !page.getData().hasNonNull(paging.next())) {
+            return null;
+        }
+        return page.getData().get(paging.next()).asText();
+    }
+
+    /**
+     * Réunit les éléments des pages lues. Une page en erreur (toujours la dernière lue) est renvoyée telle quelle.
+     *
+     * @param part Le nom de la partie.
+     * @param paging Le format des pages.
+     * @param pages Les pages lues, dans l'ordre.
+     * @return La partie, avec la liste des éléments.
+     */
+    private static BoardPart concatPages(String part, Paging paging, List<BoardPart> pages) {
+        BoardPart last = pages.get(pages.size() - 1);
+        if (last.getStatus() / 100 != 2 || last.getData() == null || !last.getData().path(paging.items()).isArray()) {
+            return last;
+        }
+        ArrayNode items = JsonNodeFactory.instance.arrayNode();
+        for (BoardPart page : pages) {
+            items.addAll((ArrayNode) page.getData().get(paging.items()));
+        }
+        return new BoardPart(part, last.getStatus(), items, null);
+    }
+
+    /**
+     * Construit la partie correspondant à un appel en échec.
+     *
+     * @param part Le nom de la partie.
+     * @param error L'erreur de l'appel.
+     * @return La partie en échec.
+     */
+    private static BoardPart failed(String part, Throwable error) {
+        if (error instanceof TimeoutException) {
+            return new BoardPart(part, HttpStatus.GATEWAY_TIMEOUT.value(), null, "timeout");
+        }
+        if (error instanceof CallNotPermittedException) {
+            return new BoardPart(part, HttpStatus.SERVICE_UNAVAILABLE.value(), null, "service unavailable");
+        }
+        return new BoardPart(part, HttpStatus.BAD_GATEWAY.value(), null, "upstream error");
+    }
+}
@@ -0,0 +1,80 @@
+package gateway.aggregation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Partie d'un tableau de projet, telle que renvoyée par l'un des services.
+ *
+ * Une partie porte le code HTTP de l'appel et, selon le cas, la réponse du service
+ * ou la raison de l'échec (délai dépassé, service indisponible...).
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardPart {
+
+    /**
+     * Nom de la partie (project, members, tasks, users).
+     */
+    private final String part;
+
+    /**
+     * Code HTTP de l'appel au service.
+     */
+    private final int status;
+
+    /**
+     * Corps de la réponse du service, ou {@code null} en cas d'échec.
+     */
+    private final JsonNode data;
+
+    /**
+     * Raison de l'échec, ou {@code null} si le service a répondu.
+     */
+    private final String error;
+
+    /**
+     * Constructeur d'une partie.
+     *
+     * @param part Le nom de la partie.
+     * @param status Le code HTTP de l'appel.
+     * @param data Le corps de la réponse du service.
+     * @param error La raison de l'échec.
+     */
+    public BoardPart(String part, int status, JsonNode data, String error) {
+        this.part = part;
+        this.status = status;
+        this.data = data;
+        this.error = error;
+    }
+
+    /**
+     * @return Le nom de la partie.
+     */
+    public String getPart() {
+        return part;
+    }
+
+    /**
+     * @return Le code HTTP de l'appel au service.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Le corps de la réponse du service, ou {@code null} en cas d'échec.
+     */
+    public JsonNode getData() {
+        return data;
+    }
+
+    /**
+     * @return La raison de l'échec, ou {@code null} si le service a répondu.
+     */
+    public String getError() {
+        return error;
+    }
+}
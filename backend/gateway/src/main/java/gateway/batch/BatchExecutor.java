@@ -0,0 +1,224 @@
+package gateway.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Exécution des lots de sous-requêtes reçus sur {@code /api/batch}.
+ *
+ * Chaque sous-requête est renvoyée vers la passerelle elle-même (appel en boucle locale) : elle
+ * traverse donc exactement le même pipeline qu'une requête isolée (routage, filtre JWT, limitation
+ * de débit, cache, disjoncteurs). Le lot évite seulement au client les allers-retours réseau.
+ *
+ * Les sous-requêtes sans dépendance sont lancées en parallèle ; une sous-requête qui dépend d'autres
+ * attend leur réponse et n'est pas exécutée (code 424) si l'une d'elles a échoué.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class BatchExecutor {
+
+    /**
+     * Chemins interdits dans un lot : les flux d'événements, le lot lui-même, les routes
+     * publiques limitées par adresse IP (l'adresse d'un appel en boucle locale serait celle de la passerelle)
+     * et les routes de gestion de session, qui doivent rester des appels directs du client.
+     */
+    private static final Set<String> FORBIDDEN_PATHS = Set.of("/api/batch", "/api/events",
+            "/api/auth/login", "/api/auth/signup", "/api/auth/refresh", "/api/auth/logout");
+
+    /**
+     * Préfixes interdits dans un lot : toutes les routes d'administration.
+     */
+    private static final List<String> FORBIDDEN_PREFIXES = List.of("/api/auth/admin/");
+
+    /**
+     * Client HTTP réactif vers la passerelle elle-même.
+     */
+    private final WebClient webClient;
+
+    /**
+     * Adresse locale de la passerelle.
+     */
+    private final String loopbackUri;
+
+    /**
+     * Convertisseur JSON, pour relire les corps des réponses.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Nombre maximal de sous-requêtes par lot.
+     */
+    private final int maxRequests;
+
+    /**
+     * Constructeur de l'exécuteur.
+     *
+     * @param webClientBuilder Le constructeur de clients HTTP réactifs.
+     * @param objectMapper Le convertisseur JSON.
+     * @param loopbackUri L'adresse locale de la passerelle.
+     * @param maxRequests Le nombre maximal de sous-requêtes par lot.
+     */
+    public BatchExecutor(WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+                         @Value("${gateway.batch.loopback-uri:http://localhost:${server.port:8080}}") String loopbackUri,
+                         @Value("${gateway.batch.max-requests:20}") int maxRequests) {
+        this.webClient = webClientBuilder.build();
+        this.loopbackUri = loopbackUri;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * Exécute un lot de sous-requêtes.
+     *
+     * @param requests Les sous-requêtes, dans l'ordre du lot.
+     * @param authorization L'en-tête d'autorisation du client, transmis à chaque sous-requête.
+     * @return Les réponses, dans l'ordre des sous-requêtes.
+     * @throws ResponseStatusException 400 si le lot est vide, trop grand ou mal formé.
+     */
+    public Mono<List<SubResponse>> execute(List<SubRequest> requests, String authorization) {
+        validate(requests);
+
+        List<Mono<SubResponse>> responses = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            SubRequest request = requests.get(index);
+            int current = index;
+            List<Mono<SubResponse>> dependencies = new ArrayList<>();
+            if (request.getDependsOn() != null) {
+                request.getDependsOn().forEach(dependency -> dependencies.add(responses.get(dependency)));
+            }
+            Mono<SubResponse> response = Flux.merge(dependencies)
+                    .all(SubResponse::isSuccessful)
+                    .flatMap(ready -> ready
+                            ? send(current, request, authorization)
+                            : Mono.just(new SubResponse(current, HttpStatus.FAILED_DEPENDENCY.value(), null,
+                                    "dependency failed")))
+                    .cache();
+            responses.add(response);
+        }
+        return Flux.mergeSequential(responses).collectList();
+    }
+
+    /**
+     * Vérifie la forme d'un lot.
+     *
+     * @param requests Les sous-requêtes du lot.
+     * @throws ResponseStatusException 400 si le lot n'est pas valide.
+     */
+    private void validate(List<SubRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Empty batch");
+        }
+        if (requests.size() > maxRequests) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch limited to " + maxRequests + " requests");
+        }
+        for (int index = 0; index < requests.size(); index++) {
+            SubRequest request = requests.get(index);
+            String path = request.getPath();
+            if (path == null || !path.startsWith("/api/")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path for request " + index);
+            }
+            String pathOnly;
+            try {
+                pathOnly = URI.create(path).normalize().getPath();
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path for request " + index);
+            }
+            if (pathOnly == null || !pathOnly.startsWith("/api/") || isForbidden(pathOnly)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Path not allowed in a batch: " + pathOnly);
+            }
+            if (request.getMethod() == null || HttpMethod.valueOf(request.getMethod().toUpperCase()) == HttpMethod.TRACE) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid method for request " + index);
+            }
+            if (request.getDependsOn() != null) {
+                for (Integer dependency : request.getDependsOn()) {
+                    // Une sous-requête ne dépend que des précédentes : pas de cycle possible
+                    if (dependency == null || dependency < 0 || dependency >= index) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid dependency for request " + index);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Indique si un chemin normalisé est exclu des lots.
+     *
+     * @param pathOnly Le chemin normalisé, sans paramètres.
+     * @return true si le chemin est interdit.
+     */
+    static boolean isForbidden(String pathOnly) {
+        // "/api/auth/logout/" et "/api/auth/logout" désignent la même route
+        String path = pathOnly.length() > 1 && pathOnly.endsWith("/") ? pathOnly.substring(0, pathOnly.length() - 1) : pathOnly;
+        if (FORBIDDEN_PATHS.contains(path) || path.endsWith("/events") || path.contains("/stream/")) {
+            return true;
+        }
+        String prefixed = path + "/";
+        return FORBIDDEN_PREFIXES.stream().anyMatch(prefixed::startsWith);
+    }
+
+    /**
+     * Envoie une sous-requête à la passerelle.
+     *
+     * @param index L'indice de la sous-requête.
+     * @param request La sous-requête.
+     * @param authorization L'en-tête d'autorisation du client.
+     * @return La réponse de la sous-requête.
+     */
+    private Mono<SubResponse> send(int index, SubRequest request, String authorization) {
+        WebClient.RequestBodySpec spec = webClient.method(HttpMethod.valueOf(request.getMethod().toUpperCase()))
+                .uri(URI.create(loopbackUri + URI.create(request.getPath()).normalize()))
+                .headers(headers -> {
+                    if (request.getHeaders() != null) {
+                        request.getHeaders().forEach(headers::set);
+                    }
+                    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                });
+        WebClient.RequestHeadersSpec<?> ready = request.getBody() != null
+                ? spec.contentType(MediaType.APPLICATION_JSON).bodyValue(request.getBody())
+                : spec;
+
+        return ready.exchangeToMono(response -> response.bodyToMono(String.class)
+                        .map(body -> new SubResponse(index, response.statusCode().value(),
+                                readBody(body, response.headers().contentType().orElse(null)), null))
+                        .defaultIfEmpty(new SubResponse(index, response.statusCode().value(), null, null)))
+                .onErrorResume(error -> Mono.just(new SubResponse(index, HttpStatus.BAD_GATEWAY.value(), null,
+                        "request failed")));
+    }
+
+    /**
+     * Relit le corps d'une réponse : en JSON si possible, sinon en texte.
+     *
+     * @param body Le corps brut de la réponse.
+     * @param contentType Le type de contenu de la réponse.
+     * @return Le corps sous forme de nœud JSON.
+     */
+    private JsonNode readBody(String body, MediaType contentType) {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (JsonProcessingException e) {
+                return TextNode.valueOf(body);
+            }
+        }
+        return TextNode.valueOf(body);
+    }
+}
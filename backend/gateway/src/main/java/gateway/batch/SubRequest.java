@@ -0,0 +1,114 @@
+package gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sous-requête d'un lot envoyé sur {@code /api/batch}.
+ *
+ * Une sous-requête décrit un appel à l'une des routes de la passerelle. Elle peut dépendre de
+ * sous-requêtes précédentes du lot ({@link #getDependsOn()}) : elle n'est alors exécutée qu'après
+ * leur succès. Les sous-requêtes sans dépendance sont exécutées en parallèle.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public class SubRequest {
+
+    /**
+     * Méthode HTTP de la sous-requête.
+     */
+    private String method = "GET";
+
+    /**
+     * Chemin appelé, paramètres de requête compris (par exemple "/api/tasks/42").
+     */
+    private String path;
+
+    /**
+     * En-têtes propres à la sous-requête.
+     */
+    private Map<String, String> headers;
+
+    /**
+     * Corps JSON de la sous-requête.
+     */
+    private JsonNode body;
+
+    /**
+     * Indices des sous-requêtes précédentes dont celle-ci dépend.
+     */
+    private List<Integer> dependsOn;
+
+    /**
+     * @return La méthode HTTP de la sous-requête.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @param method La méthode HTTP de la sous-requête.
+     */
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    /**
+     * @return Le chemin appelé.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @param path Le chemin appelé.
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @return Les en-têtes propres à la sous-requête.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @param headers Les en-têtes propres à la sous-requête.
+     */
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * @return Le corps JSON de la sous-requête.
+     */
+    public JsonNode getBody() {
+        return body;
+    }
+
+    /**
+     * @param body Le corps JSON de la sous-requête.
+     */
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+
+    /**
+     * @return Les indices des sous-requêtes dont celle-ci dépend.
+     */
+    public List<Integer> getDependsOn() {
+        return dependsOn;
+    }
+
+    /**
+     * @param dependsOn Les indices des sous-requêtes dont celle-ci dépend.
+     */
+    public void setDependsOn(List<Integer> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+}
@@ -0,0 +1,86 @@
+package gateway.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Réponse à une sous-requête d'un lot.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubResponse {
+
+    /**
+     * Indice de la sous-requête dans le lot.
+     */
+    private final int index;
+
+    /**
+     * Code HTTP de la réponse.
+     */
+    private final int status;
+
+    /**
+     * Corps de la réponse (JSON, ou texte pour les autres types de contenu).
+     */
+    private final JsonNode body;
+
+    /**
+     * Raison pour laquelle la sous-requête n'a pas pu être exécutée.
+     */
+    private final String error;
+
+    /**
+     * Constructeur d'une réponse.
+     *
+     * @param index L'indice de la sous-requête dans le lot.
+     * @param status Le code HTTP de la réponse.
+     * @param body Le corps de la réponse.
+     * @param error La raison de l'échec, ou {@code null}.
+     */
+    public SubResponse(int index, int status, JsonNode body, String error) {
+        this.index = index;
+        this.status = status;
+        this.body = body;
+        this.error = error;
+    }
+
+    /**
+     * @return L'indice de la sous-requête dans le lot.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Le code HTTP de la réponse.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Le corps de la réponse.
+     */
+    public JsonNode getBody() {
+        return body;
+    }
+
+    /**
+     * @return La raison de l'échec, ou {@code null}.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Indique si la sous-requête a abouti (code 2xx).
+     *
+     * @return {@code true} si la sous-requête a abouti.
+     */
+    boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,107 @@
+package gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Copie complète (statut, en-têtes, corps) d'une réponse renvoyée par un service,
+ * pouvant être rejouée vers d'autres clients sans rappeler le service.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public final class CachedResponse {
+
+    /**
+     * En-têtes propres à une connexion, qui ne doivent pas être rejoués.
+     */
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "set-cookie", "date");
+
+    /**
+     * Statut HTTP de la réponse.
+     */
+    private final HttpStatusCode status;
+
+    /**
+     * En-têtes de la réponse (en lecture seule).
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Corps de la réponse.
+     */
+    private final byte[] body;
+
+    /**
+     * Constructeur d'une réponse copiée.
+     *
+     * @param status Le statut HTTP de la réponse.
+     * @param headers Les en-têtes de la réponse.
+     * @param body Le corps de la réponse.
+     */
+    public CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase())) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        this.body = body;
+    }
+
+    /**
+     * Récupère le statut HTTP de la réponse.
+     *
+     * @return Le statut HTTP de la réponse.
+     */
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+
+    /**
+     * Récupère les en-têtes de la réponse.
+     *
+     * @return Les en-têtes de la réponse, en lecture seule.
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Récupère la taille du corps de la réponse.
+     *
+     * @return La taille du corps, en octets.
+     */
+    public int size() {
+        return body.length;
+    }
+
+    /**
+     * Rejoue la réponse vers un client. Les en-têtes déjà posés par la passerelle
+     * (CORS notamment) sont conservés.
+     *
+     * @param response La réponse du client.
+     * @param source La valeur de l'en-tête {@code X-Gateway-Source} indiquant l'origine de la réponse.
+     * @return Mono<Void> indiquant que la réponse a été écrite.
+     */
+    public Mono<Void> writeTo(ServerHttpResponse response, String source) {
+        response.setStatusCode(status);
+        HttpHeaders target = response.getHeaders();
+        headers.forEach((name, values) -> {
+            if (!target.containsKey(name)) {
+                target.put(name, values);
+            }
+        });
+        target.setContentLength(body.length);
+        target.set("X-Gateway-Source", source);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,143 @@
+package gateway.cache;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Décorateur de réponse qui laisse passer le corps vers le client tout en en gardant une copie,
+ * dans la limite d'une taille maximale.
+ *
+ * Le corps n'est pas mis en tampon avant d'être envoyé : chaque morceau est copié au passage.
+ * Une fois l'écriture terminée, le consommateur reçoit la réponse copiée, ou {@code null} si elle
+ * ne peut pas être conservée (corps trop volumineux, flux SSE, erreur ou abandon du client).
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    /**
+     * Taille maximale du corps copié, en octets.
+     */
+    private final int maxBytes;
+
+    /**
+     * Consommateur notifié une seule fois à la fin de l'écriture.
+     */
+    private final Consumer<CachedResponse> onComplete;
+
+    /**
+     * Indique si le consommateur a déjà été notifié.
+     */
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    /**
+     * Copie du corps en cours d'écriture, {@code null} si la limite a été dépassée.
+     */
+    private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+    /**
+     * Constructeur du décorateur.
+     *
+     * @param delegate La réponse d'origine.
+     * @param maxBytes La taille maximale du corps copié, en octets.
+     * @param onComplete Le consommateur notifié à la fin de l'écriture.
+     */
+    public CapturingResponseDecorator(ServerHttpResponse delegate, int maxBytes, Consumer<CachedResponse> onComplete) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * Écrit le corps vers le client en le copiant au passage.
+     *
+     * @param body Le corps de la réponse.
+     * @return Mono<Void> indiquant la fin de l'écriture.
+     */
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        Flux<DataBuffer> copying = Flux.<DataBuffer>from(body).doOnNext(this::copy);
+        return super.writeWith(copying)
+                .doOnSuccess(done -> complete(snapshot()))
+                .doOnError(error -> complete(null))
+                .doOnCancel(() -> complete(null));
+    }
+
+    /**
+     * Les réponses écrites avec vidages successifs (flux SSE) ne sont jamais copiées.
+     *
+     * @param body Le flux de corps de la réponse.
+     * @return Mono<Void> indiquant la fin de l'écriture.
+     */
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        complete(null);
+        return super.writeAndFlushWith(body);
+    }
+
+    /**
+     * Termine une réponse sans corps.
+     *
+     * @return Mono<Void> indiquant la fin de la réponse.
+     */
+    @Override
+    public Mono<Void> setComplete() {
+        return super.setComplete().doOnSuccess(done -> complete(snapshot()));
+    }
+
+    /**
+     * Copie un morceau du corps sans modifier sa position de lecture.
+     *
+     * @param buffer Le morceau du corps.
+     */
+    private synchronized void copy(DataBuffer buffer) {
+        if (captured == null) {
+            return;
+        }
+        int length = buffer.readableByteCount();
+        if (captured.size() + length > maxBytes) {
+            captured = null;
+            return;
+        }
+        byte[] bytes = new byte[length];
+        int position = buffer.readPosition();
+        buffer.read(bytes);
+        buffer.readPosition(position);
+        captured.write(bytes, 0, length);
+    }
+
+    /**
+     * Construit la copie de la réponse, si elle a pu être conservée entièrement.
+     *
+     * @return La réponse copiée, ou {@code null}.
+     */
+    private synchronized CachedResponse snapshot() {
+        if (captured == null) {
+            return null;
+        }
+        HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+        return new CachedResponse(status, getHeaders(), captured.toByteArray());
+    }
+
+    /**
+     * Notifie le consommateur, une seule fois.
+     *
+     * @param response La réponse copiée, ou {@code null}.
+     */
+    private void complete(CachedResponse response) {
+        if (completed.compareAndSet(false, true)) {
+            onComplete.accept(response);
+        }
+    }
+}
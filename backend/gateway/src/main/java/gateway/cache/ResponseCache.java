@@ -0,0 +1,230 @@
+package gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU des réponses aux requêtes GET servies par la passerelle.
+ *
+ * Le cache est borné à la fois en nombre d'entrées et en nombre total d'octets ; les entrées
+ * les moins récemment utilisées sont évincées en premier. Les entrées sont regroupées par route :
+ * un événement émis par un service invalide toutes les entrées de la route correspondante.
+ *
+ * Chaque route possède un numéro de génération incrémenté à chaque invalidation. Une réponse
+ * obtenue pendant une invalidation n'est pas conservée, ce qui évite de remettre en cache
+ * une donnée périmée.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Entrées du cache, dans l'ordre d'accès (la plus ancienne en tête).
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * Génération courante de chaque route.
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Nombre maximal d'entrées.
+     */
+    private final int maxEntries;
+
+    /**
+     * Nombre maximal d'octets conservés, toutes entrées confondues.
+     */
+    private final long maxBytes;
+
+    /**
+     * Taille maximale d'une réponse pouvant être conservée, en octets.
+     */
+    private final int maxEntryBytes;
+
+    /**
+     * Nombre d'octets actuellement conservés.
+     */
+    private long currentBytes;
+
+    /**
+     * Compteurs exposés pour la supervision du cache.
+     */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructeur du cache.
+     *
+     * @param maxEntries Le nombre maximal d'entrées.
+     * @param maxBytes Le nombre maximal d'octets conservés.
+     * @param maxEntryBytes La taille maximale d'une réponse pouvant être conservée.
+     */
+    public ResponseCache(@Value("${gateway.response-cache.max-entries:2000}") int maxEntries,
+                         @Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${gateway.response-cache.max-entry-bytes:1048576}") int maxEntryBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * Construit la clé d'une entrée.
+     *
+     * @param routeId L'identifiant de la route.
+     * @param user L'utilisateur à l'origine de la requête, ou {@code null}.
+     * @param uri L'URI de la requête (chemin et chaîne de requête).
+     * @return La clé de l'entrée.
+     */
+    public static String key(String routeId, String user, URI uri) {
+        String query = uri.getRawQuery();
+        return routeId + '|' + (user != null ? user : "") + '|' + uri.getRawPath() + (query != null ? "?" + query : "");
+    }
+
+    /**
+     * Recherche une réponse encore valide.
+     *
+     * @param key La clé de l'entrée.
+     * @return La réponse en cache, ou {@code null}.
+     */
+    public synchronized CachedResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    /**
+     * Conserve une réponse, sauf si la route a été invalidée depuis le début de la requête.
+     *
+     * @param key La clé de l'entrée.
+     * @param routeId L'identifiant de la route.
+     * @param generation La génération de la route lue au début de la requête.
+     * @param response La réponse à conserver.
+     * @param ttlMillis La durée de vie maximale de l'entrée, en millisecondes.
+     */
+    public synchronized void put(String key, String routeId, long generation, CachedResponse response, long ttlMillis) {
+        if (response.size() > maxEntryBytes || generation != generation(routeId)) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(routeId, response, System.currentTimeMillis() + ttlMillis));
+        currentBytes += response.size();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentBytes > maxBytes) && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().response.size();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Invalide toutes les entrées d'une route.
+     *
+     * @param routeId L'identifiant de la route.
+     */
+    public synchronized void invalidateRoute(String routeId) {
+        generations.computeIfAbsent(routeId, id -> new AtomicLong()).incrementAndGet();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.routeId.equals(routeId)) {
+                currentBytes -= entry.response.size();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Récupère la génération courante d'une route.
+     *
+     * @param routeId L'identifiant de la route.
+     * @return La génération courante de la route.
+     */
+    public long generation(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong()).get();
+    }
+
+    /**
+     * Retire une entrée et met à jour le nombre d'octets conservés.
+     *
+     * @param key La clé de l'entrée.
+     */
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.response.size();
+        }
+    }
+
+    /**
+     * @return La taille maximale d'une réponse pouvant être conservée, en octets.
+     */
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * @return Le nombre de réponses servies depuis le cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Le nombre de requêtes transmises au service faute d'entrée valide.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Le nombre d'entrées évincées faute de place.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Le nombre d'octets actuellement conservés.
+     */
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    /**
+     * Entrée du cache : une réponse et sa route d'origine.
+     */
+    private static final class Entry {
+
+        private final String routeId;
+        private final CachedResponse response;
+        private final long expiresAtMillis;
+
+        Entry(String routeId, CachedResponse response, long expiresAtMillis) {
+            this.routeId = routeId;
+            this.response = response;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
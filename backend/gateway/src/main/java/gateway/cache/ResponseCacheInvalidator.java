@@ -0,0 +1,76 @@
+package gateway.cache;
+
+import gateway.events.UpstreamEventHub;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invalide le cache des réponses à partir des flux d'événements des services.
+ *
+ * Chaque événement de projet, de tâche ou d'utilisateur invalide les entrées de la route
+ * correspondante. Les (re)connexions aux flux invalident également la route, des événements
+ * ayant pu être manqués pendant la coupure.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class ResponseCacheInvalidator {
+
+    /**
+     * Routes dont les réponses dépendent de chaque sujet d'événements.
+     */
+    private static final Map<String, List<String>> ROUTES_BY_TOPIC = Map.of(
+            UpstreamEventHub.TASKS, List.of("task_route"),
+            UpstreamEventHub.PROJECTS, List.of("project_route"),
+            UpstreamEventHub.USERS, List.of("users_route", "users_batch_get_route", "users_search_route"));
+
+    /**
+     * Événements sans effet sur les données mises en cache.
+     */
+    private static final String USER_LOGGED_IN = "USER_LOGGED_IN";
+
+    private final UpstreamEventHub eventHub;
+    private final ResponseCache cache;
+
+    /**
+     * Abonnements en cours aux flux d'événements.
+     */
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    /**
+     * Constructeur de l'invalidateur.
+     *
+     * @param eventHub Le point d'abonnement aux flux d'événements des services.
+     * @param cache Le cache des réponses.
+     */
+    public ResponseCacheInvalidator(UpstreamEventHub eventHub, ResponseCache cache) {
+        this.eventHub = eventHub;
+        this.cache = cache;
+    }
+
+    /**
+     * S'abonne aux flux d'événements une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        ROUTES_BY_TOPIC.forEach((topic, routeIds) -> subscriptions.add(eventHub.events(topic)
+                .filter(event -> !USER_LOGGED_IN.equals(event.get("type")))
+                .subscribe(event -> routeIds.forEach(cache::invalidateRoute))));
+    }
+
+    /**
+     * Met fin aux abonnements à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void unsubscribe() {
+        subscriptions.dispose();
+    }
+}
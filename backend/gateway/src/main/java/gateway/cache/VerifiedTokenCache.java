@@ -0,0 +1,247 @@
+package gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache borné des tokens JWT déjà vérifiés par la passerelle.
+ *
+ * Le frontend renvoie le même token des centaines de fois par session : plutôt que de refaire
+ * la vérification HMAC à chaque requête, le résultat d'une vérification réussie est conservé
+ * jusqu'à l'expiration du token (claim "exp").
+ *
+ * Les entrées sont indexées par une empreinte SHA-256 du token et non par le token lui-même :
+ * une empreinte cryptographique évite qu'un token forgé puisse entrer en collision avec un token
+ * déjà vérifié, et le token brut n'est jamais conservé en mémoire.
+ *
+ * Les compteurs de succès, d'échecs et d'évictions sont exposés pour la supervision.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * Durée de vie maximale d'une entrée, quelle que soit l'expiration du token.
+     */
+    private static final long MAX_TTL_MILLIS = TimeUnit.HOURS.toMillis(2);
+
+    /**
+     * Entrées du cache, indexées par l'empreinte du token.
+     */
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Nombre maximal d'entrées conservées.
+     */
+    private final int maxEntries;
+
+    /**
+     * Compteurs exposés pour la supervision du cache.
+     */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructeur du cache.
+     *
+     * @param maxEntries Le nombre maximal de tokens conservés simultanément.
+     */
+    public VerifiedTokenCache(@Value("${gateway.jwt.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Recherche un token déjà vérifié et encore valide.
+     *
+     * @param token Le token JWT brut.
+     * @return Le token vérifié, ou {@code null} s'il est absent ou expiré.
+     */
+    public VerifiedToken get(String token) {
+        String key = fingerprint(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Enregistre un token dont la signature vient d'être vérifiée.
+     *
+     * @param token Le token JWT brut.
+     * @param subject Le sujet (nom d'utilisateur) extrait du token.
+     * @param jti L'identifiant du token (claim "jti"), ou {@code null} s'il n'en a pas.
+     * @param expiresAt La date d'expiration du token, ou {@code null} si le token n'en a pas.
+     * @return Le token vérifié qui a été mis en cache.
+     */
+    public VerifiedToken put(String token, String subject, String jti, Date expiresAt) {
+        long now = System.currentTimeMillis();
+        long expiry = now + MAX_TTL_MILLIS;
+        if (expiresAt != null) {
+            expiry = Math.min(expiry, expiresAt.getTime());
+        }
+        VerifiedToken verified = new VerifiedToken(subject, jti, expiry);
+        if (expiry <= now) {
+            return verified;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(fingerprint(token), verified);
+        return verified;
+    }
+
+    /**
+     * Libère de la place lorsque le cache est plein : les entrées expirées sont retirées en premier,
+     * puis des entrées arbitraires jusqu'à repasser sous la limite.
+     *
+     * @param now L'instant courant en millisecondes.
+     */
+    private void makeRoom(long now) {
+        entries.entrySet().removeIf(entry -> {
+            if (entry.getValue().isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Calcule l'empreinte SHA-256 d'un token.
+     *
+     * @param token Le token JWT brut.
+     * @return L'empreinte encodée en Base64.
+     */
+    private static String fingerprint(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return Le nombre de tokens servis depuis le cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Le nombre de tokens absents du cache (vérification complète nécessaire).
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Le nombre d'entrées retirées du cache (expiration ou manque de place).
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Le nombre d'entrées actuellement dans le cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Résultat d'une vérification de token conservé dans le cache.
+     */
+    public static final class VerifiedToken {
+
+        /**
+         * Le sujet (nom d'utilisateur) du token.
+         */
+        private final String subject;
+
+        /**
+         * L'identifiant du token (claim "jti"), utilisé pour la révocation.
+         */
+        private final String jti;
+
+        /**
+         * L'instant d'expiration de l'entrée, en millisecondes.
+         */
+        private final long expiresAtMillis;
+
+        /**
+         * Constructeur d'un token vérifié.
+         *
+         * @param subject Le sujet du token.
+         * @param jti L'identifiant du token.
+         * @param expiresAtMillis L'instant d'expiration en millisecondes.
+         */
+        VerifiedToken(String subject, String jti, long expiresAtMillis) {
+            this.subject = subject;
+            this.jti = jti;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        /**
+         * @return Le sujet (nom d'utilisateur) du token.
+         */
+        public String getSubject() {
+            return subject;
+        }
+
+        /**
+         * @return L'identifiant du token (claim "jti"), ou {@code null} s'il n'en a pas.
+         */
+        public String getJti() {
+            return jti;
+        }
+
+        /**
+         * @return L'instant d'expiration du token, en millisecondes.
+         */
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        /**
+         * Indique si le token est expiré à l'instant donné.
+         *
+         * @param now L'instant courant en millisecondes.
+         * @return {@code true} si le token est expiré.
+         */
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
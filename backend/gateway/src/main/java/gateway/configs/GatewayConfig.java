@@ -1,13 +1,25 @@
 package gateway.configs;
 
+import gateway.filters.AccessLogFilter;
+import gateway.filters.BulkheadFilter;
 import gateway.filters.JwtAuthenticationFilter;
+import gateway.filters.RateLimiterFilter;
+import gateway.filters.RateLimiterFilter.KeyType;
+import gateway.filters.RequestCoalescingFilter;
+import gateway.filters.ResponseCacheFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.SpringCloudCircuitBreakerFilterFactory;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+import java.time.Duration;
+
 /**
  * Configuration du Spring Cloud Gateway pour gérer les routes entre différents services.
  * 
@@ -38,13 +50,58 @@ public class GatewayConfig {
      */
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * Filtre de journal d'accès, appliqué à chaque route avec son propre taux d'échantillonnage.
+     */
+    private final AccessLogFilter accessLogFilter;
+
+    /**
+     * Filtre de cache des réponses, appliqué aux routes de lecture les plus sollicitées.
+     */
+    private final ResponseCacheFilter responseCacheFilter;
+
+    /**
+     * Filtre de limitation de débit, appliqué à chaque route avec son propre quota.
+     */
+    private final RateLimiterFilter rateLimiterFilter;
+
+    /**
+     * Filtre regroupant les requêtes GET identiques simultanées, appliqué aux routes de lecture.
+     */
+    private final RequestCoalescingFilter requestCoalescingFilter;
+
+    /**
+     * Filtre limitant le nombre de requêtes simultanées vers chaque service.
+     */
+    private final BulkheadFilter bulkheadFilter;
+
+    /**
+     * Environnement, pour lire la limite de concurrence propre à chaque service.
+     */
+    private final Environment environment;
+
     /**
      * Constructeur de la classe GatewayConfig.
      * 
      * @param jwtAuthenticationFilter Le filtre d'authentification JWT à appliquer sur certaines routes.
+     * @param accessLogFilter Le filtre de journal d'accès à appliquer sur chaque route.
+     * @param responseCacheFilter Le filtre de cache des réponses à appliquer sur les routes de lecture.
+     * @param rateLimiterFilter Le filtre de limitation de débit à appliquer sur chaque route.
+     * @param requestCoalescingFilter Le filtre de regroupement des requêtes à appliquer sur les routes de lecture.
+     * @param bulkheadFilter Le filtre limitant la concurrence vers chaque service.
+     * @param environment L'environnement de l'application.
      */
-    public GatewayConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public GatewayConfig(JwtAuthenticationFilter jwtAuthenticationFilter, AccessLogFilter accessLogFilter,
+                         ResponseCacheFilter responseCacheFilter, RateLimiterFilter rateLimiterFilter,
+                         RequestCoalescingFilter requestCoalescingFilter, BulkheadFilter bulkheadFilter,
+                         Environment environment) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.accessLogFilter = accessLogFilter;
+        this.responseCacheFilter = responseCacheFilter;
+        this.rateLimiterFilter = rateLimiterFilter;
+        this.requestCoalescingFilter = requestCoalescingFilter;
+        this.bulkheadFilter = bulkheadFilter;
+        this.environment = environment;
     }
 
     /**
@@ -57,40 +114,188 @@ public class GatewayConfig {
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
                 // Exclude signup from JWT authentication filter
-                .route("signup_route", r -> r.path("/api/auth/signup").uri("http://auth-service:8081"))
-                .route("login_route", r -> r.path("/api/auth/login").uri("http://auth-service:8081"))
+                .route("signup_route", r -> r.path("/api/auth/signup")
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(rateLimit(KeyType.CLIENT_IP, 5, 0.2))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "signup_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
+                .route("login_route", r -> r.path("/api/auth/login")
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(rateLimit(KeyType.CLIENT_IP, 10, 1))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "login_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
+
+                .route("refresh_route", r -> r.path("/api/auth/refresh")
+                        .filters(f -> f.filter(accessLog(0.25))
+                                .filter(rateLimit(KeyType.CLIENT_IP, 20, 2))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "refresh_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
+
+                .route("logout_route", r -> r.path("/api/auth/logout")
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "logout_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
                 
+                // Import en masse : pas de disjoncteur, dont le délai couperait les imports longs
+                .route("admin_route", r -> r.path("/api/auth/admin/**")
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 2, 0.1)))
+                        .uri("lb://auth-service:8081"))
+
                 .route("users_route", r -> r.path("/api/auth/users")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://auth-service:8081"))
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 20, 5))
+                                .filter(responseCache(Duration.ofSeconds(60)))
+                                .filter(requestCoalescingFilter.apply(new RequestCoalescingFilter.Config()))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "users_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
 
-                .route("task_route", r -> r.path("/api/tasks/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://task-service:8082"))
+                // Résolution groupée en GET : cacheable, une requête POST sur la même route viderait le cache
+                .route("users_batch_get_route", r -> r.path("/api/auth/users/batch").and().method(HttpMethod.GET)
+                        .filters(f -> f.filter(accessLog(0.25))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 20, 5))
+                                .filter(responseCache(Duration.ofSeconds(60)))
+                                .filter(requestCoalescingFilter.apply(new RequestCoalescingFilter.Config()))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "users_batch_get_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
 
-                .route("project_route", r -> r.path("/api/projects/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://project-service:8083"))
-                
-                .route("project_event_route", r -> r.path("/api/projects/events")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://project-service:8083")) 
+                .route("users_batch_route", r -> r.path("/api/auth/users/batch").and().method(HttpMethod.POST)
+                        .filters(f -> f.filter(accessLog(0.25))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 20, 5))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "users_batch_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
 
+                .route("users_search_route", r -> r.path("/api/auth/users/search")
+                        .filters(f -> f.filter(accessLog(0.1))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 30, 10))
+                                .filter(responseCache(Duration.ofSeconds(10)))
+                                .filter(bulkhead("auth-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "users_search_route", "auth-service")))
+                        .uri("lb://auth-service:8081"))
+
+                // Flux d'événements (SSE) : déclarés avant les routes générales de leur service, qui les
+                // captureraient sinon. Ni disjoncteur ni limite de débit : le délai du disjoncteur couperait
+                // chaque connexion ouverte, et ces coupures ouvriraient le disjoncteur des routes de l'API.
                 .route("task_event_route", r -> r.path("/api/tasks/events")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://task-service:8082")) 
-                
-                .route("message_route", r -> r.path("/api/messages/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://message-service:8084")) 
-                
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .uri("lb://task-service:8082"))
+
+                .route("project_event_route", r -> r.path("/api/projects/events")
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .uri("lb://project-service:8083"))
+
                 .route("message_event_route", r -> r.path("/api/messages/stream/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://message-service:8084"))
+                        .filters(f -> f.filter(accessLog(1.0))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .uri("lb://message-service:8084"))
+
+                // Routes les plus sollicitées : journal d'accès échantillonné
+                .route("task_route", r -> r.path("/api/tasks/**").and().not(p -> p.path("/api/tasks/events"))
+                        .filters(f -> f.filter(accessLog(0.25))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 100, 50))
+                                .filter(responseCache(Duration.ofSeconds(60)))
+                                .filter(requestCoalescingFilter.apply(new RequestCoalescingFilter.Config()))
+                                .filter(bulkhead("task-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "task_route", "task-service")))
+                        .uri("lb://task-service:8082"))
+
+                .route("project_route", r -> r.path("/api/projects/**").and().not(p -> p.path("/api/projects/events"))
+                        .filters(f -> f.filter(accessLog(0.25))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 100, 50))
+                                .filter(responseCache(Duration.ofSeconds(60)))
+                                .filter(requestCoalescingFilter.apply(new RequestCoalescingFilter.Config()))
+                                .filter(bulkhead("project-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "project_route", "project-service")))
+                        .uri("lb://project-service:8083"))
+
+                .route("message_route", r -> r.path("/api/messages/**").and().not(p -> p.path("/api/messages/stream/**"))
+                        .filters(f -> f.filter(accessLog(0.25))
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimit(KeyType.USER, 50, 20))
+                                .filter(bulkhead("message-service"))
+                                .circuitBreaker(c -> circuitBreaker(c, "message_route", "message-service")))
+                        .uri("lb://message-service:8084"))
 
                 .build();
     }
 
+    /**
+     * Construit le filtre de journal d'accès d'une route.
+     *
+     * @param sampleRate La proportion des requêtes de la route à journaliser, entre 0 et 1.
+     * @return Le GatewayFilter de journal d'accès configuré.
+     */
+    private GatewayFilter accessLog(double sampleRate) {
+        return accessLogFilter.apply(new AccessLogFilter.Config(sampleRate));
+    }
+
+    /**
+     * Construit le filtre de limitation de débit d'une route.
+     *
+     * @param keyType La clé selon laquelle les requêtes sont comptées (utilisateur ou adresse IP).
+     * @param burstCapacity Le nombre maximal de requêtes acceptées en rafale.
+     * @param replenishRate Le nombre de requêtes acceptées par seconde.
+     * @return Le GatewayFilter de limitation de débit configuré.
+     */
+    private GatewayFilter rateLimit(KeyType keyType, int burstCapacity, double replenishRate) {
+        return rateLimiterFilter.apply(new RateLimiterFilter.Config(keyType, burstCapacity, replenishRate));
+    }
+
+    /**
+     * Construit le filtre de cache des réponses d'une route.
+     *
+     * @param ttl La durée de vie maximale des réponses de la route dans le cache.
+     * @return Le GatewayFilter de cache configuré.
+     */
+    private GatewayFilter responseCache(Duration ttl) {
+        return responseCacheFilter.apply(new ResponseCacheFilter.Config(ttl));
+    }
+
+    /**
+     * Construit le filtre limitant la concurrence vers un service. La limite par défaut
+     * ({@code gateway.resilience.max-concurrent-calls}) peut être surchargée service par service
+     * avec la propriété {@code gateway.resilience.<service>.max-concurrent-calls}.
+     *
+     * @param service Le nom du service en aval, partagé par toutes ses routes.
+     * @return Le GatewayFilter de limitation de concurrence configuré.
+     */
+    private GatewayFilter bulkhead(String service) {
+        int defaultLimit = environment.getProperty("gateway.resilience.max-concurrent-calls", Integer.class, 64);
+        int limit = environment.getProperty("gateway.resilience." + service + ".max-concurrent-calls",
+                Integer.class, defaultLimit);
+        return bulkheadFilter.apply(new BulkheadFilter.Config(service, limit));
+    }
+
+    /**
+     * Configure le disjoncteur d'une route : les échecs et les dépassements de délai du service
+     * sont redirigés vers la réponse de repli du service (voir {@link ResilienceConfig}).
+     *
+     * @param config La configuration du filtre de disjoncteur.
+     * @param routeId L'identifiant de la route, qui nomme son disjoncteur.
+     * @param service Le nom du service en aval.
+     */
+    private static void circuitBreaker(SpringCloudCircuitBreakerFilterFactory.Config config, String routeId, String service) {
+        config.setName(routeId)
+                .setFallbackUri("forward:/fallback/" + service);
+    }
+
     /**
      * Définit la chaîne de filtres de sécurité pour les demandes HTTP.
      *
@@ -103,13 +308,18 @@ public class GatewayConfig {
         return http
                 .csrf(csrf -> csrf.disable()) 
                 .authorizeExchange(exchanges -> exchanges
-                    .pathMatchers("/api/auth/signup", "/api/auth/login", "/api/auth/users").permitAll()
+                    .pathMatchers("/api/auth/signup", "/api/auth/login", "/api/auth/refresh", "/api/auth/logout", "/api/auth/users", "/api/auth/users/search", "/api/auth/users/batch").permitAll()
+                    .pathMatchers("/api/auth/admin/**").permitAll()
                     .pathMatchers("/api/projects/events").permitAll()
                     .pathMatchers("/api/tasks/events").permitAll()
                     .pathMatchers("/api/tasks/**").permitAll()
                     .pathMatchers("/api/projects/**").permitAll()
                     .pathMatchers("/api/messages/**").permitAll()
                     .pathMatchers("/api/messages/stream/**").permitAll()
+                    .pathMatchers("/api/events").permitAll()
+                    .pathMatchers("/api/boards/**").permitAll()
+                    .pathMatchers("/api/batch").permitAll()
+                    .pathMatchers("/actuator/**").permitAll()
                     .anyExchange().authenticated()
                 )
                 .build();
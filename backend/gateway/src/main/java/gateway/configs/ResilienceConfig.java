@@ -0,0 +1,64 @@
+package gateway.configs;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Configuration des disjoncteurs (circuit breakers) utilisés par les routes de la passerelle.
+ *
+ * Chaque route dispose de son propre disjoncteur, identifié par l'identifiant de la route, et
+ * d'un délai de réponse maximal. Le délai par défaut ({@code gateway.resilience.timeout}) peut être
+ * surchargé route par route avec la propriété {@code gateway.resilience.<route>.timeout}.
+ *
+ * Un disjoncteur s'ouvre lorsque la moitié des derniers appels ont échoué ou dépassé le délai :
+ * les requêtes suivantes sont alors redirigées immédiatement vers la réponse de repli, sans
+ * solliciter le service, jusqu'à la fin de la période d'ouverture.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Personnalise la fabrique de disjoncteurs réactifs de Spring Cloud.
+     *
+     * @param environment L'environnement, pour lire les délais propres à chaque route.
+     * @param defaultTimeout Le délai de réponse appliqué aux routes sans délai propre.
+     * @param waitDurationInOpenState La durée pendant laquelle un disjoncteur ouvert refuse les appels.
+     * @return Le Customizer appliquant la configuration à chaque disjoncteur créé.
+     */
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> circuitBreakerCustomizer(
+            Environment environment,
+            @Value("${gateway.resilience.timeout:5s}") Duration defaultTimeout,
+            @Value("${gateway.resilience.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState) {
+        return factory -> factory.configureDefault(id -> {
+            Duration timeout = environment.getProperty("gateway.resilience." + id + ".timeout",
+                    Duration.class, defaultTimeout);
+            return new Resilience4JConfigBuilder(id)
+                    .timeLimiterConfig(TimeLimiterConfig.custom()
+                            .timeoutDuration(timeout)
+                            .build())
+                    .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                            .slidingWindowSize(20)
+                            .minimumNumberOfCalls(10)
+                            .failureRateThreshold(50)
+                            .slowCallDurationThreshold(timeout)
+                            .slowCallRateThreshold(50)
+                            .waitDurationInOpenState(waitDurationInOpenState)
+                            .permittedNumberOfCallsInHalfOpenState(3)
+                            .build())
+                    .build();
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package gateway.controllers;
+
+import gateway.batch.BatchExecutor;
+import gateway.batch.SubRequest;
+import gateway.batch.SubResponse;
+import gateway.filters.JwtAuthenticationFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contrôleur des lots de requêtes.
+ *
+ * Un client qui enchaîne plusieurs petites requêtes (par exemple la mise à jour de plusieurs tâches
+ * après un glisser-déposer) peut les envoyer en une seule fois sur {@code /api/batch} :
+ *
+ * {"requests": [{"method": "PUT", "path": "/api/tasks/update?createDate=...", "body": {...}},
+ *               {"method": "GET", "path": "/api/tasks/user/a@b.c", "dependsOn": [0]}]}
+ *
+ * La réponse contient, dans le même ordre, le code HTTP et le corps de chaque sous-requête.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    /**
+     * Exécuteur des lots.
+     */
+    private final BatchExecutor batchExecutor;
+
+    /**
+     * Filtre JWT, utilisé ici pour vérifier le token du client.
+     */
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    /**
+     * Constructeur du contrôleur.
+     *
+     * @param batchExecutor L'exécuteur des lots.
+     * @param jwtAuthenticationFilter Le filtre JWT, pour vérifier le token du client.
+     */
+    public BatchController(BatchExecutor batchExecutor, JwtAuthenticationFilter jwtAuthenticationFilter) {
+        this.batchExecutor = batchExecutor;
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    }
+
+    /**
+     * Exécute un lot de sous-requêtes.
+     *
+     * @param authorization L'en-tête d'autorisation contenant le token JWT.
+     * @param batch Le lot, contenant la liste ordonnée des sous-requêtes dans "requests".
+     * @return Les réponses des sous-requêtes, dans "responses".
+     */
+    @PostMapping
+    public Mono<Map<String, List<SubResponse>>> executeBatch(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody Map<String, List<SubRequest>> batch) {
+        jwtAuthenticationFilter.authenticate(authorization);
+        return batchExecutor.execute(batch.get("requests"), authorization)
+                .map(responses -> Map.of("responses", responses));
+    }
+}
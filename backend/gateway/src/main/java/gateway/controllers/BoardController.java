@@ -0,0 +1,109 @@
+package gateway.controllers;
+
+import gateway.aggregation.BoardAggregator;
+import gateway.aggregation.BoardPart;
+import gateway.filters.JwtAuthenticationFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contrôleur d'agrégation du tableau d'un projet.
+ *
+ * L'écran d'un projet a besoin du projet, de ses membres, de ses tâches et des utilisateurs :
+ * plutôt que quatre allers-retours successifs, le client appelle {@code /api/boards/{projectId}}
+ * et la passerelle interroge les services en parallèle ({@link BoardAggregator}).
+ *
+ * - En JSON, la réponse est un document unique, chaque partie en échec étant signalée dans "errors".
+ * - En NDJSON ({@code Accept: application/x-ndjson}), chaque partie est envoyée dès qu'elle est
+ *   disponible, sans attendre un service lent.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/boards")
+public class BoardController {
+
+    /**
+     * Agrégateur des appels aux services.
+     */
+    private final BoardAggregator boardAggregator;
+
+    /**
+     * Filtre JWT, utilisé ici pour vérifier le token du client.
+     */
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    /**
+     * Constructeur du contrôleur.
+     *
+     * @param boardAggregator L'agrégateur des appels aux services.
+     * @param jwtAuthenticationFilter Le filtre JWT, pour vérifier le token du client.
+     */
+    public BoardController(BoardAggregator boardAggregator, JwtAuthenticationFilter jwtAuthenticationFilter) {
+        this.boardAggregator = boardAggregator;
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    }
+
+    /**
+     * Renvoie le tableau d'un projet : en un seul document JSON, ou partie par partie (NDJSON)
+     * si le client accepte {@code application/x-ndjson}.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param authorization L'en-tête d'autorisation contenant le token JWT.
+     * @param accept L'en-tête Accept de la requête.
+     * @return Le tableau du projet, ou 404 si le projet n'existe pas.
+     */
+    @GetMapping("/{projectId}")
+    public Mono<ResponseEntity<Object>> getBoard(@PathVariable Long projectId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String user = jwtAuthenticationFilter.authenticate(authorization).getSubject();
+        Flux<BoardPart> parts = boardAggregator.parts(projectId, authorization, user);
+
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(parts));
+        }
+        return parts.collectMap(BoardPart::getPart).map(this::compose);
+    }
+
+    /**
+     * Compose le document JSON du tableau à partir de ses parties.
+     *
+     * @param parts Les parties du tableau, indexées par nom.
+     * @return Le document du tableau, ou 404 si le projet n'existe pas.
+     */
+    private ResponseEntity<Object> compose(Map<String, BoardPart> parts) {
+        BoardPart project = parts.get(BoardAggregator.PROJECT);
+        if (project.getStatus() == HttpStatus.NOT_FOUND.value()) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> board = new LinkedHashMap<>();
+        Map<String, Object> errors = new LinkedHashMap<>();
+        for (String name : List.of(BoardAggregator.PROJECT, BoardAggregator.MEMBERS,
+                BoardAggregator.TASKS, BoardAggregator.USERS)) {
+            BoardPart part = parts.get(name);
+            board.put(name, part.getData());
+            if (part.getError() != null || part.getStatus() >= 400) {
+                errors.put(name, part);
+            }
+        }
+        if (!errors.isEmpty()) {
+            board.put("errors", errors);
+        }
+        return ResponseEntity.ok(board);
+    }
+}
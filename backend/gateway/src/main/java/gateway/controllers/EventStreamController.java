@@ -0,0 +1,127 @@
+package gateway.controllers;
+
+import gateway.events.UpstreamEventHub;
+import gateway.filters.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Point d'accès unique aux événements temps réel de l'application.
+ *
+ * Au lieu d'ouvrir une connexion SSE par service ({@code /api/tasks/events}, {@code /api/projects/events},
+ * {@code /api/messages/stream/{conversationId}}), le client ouvre une seule connexion sur
+ * {@code /api/events?topics=tasks,projects,messages} et reçoit les événements des sujets choisis.
+ * Chaque événement SSE porte le nom de son sujet dans le champ {@code event}.
+ *
+ * Les flux amont sont ouverts une seule fois par instance de passerelle ({@link UpstreamEventHub})
+ * et partagés entre tous les clients. Les messages peuvent être restreints à certaines conversations
+ * avec le paramètre {@code conversations}.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventStreamController {
+
+    /**
+     * Nombre maximal d'événements en attente pour un client lent ; au-delà, sa connexion est fermée
+     * (il se reconnecte et se resynchronise) pour ne pas ralentir les autres clients.
+     */
+    private static final int MAX_PENDING_EVENTS = 512;
+
+    /**
+     * Point d'abonnement partagé aux flux des services.
+     */
+    private final UpstreamEventHub eventHub;
+
+    /**
+     * Filtre JWT, utilisé ici pour vérifier le token du client.
+     */
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    /**
+     * Intervalle des commentaires SSE envoyés pour maintenir la connexion ouverte.
+     */
+    private final Duration heartbeatInterval;
+
+    /**
+     * Constructeur du contrôleur.
+     *
+     * @param eventHub Le point d'abonnement partagé aux flux des services.
+     * @param jwtAuthenticationFilter Le filtre JWT, pour vérifier le token du client.
+     * @param heartbeatInterval L'intervalle des messages de maintien de la connexion.
+     */
+    public EventStreamController(UpstreamEventHub eventHub, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                 @Value("${gateway.events.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        this.eventHub = eventHub;
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Ouvre le flux multiplexé des événements des sujets demandés.
+     *
+     * @param authorization L'en-tête d'autorisation contenant le token JWT.
+     * @param topics Les sujets demandés, séparés par des virgules (tous les sujets par défaut).
+     * @param conversations Les conversations dont les messages sont transmis (toutes par défaut).
+     * @return Le flux SSE des événements, nommés par sujet.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, Object>>> events(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) List<String> topics,
+            @RequestParam(required = false) Set<String> conversations) {
+        jwtAuthenticationFilter.authenticate(authorization);
+
+        Set<String> selected = topics == null || topics.isEmpty() ? eventHub.topics() : new LinkedHashSet<>(topics);
+        List<Flux<ServerSentEvent<Map<String, Object>>>> streams = new ArrayList<>();
+        for (String topic : selected) {
+            if (!eventHub.topics().contains(topic)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown event topic: " + topic);
+            }
+            Flux<Map<String, Object>> events = eventHub.events(topic);
+            if (UpstreamEventHub.MESSAGES.equals(topic) && conversations != null && !conversations.isEmpty()) {
+                events = events.filter(event -> isForConversations(event, conversations));
+            }
+            streams.add(events.map(event -> ServerSentEvent.builder(event).event(topic).build()));
+        }
+        streams.add(Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<Map<String, Object>>builder().comment("keep-alive").build()));
+
+        return Flux.merge(streams).onBackpressureBuffer(MAX_PENDING_EVENTS);
+    }
+
+    /**
+     * Indique si un événement de messagerie concerne l'une des conversations suivies.
+     * Les événements sans message (reconnexion du flux amont) sont toujours transmis.
+     *
+     * @param event L'événement du service de messagerie.
+     * @param conversations Les conversations suivies par le client.
+     * @return {@code true} si l'événement doit être transmis au client.
+     */
+    private static boolean isForConversations(Map<String, Object> event, Set<String> conversations) {
+        if (!(event.get("message") instanceof Map<?, ?> message)) {
+            return true;
+        }
+        Object conversationId = message.get("conversationId");
+        return conversationId != null && conversations.contains(String.valueOf(conversationId));
+    }
+}
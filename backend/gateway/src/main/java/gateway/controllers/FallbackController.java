@@ -0,0 +1,38 @@
+package gateway.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Contrôleur de repli des disjoncteurs de la passerelle.
+ *
+ * Lorsqu'un service ne répond pas dans le délai imparti, échoue ou que son disjoncteur est ouvert,
+ * la requête est redirigée ici : le client reçoit immédiatement une réponse 503 (Service Unavailable)
+ * au lieu d'attendre le service dégradé.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    /**
+     * Réponse de repli d'un service indisponible.
+     *
+     * @param service Le nom du service indisponible.
+     * @return Une réponse 503 décrivant le service indisponible.
+     */
+    @RequestMapping("/{service}")
+    public ResponseEntity<Map<String, String>> fallback(@PathVariable String service) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Service temporarily unavailable", "service", service));
+    }
+}
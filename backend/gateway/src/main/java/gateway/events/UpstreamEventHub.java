@@ -0,0 +1,142 @@
+package gateway.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Point d'abonnement unique de la passerelle aux flux d'événements (SSE) des services.
+ *
+ * Chaque flux amont (tâches, projets, utilisateurs, messages) n'est ouvert qu'une seule fois par instance
+ * de passerelle, puis partagé entre tous les abonnés internes. En cas de coupure, la connexion est
+ * rétablie avec un délai croissant ; un événement {@value #CONNECTED_EVENT} est émis à chaque
+ * (re)connexion afin que les abonnés puissent se resynchroniser, des événements ayant pu être manqués.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class UpstreamEventHub {
+
+    /**
+     * Type de l'événement émis à chaque (re)connexion au flux amont.
+     */
+    public static final String CONNECTED_EVENT = "STREAM_CONNECTED";
+
+    /**
+     * Sujet des événements du service des tâches.
+     */
+    public static final String TASKS = "tasks";
+
+    /**
+     * Sujet des événements du service des projets.
+     */
+    public static final String PROJECTS = "projects";
+
+    /**
+     * Sujet des événements du service d'authentification.
+     */
+    public static final String USERS = "users";
+
+    /**
+     * Sujet des événements du service de messagerie (toutes conversations confondues).
+     */
+    public static final String MESSAGES = "messages";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamEventHub.class);
+
+    private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    /**
+     * Flux partagés, indexés par sujet.
+     */
+    private final Map<String, Flux<Map<String, Object>>> streams;
+
+    /**
+     * Constructeur du point d'abonnement.
+     *
+     * @param webClientBuilder Le constructeur de clients HTTP réactifs.
+     * @param tasksUri L'URI du flux d'événements du service des tâches.
+     * @param projectsUri L'URI du flux d'événements du service des projets.
+     * @param usersUri L'URI du flux d'événements du service d'authentification.
+     * @param messagesUri L'URI du flux d'événements du service de messagerie.
+     */
+    public UpstreamEventHub(WebClient.Builder webClientBuilder,
+                            @Value("${gateway.events.tasks-uri:http://task-service:8082/api/tasks/events}") String tasksUri,
+                            @Value("${gateway.events.projects-uri:http://project-service:8083/api/projects/events}") String projectsUri,
+                            @Value("${gateway.events.users-uri:http://auth-service:8081/api/auth/events}") String usersUri,
+                            @Value("${gateway.events.messages-uri:http://message-service:8084/api/messages/stream/all}") String messagesUri) {
+        WebClient webClient = webClientBuilder.build();
+        this.streams = Map.of(
+                TASKS, connect(webClient, TASKS, tasksUri),
+                PROJECTS, connect(webClient, PROJECTS, projectsUri),
+                USERS, connect(webClient, USERS, usersUri),
+                MESSAGES, connect(webClient, MESSAGES, messagesUri));
+    }
+
+    /**
+     * Retourne le flux partagé des événements d'un sujet.
+     *
+     * @param topic Le sujet ({@link #TASKS}, {@link #PROJECTS}, {@link #USERS} ou {@link #MESSAGES}).
+     * @return Le flux des événements du sujet.
+     * @throws IllegalArgumentException Si le sujet est inconnu.
+     */
+    public Flux<Map<String, Object>> events(String topic) {
+        Flux<Map<String, Object>> stream = streams.get(topic);
+        if (stream == null) {
+            throw new IllegalArgumentException("Unknown event topic: " + topic);
+        }
+        return stream;
+    }
+
+    /**
+     * @return Les sujets disponibles.
+     */
+    public Set<String> topics() {
+        return streams.keySet();
+    }
+
+    /**
+     * Construit le flux partagé d'un service, avec reconnexion automatique.
+     *
+     * @param webClient Le client HTTP réactif.
+     * @param topic Le sujet du flux.
+     * @param uri L'URI du flux d'événements du service.
+     * @return Le flux partagé des événements.
+     */
+    private static Flux<Map<String, Object>> connect(WebClient webClient, String topic, String uri) {
+        Flux<Map<String, Object>> upstream = webClient.get()
+                .uri(uri)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchangeToFlux(response -> {
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createException().flatMapMany(Flux::error);
+                    }
+                    // Connexion établie : les événements suivants ne seront plus manqués
+                    Flux<Map<String, Object>> events = response.bodyToFlux(EVENT_TYPE)
+                            .filter(event -> event.data() != null)
+                            .map(ServerSentEvent::data);
+                    return Flux.concat(Flux.just(Map.<String, Object>of("type", CONNECTED_EVENT)), events);
+                });
+
+        return upstream
+                .doOnError(error -> LOGGER.warn("Event stream '{}' disconnected: {}", topic, error.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true))
+                .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+                .share();
+    }
+}
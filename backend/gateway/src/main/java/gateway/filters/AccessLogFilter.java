@@ -0,0 +1,151 @@
+package gateway.filters;
+
+import gateway.logging.AccessLogEntry;
+import gateway.logging.AccessLogWriter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filtre de passerelle produisant une ligne de journal d'accès structurée par requête :
+ * route, méthode, statut, latence et utilisateur masqué.
+ *
+ * Le filtre ne fait aucune écriture lui-même : l'entrée est déposée dans le tampon non bloquant
+ * de {@link AccessLogWriter}. Un taux d'échantillonnage peut être défini route par route dans
+ * {@code GatewayConfig} ; les réponses en erreur serveur (5xx) sont toujours journalisées.
+ *
+ * Ce filtre doit être placé avant le filtre JWT pour que la latence mesurée couvre toute la requête
+ * et que l'utilisateur authentifié soit connu à la fin du traitement.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class AccessLogFilter extends AbstractGatewayFilterFactory<AccessLogFilter.Config> {
+
+    /**
+     * Ordre du filtre : avant tous les autres filtres de route, pour mesurer la requête entière.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 50;
+
+    /**
+     * Statut journalisé lorsque le client a abandonné la requête avant la réponse.
+     */
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
+    /**
+     * Journal d'accès asynchrone.
+     */
+    private final AccessLogWriter writer;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param writer Le journal d'accès asynchrone.
+     */
+    public AccessLogFilter(AccessLogWriter writer) {
+        super(Config.class);
+        this.writer = writer;
+    }
+
+    /**
+     * Applique le filtre de journalisation sur la requête.
+     *
+     * @param config La configuration de la route (taux d'échantillonnage).
+     * @return Un GatewayFilter qui journalise la requête une fois la réponse terminée.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+                int status = signal == SignalType.CANCEL ? CLIENT_CLOSED_REQUEST
+                        : statusCode != null ? statusCode.value() : 200;
+                if (status < 500 && !sampled(config.getSampleRate())) {
+                    return;
+                }
+                Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                writer.append(new AccessLogEntry(
+                        System.currentTimeMillis(),
+                        route != null ? route.getId() : "-",
+                        exchange.getRequest().getMethod().name(),
+                        status,
+                        (System.nanoTime() - start) / 1_000_000,
+                        exchange.getAttribute(JwtAuthenticationFilter.USER_ATTRIBUTE)));
+            });
+        }, ORDER);
+    }
+
+    /**
+     * Tire au sort si la requête doit être journalisée.
+     *
+     * @param sampleRate Le taux d'échantillonnage, entre 0 et 1.
+     * @return {@code true} si la requête doit être journalisée.
+     */
+    private static boolean sampled(double sampleRate) {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Retourne le nom du filtre.
+     *
+     * @return Le nom du filtre.
+     */
+    @Override
+    public String name() {
+        return "AccessLog";
+    }
+
+    /**
+     * Classe de configuration de AccessLogFilter, définie pour chaque route.
+     */
+    public static class Config {
+
+        /**
+         * Proportion des requêtes journalisées, entre 0 et 1 (toutes par défaut).
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Constructeur par défaut : toutes les requêtes sont journalisées.
+         */
+        public Config() {
+        }
+
+        /**
+         * Constructeur avec taux d'échantillonnage.
+         *
+         * @param sampleRate La proportion des requêtes journalisées, entre 0 et 1.
+         */
+        public Config(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * Récupère le taux d'échantillonnage.
+         *
+         * @return La proportion des requêtes journalisées.
+         */
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        /**
+         * Définit le taux d'échantillonnage.
+         *
+         * @param sampleRate La proportion des requêtes journalisées, entre 0 et 1.
+         */
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+}
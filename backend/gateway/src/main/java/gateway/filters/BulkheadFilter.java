@@ -0,0 +1,152 @@
+package gateway.filters;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Filtre de passerelle limitant le nombre de requêtes simultanées vers un service en aval.
+ *
+ * Chaque service dispose de son propre compartiment (bulkhead) : un service lent ne peut occuper
+ * qu'un nombre borné de connexions de la passerelle, les autres services restent servis normalement.
+ * Lorsque le compartiment est plein, la requête est refusée immédiatement avec une réponse 503
+ * (Service Unavailable) plutôt que mise en attente. Les flux d'événements (SSE), ouverts pendant
+ * toute la session, ne sont pas comptés.
+ *
+ * Les compartiments sont enregistrés dans le {@link BulkheadRegistry} de Resilience4j, ce qui
+ * expose leur occupation dans les métriques de l'application.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class BulkheadFilter extends AbstractGatewayFilterFactory<BulkheadFilter.Config> {
+
+    /**
+     * Ordre du filtre : après le cache et le regroupement des requêtes, pour que seules les requêtes
+     * réellement transmises au service occupent une place du compartiment.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 5;
+
+    /**
+     * Registre des compartiments, partagé avec la supervision.
+     */
+    private final BulkheadRegistry registry;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param registry Le registre des compartiments Resilience4j.
+     */
+    public BulkheadFilter(BulkheadRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    /**
+     * Applique la limite de concurrence du service sur la requête.
+     *
+     * @param config La configuration du compartiment (nom du service et nombre d'appels simultanés).
+     * @return Un GatewayFilter qui refuse les requêtes lorsque le compartiment est plein.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bulkhead bulkhead = registry.bulkhead(config.getName(), BulkheadConfig.custom()
+                .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            // Les flux d'événements restent ouverts pendant toute la session : ils n'occupent pas le compartiment
+            if (ResponseCacheFilter.isEventStream(exchange.getRequest())) {
+                return chain.filter(exchange);
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange).doFinally(signal -> bulkhead.onComplete());
+        }, ORDER);
+    }
+
+    /**
+     * Retourne le nom du filtre.
+     *
+     * @return Le nom du filtre.
+     */
+    @Override
+    public String name() {
+        return "Bulkhead";
+    }
+
+    /**
+     * Classe de configuration de BulkheadFilter, définie pour chaque route.
+     */
+    public static class Config {
+
+        /**
+         * Nom du compartiment, en général le nom du service en aval.
+         */
+        private String name = "default";
+
+        /**
+         * Nombre maximal de requêtes simultanées vers le service.
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * Constructeur par défaut : compartiment "default" de 64 requêtes simultanées.
+         */
+        public Config() {
+        }
+
+        /**
+         * Constructeur avec limite.
+         *
+         * @param name Le nom du compartiment.
+         * @param maxConcurrentCalls Le nombre maximal de requêtes simultanées.
+         */
+        public Config(String name, int maxConcurrentCalls) {
+            this.name = name;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        /**
+         * @return Le nom du compartiment.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param name Le nom du compartiment.
+         */
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return Le nombre maximal de requêtes simultanées.
+         */
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        /**
+         * @param maxConcurrentCalls Le nombre maximal de requêtes simultanées.
+         */
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package gateway.filters;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import gateway.cache.VerifiedTokenCache;
+import gateway.cache.VerifiedTokenCache.VerifiedToken;
+import gateway.metrics.GatewayMetrics;
+import gateway.revocation.RevocationList;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -34,12 +42,52 @@ import reactor.core.publisher.Mono;
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
     /**
-     * Constructeur par défaut du filtre.
+     * Ordre du filtre : avant les filtres qui ont besoin de l'utilisateur authentifié
+     * (et avant l'écriture de la réponse, pour que ces filtres puissent la décorer).
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 40;
+
+    /**
+     * Attribut de l'échange contenant le sujet (nom d'utilisateur) du token vérifié,
+     * utilisé par les filtres suivants (journal d'accès, etc.).
+     */
+    public static final String USER_ATTRIBUTE = "gateway.user";
+
+    /**
+     * Vérificateur JWT partagé, construit une seule fois : l'algorithme et le vérificateur sont
+     * immuables et sûrs en accès concurrent.
+     */
+    private static final JWTVerifier VERIFIER = JWT.require(Algorithm.HMAC256("mykey")).build(); // Replace with your secret key
+
+    /**
+     * Cache des tokens déjà vérifiés, pour éviter de refaire la vérification HMAC à chaque requête.
+     */
+    private final VerifiedTokenCache tokenCache;
+
+    /**
+     * Métriques de la passerelle (durée des vérifications, échecs d'authentification).
+     */
+    private final GatewayMetrics metrics;
+
+    /**
+     * Liste des tokens révoqués (déconnexions).
+     */
+    private final RevocationList revocationList;
+
+    /**
+     * Constructeur du filtre.
      * 
      * Utilise la classe Config comme modèle de configuration pour ce filtre.
+     *
+     * @param tokenCache Le cache des tokens déjà vérifiés.
+     * @param metrics Les métriques de la passerelle.
+     * @param revocationList La liste des tokens révoqués.
      */
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache, GatewayMetrics metrics, RevocationList revocationList) {
         super(Config.class); 
+        this.tokenCache = tokenCache;
+        this.metrics = metrics;
+        this.revocationList = revocationList;
     }
 
     /**
@@ -51,31 +99,77 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
      */
     @Override
     public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
+        return new OrderedGatewayFilter((exchange, chain) -> {
             String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            System.out.println("Incoming request to: " + exchange.getRequest().getURI());
-            System.out.println("Authorization header: " + authHeader);
 
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                metrics.authFailure("missing_token");
                 return onError(exchange, "Authorization header not found", HttpStatus.UNAUTHORIZED);
             }
 
             String token = authHeader.substring(7);
             try {
-                Algorithm algorithm = Algorithm.HMAC256("mykey"); // Replace with your secret key
-                DecodedJWT jwt = JWT.require(algorithm).build().verify(token);
-                // Log the details of the JWT
-                System.out.println("Token verified successfully. Subject: " + jwt.getSubject());
-                System.out.println("Token expiration: " + jwt.getExpiresAt());
+                VerifiedToken jwt = verify(token);
                 
-                // Ajouter des informations de l'utilisateur aux attributs de la requête si nécessaire
-                exchange.getRequest().mutate().header("userId", jwt.getSubject()).build();
-                return chain.filter(exchange);
+                // Ajouter des informations de l'utilisateur aux attributs de la requête
+                exchange.getAttributes().put(USER_ATTRIBUTE, jwt.getSubject());
+                ServerWebExchange authenticated = exchange.mutate()
+                        .request(request -> request.headers(headers -> headers.set("userId", jwt.getSubject())))
+                        .build();
+                return chain.filter(authenticated);
             } catch (JWTVerificationException exception) {
-                System.out.println("JWT verification failed: " + exception.getMessage());
+                metrics.authFailure("invalid_token");
                 return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
             }
-        };
+        }, ORDER);
+    }
+
+    /**
+     * Vérifie un token JWT, en s'appuyant sur le cache des tokens déjà vérifiés.
+     * La vérification complète de la signature n'a lieu que si le token est absent du cache ;
+     * la révocation est contrôlée à chaque requête, le token ayant pu être révoqué depuis sa mise en cache.
+     *
+     * @param token Le token JWT brut (sans le préfixe "Bearer ").
+     * @return Le token vérifié.
+     * @throws JWTVerificationException Si le token est invalide, expiré ou révoqué.
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verified = tokenCache.get(token);
+        boolean cached = verified != null;
+        try {
+            if (!cached) {
+                DecodedJWT jwt = VERIFIER.verify(token);
+                verified = tokenCache.put(token, jwt.getSubject(), jwt.getId(), jwt.getExpiresAt());
+            }
+            if (revocationList.isRevoked(verified.getJti())) {
+                throw new JWTVerificationException("Token revoked");
+            }
+            return verified;
+        } finally {
+            metrics.recordJwtVerification(System.nanoTime() - start, cached);
+        }
+    }
+
+    /**
+     * Authentifie une requête traitée directement par la passerelle (hors routes), à partir
+     * de son en-tête d'autorisation.
+     *
+     * @param authorization La valeur de l'en-tête d'autorisation ("Bearer ...").
+     * @return Le token vérifié.
+     * @throws ResponseStatusException 401 si le token est absent ou invalide.
+     */
+    public VerifiedToken authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            metrics.authFailure("missing_token");
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authorization header not found");
+        }
+        try {
+            return verify(authorization.substring(7));
+        } catch (JWTVerificationException exception) {
+            metrics.authFailure("invalid_token");
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT token");
+        }
     }
 
     /**
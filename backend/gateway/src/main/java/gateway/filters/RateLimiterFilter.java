@@ -0,0 +1,218 @@
+package gateway.filters;
+
+import gateway.metrics.GatewayMetrics;
+import gateway.ratelimit.TokenBucketStore;
+import gateway.ratelimit.TokenBucketStore.Result;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Filtre de passerelle limitant le débit des requêtes, par route et par utilisateur
+ * (ou par adresse IP pour les routes publiques comme la connexion et l'inscription).
+ *
+ * Les quotas sont gérés localement par des seaux à jetons en mémoire ({@link TokenBucketStore}),
+ * sans dépendance externe. Une requête hors quota reçoit une réponse 429 (Too Many Requests)
+ * avec l'en-tête {@code Retry-After} ; les requêtes acceptées portent l'en-tête
+ * {@code X-RateLimit-Remaining}.
+ *
+ * Pour une limitation par utilisateur, ce filtre doit être placé après le filtre JWT.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class RateLimiterFilter extends AbstractGatewayFilterFactory<RateLimiterFilter.Config> {
+
+    /**
+     * Ordre du filtre : après le filtre JWT et avant le cache des réponses.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 30;
+
+    /**
+     * Stockage des seaux à jetons.
+     */
+    private final TokenBucketStore store;
+
+    /**
+     * Métriques de la passerelle (requêtes refusées).
+     */
+    private final GatewayMetrics metrics;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param store Le stockage des seaux à jetons.
+     * @param metrics Les métriques de la passerelle.
+     */
+    public RateLimiterFilter(TokenBucketStore store, GatewayMetrics metrics) {
+        super(Config.class);
+        this.store = store;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Applique la limitation de débit sur la requête.
+     *
+     * @param config La configuration de la route (quota et clé de limitation).
+     * @return Un GatewayFilter qui refuse les requêtes hors quota.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "-";
+            Result result = store.tryConsume(routeId + '|' + resolveKey(exchange, config.getKeyType()),
+                    config.getBurstCapacity(), config.getReplenishRate());
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            if (!result.isAllowed()) {
+                metrics.rateLimited(routeId);
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(result.getRetryAfterSeconds()));
+                headers.set("X-RateLimit-Remaining", "0");
+                return exchange.getResponse().setComplete();
+            }
+            headers.set("X-RateLimit-Remaining", String.valueOf(result.getRemaining()));
+            return chain.filter(exchange);
+        }, ORDER);
+    }
+
+    /**
+     * Détermine la clé de limitation d'une requête.
+     *
+     * @param exchange L'échange de la requête.
+     * @param keyType Le type de clé configuré pour la route.
+     * @return L'utilisateur authentifié ou l'adresse IP du client.
+     */
+    private static String resolveKey(ServerWebExchange exchange, KeyType keyType) {
+        if (keyType == KeyType.USER) {
+            String user = exchange.getAttribute(JwtAuthenticationFilter.USER_ATTRIBUTE);
+            if (user != null) {
+                return user;
+            }
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+
+    /**
+     * Retourne le nom du filtre.
+     *
+     * @return Le nom du filtre.
+     */
+    @Override
+    public String name() {
+        return "RateLimiter";
+    }
+
+    /**
+     * Clé selon laquelle les requêtes sont comptées.
+     */
+    public enum KeyType {
+
+        /**
+         * Par utilisateur authentifié (sujet du token JWT), ou par adresse IP à défaut.
+         */
+        USER,
+
+        /**
+         * Par adresse IP du client, pour les routes publiques.
+         */
+        CLIENT_IP
+    }
+
+    /**
+     * Classe de configuration de RateLimiterFilter, définie pour chaque route.
+     */
+    public static class Config {
+
+        /**
+         * Clé selon laquelle les requêtes sont comptées.
+         */
+        private KeyType keyType = KeyType.USER;
+
+        /**
+         * Nombre maximal de requêtes acceptées en rafale.
+         */
+        private int burstCapacity = 100;
+
+        /**
+         * Nombre de requêtes acceptées par seconde en régime permanent.
+         */
+        private double replenishRate = 50;
+
+        /**
+         * Constructeur par défaut : 50 requêtes par seconde et par utilisateur, rafales de 100.
+         */
+        public Config() {
+        }
+
+        /**
+         * Constructeur avec quota.
+         *
+         * @param keyType La clé selon laquelle les requêtes sont comptées.
+         * @param burstCapacity Le nombre maximal de requêtes acceptées en rafale.
+         * @param replenishRate Le nombre de requêtes acceptées par seconde.
+         */
+        public Config(KeyType keyType, int burstCapacity, double replenishRate) {
+            this.keyType = keyType;
+            this.burstCapacity = burstCapacity;
+            this.replenishRate = replenishRate;
+        }
+
+        /**
+         * @return La clé selon laquelle les requêtes sont comptées.
+         */
+        public KeyType getKeyType() {
+            return keyType;
+        }
+
+        /**
+         * @param keyType La clé selon laquelle les requêtes sont comptées.
+         */
+        public void setKeyType(KeyType keyType) {
+            this.keyType = keyType;
+        }
+
+        /**
+         * @return Le nombre maximal de requêtes acceptées en rafale.
+         */
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        /**
+         * @param burstCapacity Le nombre maximal de requêtes acceptées en rafale.
+         */
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        /**
+         * @return Le nombre de requêtes acceptées par seconde.
+         */
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        /**
+         * @param replenishRate Le nombre de requêtes acceptées par seconde.
+         */
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+    }
+}
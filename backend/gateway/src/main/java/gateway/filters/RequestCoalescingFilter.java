@@ -0,0 +1,153 @@
+package gateway.filters;
+
+import gateway.cache.CachedResponse;
+import gateway.cache.CapturingResponseDecorator;
+import gateway.cache.ResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtre de passerelle regroupant les requêtes GET identiques reçues simultanément.
+ *
+ * Après chaque événement SSE, tous les clients connectés rechargent les mêmes ressources au même
+ * moment. Tant qu'une requête est en cours vers le service, les requêtes identiques (même route,
+ * même chemin, même chaîne de requête et même utilisateur) attendent sa réponse au lieu d'interroger
+ * le service à leur tour ; la réponse est ensuite rejouée vers chacune d'elles.
+ *
+ * Si la réponse ne peut pas être rejouée (trop volumineuse ou interrompue), les requêtes en attente
+ * sont transmises normalement au service.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    /**
+     * Ordre du filtre : après le cache des réponses (une réponse en cache n'a pas besoin d'être
+     * regroupée) et avant {@link NettyWriteResponseFilter}.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 10;
+
+    /**
+     * Requêtes en cours vers les services, indexées par clé de regroupement.
+     */
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Taille maximale d'une réponse pouvant être rejouée, en octets.
+     */
+    private final int maxBytes;
+
+    /**
+     * Nombre de requêtes servies par la réponse d'une autre requête.
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param maxBytes La taille maximale d'une réponse pouvant être rejouée, en octets.
+     */
+    public RequestCoalescingFilter(@Value("${gateway.coalescing.max-bytes:4194304}") int maxBytes) {
+        super(Config.class);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Applique le regroupement des requêtes GET identiques.
+     *
+     * @param config La configuration du filtre.
+     * @return Un GatewayFilter regroupant les requêtes identiques simultanées.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route == null || request.getMethod() != HttpMethod.GET || ResponseCacheFilter.isEventStream(request)) {
+                return chain.filter(exchange);
+            }
+
+            String key = ResponseCache.key(route.getId(),
+                    exchange.getAttribute(JwtAuthenticationFilter.USER_ATTRIBUTE), request.getURI());
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+            if (leader != null) {
+                // Une requête identique est déjà en cours : attendre sa réponse
+                return leader.asMono()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(response -> {
+                            if (response.isEmpty()) {
+                                return chain.filter(exchange);
+                            }
+                            coalesced.increment();
+                            return response.get().writeTo(exchange.getResponse(), "coalesced");
+                        });
+            }
+
+            CapturingResponseDecorator capturing = new CapturingResponseDecorator(exchange.getResponse(), maxBytes,
+                    response -> publish(key, sink, response));
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doFinally(signal -> publish(key, sink, null));
+        }, ORDER);
+    }
+
+    /**
+     * Publie la réponse de la requête en cours vers les requêtes en attente.
+     * Seul le premier appel a un effet.
+     *
+     * @param key La clé de regroupement.
+     * @param sink Le point de publication de la requête en cours.
+     * @param response La réponse à rejouer, ou {@code null} si elle ne peut pas l'être.
+     */
+    private void publish(String key, Sinks.One<CachedResponse> sink, CachedResponse response) {
+        inFlight.remove(key, sink);
+        if (response != null) {
+            sink.tryEmitValue(response);
+        } else {
+            sink.tryEmitEmpty();
+        }
+    }
+
+    /**
+     * @return Le nombre de requêtes servies par la réponse d'une autre requête.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Retourne le nom du filtre.
+     *
+     * @return Le nom du filtre.
+     */
+    @Override
+    public String name() {
+        return "RequestCoalescing";
+    }
+
+    /**
+     * Classe de configuration de RequestCoalescingFilter par défaut.
+     */
+    public static class Config {
+
+    }
+}
@@ -0,0 +1,171 @@
+package gateway.filters;
+
+import gateway.cache.CapturingResponseDecorator;
+import gateway.cache.ResponseCache;
+import gateway.cache.CachedResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Filtre de passerelle servant depuis le cache les réponses aux requêtes GET idempotentes.
+ *
+ * La clé du cache est composée de la route, de l'utilisateur authentifié et du chemin (avec la
+ * chaîne de requête). Seules les réponses 200 non SSE sont conservées. Les requêtes de modification
+ * (POST, PUT, DELETE) passant par la même route invalident immédiatement ses entrées ; les
+ * modifications faites ailleurs sont propagées par les flux d'événements des services
+ * (voir {@link gateway.cache.ResponseCacheInvalidator}).
+ *
+ * Ce filtre doit être placé après le filtre JWT, dont il utilise l'utilisateur authentifié.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    /**
+     * Ordre du filtre : après le filtre JWT, et avant {@link NettyWriteResponseFilter} afin que la
+     * réponse décorée soit celle écrite vers le client.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 20;
+
+    /**
+     * Cache des réponses partagé par toutes les routes.
+     */
+    private final ResponseCache cache;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param cache Le cache des réponses.
+     */
+    public ResponseCacheFilter(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    /**
+     * Applique le filtre de cache sur la requête.
+     *
+     * @param config La configuration de la route (durée de vie des entrées).
+     * @return Un GatewayFilter servant la réponse depuis le cache lorsque c'est possible.
+     */
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route == null) {
+                return chain.filter(exchange);
+            }
+            String routeId = route.getId();
+
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).doFinally(signal -> cache.invalidateRoute(routeId));
+            }
+            if (isEventStream(request)) {
+                return chain.filter(exchange);
+            }
+
+            String key = ResponseCache.key(routeId, exchange.getAttribute(JwtAuthenticationFilter.USER_ATTRIBUTE),
+                    request.getURI());
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                return cached.writeTo(exchange.getResponse(), "cache");
+            }
+
+            long generation = cache.generation(routeId);
+            CapturingResponseDecorator capturing = new CapturingResponseDecorator(exchange.getResponse(),
+                    cache.getMaxEntryBytes(), response -> {
+                        if (response != null && response.getStatus().value() == 200) {
+                            cache.put(key, routeId, generation, response, config.getTtl().toMillis());
+                        }
+                    });
+            return chain.filter(exchange.mutate().response(capturing).build());
+        }, ORDER);
+    }
+
+    /**
+     * Indique si la requête ouvre un flux d'événements (SSE), qui ne doit jamais être mis en cache.
+     *
+     * Seul un type {@code text/event-stream} explicite dans l'en-tête Accept compte : les jokers
+     * ({@code *}{@code /*}, {@code text/*}) sont envoyés par défaut par curl, axios et les navigateurs
+     * et ne désignent pas un flux d'événements. Les chemins des flux connus sont reconnus même sans en-tête.
+     *
+     * @param request La requête entrante.
+     * @return {@code true} s'il s'agit d'un flux d'événements.
+     */
+    static boolean isEventStream(ServerHttpRequest request) {
+        String path = request.getURI().getPath();
+        if (path.endsWith("/events") || path.contains("/stream/")) {
+            return true;
+        }
+        List<MediaType> accept = request.getHeaders().getAccept();
+        return accept.stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    }
+
+    /**
+     * Retourne le nom du filtre.
+     *
+     * @return Le nom du filtre.
+     */
+    @Override
+    public String name() {
+        return "ResponseCache";
+    }
+
+    /**
+     * Classe de configuration de ResponseCacheFilter, définie pour chaque route.
+     */
+    public static class Config {
+
+        /**
+         * Durée de vie maximale d'une entrée, filet de sécurité si un événement est manqué.
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+
+        /**
+         * Constructeur par défaut : les entrées vivent au plus 60 secondes.
+         */
+        public Config() {
+        }
+
+        /**
+         * Constructeur avec durée de vie.
+         *
+         * @param ttl La durée de vie maximale d'une entrée.
+         */
+        public Config(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        /**
+         * Récupère la durée de vie maximale d'une entrée.
+         *
+         * @return La durée de vie maximale d'une entrée.
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        /**
+         * Définit la durée de vie maximale d'une entrée.
+         *
+         * @param ttl La durée de vie maximale d'une entrée.
+         */
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package gateway.loadbalancer;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Filtre global résolvant les routes de la forme {@code lb://service:port} vers l'une des
+ * répliques du service, choisie par le {@link ReplicaBalancer}.
+ *
+ * Le filtre occupe la place du filtre d'équilibrage de Spring Cloud (absent ici, faute de registre
+ * de services) : l'URL de la requête est réécrite vers la réplique, puis le résultat de l'appel
+ * (erreur de connexion ou réponse 502, 503, 504) alimente l'éviction des répliques défaillantes.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class LoadBalancerFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Schéma des routes équilibrées.
+     */
+    public static final String SCHEME = "lb";
+
+    /**
+     * Équilibreur des répliques.
+     */
+    private final ReplicaBalancer balancer;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param balancer L'équilibreur des répliques.
+     */
+    public LoadBalancerFilter(ReplicaBalancer balancer) {
+        this.balancer = balancer;
+    }
+
+    /**
+     * Choisit la réplique de la requête et suit le résultat de l'appel.
+     *
+     * @param exchange L'échange de la requête.
+     * @param chain La suite de la chaîne des filtres de la route.
+     * @return Mono<Void> qui se termine à la réception de la réponse de la réplique.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+        ServerWebExchangeUtils.addOriginalRequestUrl(exchange, url);
+
+        String service = url.getHost();
+        Replica replica = balancer.choose(service, URI.create("http://" + url.getHost()
+                + (url.getPort() > 0 ? ":" + url.getPort() : "")));
+        URI target = replica.getUri();
+        URI requestUrl = UriComponentsBuilder.fromUri(url)
+                .scheme(target.getScheme())
+                .host(target.getHost())
+                .port(target.getPort())
+                .build(true)
+                .toUri();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, requestUrl);
+
+        replica.acquire();
+        return chain.filter(exchange)
+                .doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    balancer.record(service, replica, status == null || !isUnavailable(status.value()));
+                })
+                .doOnError(error -> balancer.record(service, replica, false))
+                .doFinally(signal -> replica.release());
+    }
+
+    /**
+     * Indique si un code HTTP signale une réplique indisponible (et non une erreur applicative,
+     * qui ne doit pas écarter la réplique).
+     *
+     * @param status Le code HTTP de la réponse.
+     * @return {@code true} pour 502, 503 et 504.
+     */
+    private static boolean isUnavailable(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    /**
+     * @return L'ordre du filtre : celui du filtre d'équilibrage de Spring Cloud, après la
+     * construction de l'URL de la requête et avant l'appel au service.
+     */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER;
+    }
+}
@@ -0,0 +1,131 @@
+package gateway.loadbalancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instance (réplique) d'un service, avec l'état utilisé par l'équilibrage de charge :
+ * nombre de requêtes en cours, échecs consécutifs, éviction temporaire et montée en charge progressive.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public class Replica {
+
+    /**
+     * Adresse de la réplique.
+     */
+    private final URI uri;
+
+    /**
+     * Nombre de requêtes envoyées à la réplique et encore sans réponse.
+     */
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    /**
+     * Nombre d'échecs consécutifs de la réplique.
+     */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * Instant (en millisecondes) jusqu'auquel la réplique est écartée, 0 si elle est disponible.
+     */
+    private volatile long ejectedUntil;
+
+    /**
+     * Instant (en millisecondes) du début de la montée en charge de la réplique.
+     */
+    private volatile long warmingSince;
+
+    /**
+     * Constructeur d'une réplique.
+     *
+     * @param uri L'adresse de la réplique.
+     * @param now L'instant courant en millisecondes, début de sa montée en charge.
+     */
+    Replica(URI uri, long now) {
+        this.uri = uri;
+        this.warmingSince = now;
+    }
+
+    /**
+     * @return L'adresse de la réplique.
+     */
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * @return Le nombre de requêtes en cours sur la réplique.
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Indique si la réplique est écartée à l'instant donné.
+     *
+     * @param now L'instant courant en millisecondes.
+     * @return {@code true} si la réplique est écartée.
+     */
+    public boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+    /**
+     * Calcule la charge relative de la réplique : le nombre de requêtes en cours rapporté à son
+     * poids, qui croît linéairement de 10 % à 100 % pendant la montée en charge.
+     *
+     * @param now L'instant courant en millisecondes.
+     * @param slowStartMillis La durée de la montée en charge.
+     * @return La charge relative de la réplique (plus elle est faible, plus la réplique est choisie).
+     */
+    double load(long now, long slowStartMillis) {
+        double weight = 1.0;
+        long elapsed = now - warmingSince;
+        if (slowStartMillis > 0 && elapsed < slowStartMillis) {
+            weight = Math.max(0.1, (double) elapsed / slowStartMillis);
+        }
+        return (outstanding.get() + 1) / weight;
+    }
+
+    /**
+     * Signale l'envoi d'une requête à la réplique.
+     */
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Signale la fin d'une requête envoyée à la réplique.
+     */
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Signale une réponse correcte : les échecs consécutifs sont remis à zéro.
+     */
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Signale un échec ; au-delà du seuil d'échecs consécutifs, la réplique est écartée
+     * temporairement, puis reprend avec une nouvelle montée en charge.
+     *
+     * @param now L'instant courant en millisecondes.
+     * @param maxFailures Le nombre d'échecs consécutifs provoquant l'éviction.
+     * @param ejectionMillis La durée de l'éviction.
+     * @return {@code true} si la réplique vient d'être écartée.
+     */
+    boolean onFailure(long now, int maxFailures, long ejectionMillis) {
+        if (consecutiveFailures.incrementAndGet() < maxFailures) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntil = now + ejectionMillis;
+        warmingSince = ejectedUntil;
+        return true;
+    }
+}
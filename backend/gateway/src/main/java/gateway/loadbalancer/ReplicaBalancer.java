@@ -0,0 +1,168 @@
+package gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Équilibrage de charge entre les répliques d'un service.
+ *
+ * Les répliques de chaque service sont lues dans la propriété
+ * {@code gateway.load-balancer.<service>.replicas} (adresses séparées par des virgules) ; à défaut,
+ * le service n'a qu'une réplique, l'adresse de la route.
+ *
+ * Le choix suit l'algorithme des deux choix aléatoires (power of two choices) : deux répliques
+ * disponibles sont tirées au hasard et la moins chargée (requêtes en cours rapportées au poids de
+ * montée en charge) est retenue. Une réplique qui échoue plusieurs fois de suite est écartée
+ * temporairement, puis reprend progressivement du trafic.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class ReplicaBalancer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaBalancer.class);
+
+    /**
+     * Répliques de chaque service, créées à la première requête vers le service.
+     */
+    private final Map<String, List<Replica>> replicas = new ConcurrentHashMap<>();
+
+    /**
+     * Environnement, pour lire la liste des répliques de chaque service.
+     */
+    private final Environment environment;
+
+    /**
+     * Registre Micrometer, pour publier la charge de chaque réplique.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Nombre d'échecs consécutifs provoquant l'éviction d'une réplique.
+     */
+    private final int maxFailures;
+
+    /**
+     * Durée de l'éviction d'une réplique, en millisecondes.
+     */
+    private final long ejectionMillis;
+
+    /**
+     * Durée de la montée en charge d'une réplique, en millisecondes.
+     */
+    private final long slowStartMillis;
+
+    /**
+     * Constructeur de l'équilibreur.
+     *
+     * @param environment L'environnement de l'application.
+     * @param meterRegistry Le registre Micrometer de l'application.
+     * @param maxFailures Le nombre d'échecs consécutifs provoquant l'éviction d'une réplique.
+     * @param ejectionDuration La durée de l'éviction d'une réplique.
+     * @param slowStart La durée de la montée en charge d'une réplique.
+     */
+    public ReplicaBalancer(Environment environment, MeterRegistry meterRegistry,
+                           @Value("${gateway.load-balancer.max-failures:3}") int maxFailures,
+                           @Value("${gateway.load-balancer.ejection-duration:30s}") Duration ejectionDuration,
+                           @Value("${gateway.load-balancer.slow-start:30s}") Duration slowStart) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.maxFailures = maxFailures;
+        this.ejectionMillis = ejectionDuration.toMillis();
+        this.slowStartMillis = slowStart.toMillis();
+    }
+
+    /**
+     * Choisit la réplique qui recevra une requête.
+     *
+     * @param service Le nom du service.
+     * @param defaultUri L'adresse utilisée si le service n'a pas de répliques configurées.
+     * @return La réplique choisie.
+     */
+    public Replica choose(String service, URI defaultUri) {
+        List<Replica> all = replicas.computeIfAbsent(service, name -> load(name, defaultUri));
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+        long now = System.currentTimeMillis();
+        List<Replica> available = new ArrayList<>(all.size());
+        for (Replica replica : all) {
+            if (!replica.isEjected(now)) {
+                available.add(replica);
+            }
+        }
+        // Toutes les répliques écartées : mieux vaut tenter sa chance que refuser la requête
+        List<Replica> candidates = available.isEmpty() ? all : available;
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Replica a = candidates.get(first);
+        Replica b = candidates.get(second);
+        return a.load(now, slowStartMillis) <= b.load(now, slowStartMillis) ? a : b;
+    }
+
+    /**
+     * Enregistre le résultat d'une requête envoyée à une réplique.
+     *
+     * @param service Le nom du service.
+     * @param replica La réplique appelée.
+     * @param success {@code true} si la réplique a répondu correctement.
+     */
+    public void record(String service, Replica replica, boolean success) {
+        if (success) {
+            replica.onSuccess();
+        } else if (replica.onFailure(System.currentTimeMillis(), maxFailures, ejectionMillis)) {
+            LOGGER.warn("Replica {} of {} ejected for {} ms after {} consecutive failures",
+                    replica.getUri(), service, ejectionMillis, maxFailures);
+        }
+    }
+
+    /**
+     * Lit la liste des répliques d'un service et publie leur charge.
+     *
+     * @param service Le nom du service.
+     * @param defaultUri L'adresse utilisée si le service n'a pas de répliques configurées.
+     * @return Les répliques du service.
+     */
+    private List<Replica> load(String service, URI defaultUri) {
+        String[] uris = environment.getProperty("gateway.load-balancer." + service + ".replicas", String[].class,
+                new String[] {defaultUri.toString()});
+        long now = System.currentTimeMillis();
+        List<Replica> list = new ArrayList<>(uris.length);
+        for (String uri : uris) {
+            Replica replica = new Replica(URI.create(uri.trim()), now);
+            Gauge.builder("gateway.replica.outstanding", replica, Replica::getOutstanding)
+                    .description("Requêtes en cours par réplique")
+                    .tag("service", service)
+                    .tag("replica", replica.getUri().toString())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.replica.ejected", replica, r -> r.isEjected(System.currentTimeMillis()) ? 1 : 0)
+                    .description("Répliques écartées après des échecs consécutifs")
+                    .tag("service", service)
+                    .tag("replica", replica.getUri().toString())
+                    .register(meterRegistry);
+            list.add(replica);
+        }
+        return List.copyOf(list);
+    }
+}
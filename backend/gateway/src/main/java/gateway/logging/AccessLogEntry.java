@@ -0,0 +1,116 @@
+package gateway.logging;
+
+/**
+ * Entrée du journal d'accès : une requête traitée par la passerelle.
+ *
+ * Les champs sont bruts ; la mise en forme (et le masquage de l'utilisateur) est faite
+ * par le thread de vidage, hors de la boucle d'événements.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+public final class AccessLogEntry {
+
+    /**
+     * Instant de fin de la requête, en millisecondes.
+     */
+    private final long timestamp;
+
+    /**
+     * Identifiant de la route empruntée.
+     */
+    private final String routeId;
+
+    /**
+     * Méthode HTTP de la requête.
+     */
+    private final String method;
+
+    /**
+     * Code de statut HTTP de la réponse.
+     */
+    private final int status;
+
+    /**
+     * Durée de traitement de la requête en aval de la passerelle, en millisecondes.
+     */
+    private final long latencyMillis;
+
+    /**
+     * Identifiant de l'utilisateur authentifié, ou {@code null}.
+     */
+    private final String user;
+
+    /**
+     * Constructeur d'une entrée du journal d'accès.
+     *
+     * @param timestamp Instant de fin de la requête, en millisecondes.
+     * @param routeId Identifiant de la route empruntée.
+     * @param method Méthode HTTP de la requête.
+     * @param status Code de statut HTTP de la réponse.
+     * @param latencyMillis Durée de traitement en millisecondes.
+     * @param user Identifiant de l'utilisateur authentifié, ou {@code null}.
+     */
+    public AccessLogEntry(long timestamp, String routeId, String method, int status, long latencyMillis, String user) {
+        this.timestamp = timestamp;
+        this.routeId = routeId;
+        this.method = method;
+        this.status = status;
+        this.latencyMillis = latencyMillis;
+        this.user = user;
+    }
+
+    /**
+     * Récupère l'instant de fin de la requête, en millisecondes.
+     *
+     * @return L'instant de fin de la requête, en millisecondes.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Récupère l'identifiant de la route empruntée.
+     *
+     * @return L'identifiant de la route empruntée.
+     */
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * Récupère la méthode HTTP de la requête.
+     *
+     * @return La méthode HTTP de la requête.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Récupère le code de statut HTTP de la réponse.
+     *
+     * @return Le code de statut HTTP de la réponse.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Récupère la durée de traitement de la requête, en millisecondes.
+     *
+     * @return La durée de traitement de la requête, en millisecondes.
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Récupère l'identifiant de l'utilisateur authentifié, ou {@code null}.
+     *
+     * @return L'identifiant de l'utilisateur authentifié, ou {@code null}.
+     */
+    public String getUser() {
+        return user;
+    }
+}
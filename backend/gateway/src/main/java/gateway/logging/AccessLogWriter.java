@@ -0,0 +1,150 @@
+package gateway.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Journal d'accès asynchrone de la passerelle.
+ *
+ * Les threads de la boucle d'événements se contentent de déposer une entrée dans un tampon
+ * circulaire sans verrou ; un thread dédié vide ce tampon par lots et écrit une ligne structurée
+ * par requête. Aucune écriture bloquante n'a donc lieu sur les threads réactifs.
+ * Si le tampon est plein, l'entrée est abandonnée et comptabilisée.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class AccessLogWriter {
+
+    /**
+     * Logger dédié au journal d'accès, séparé des logs applicatifs.
+     */
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("gateway.access");
+
+    /**
+     * Tampon des entrées en attente d'écriture.
+     */
+    private final RingBuffer<AccessLogEntry> buffer;
+
+    /**
+     * Nombre maximal d'entrées écrites par lot.
+     */
+    private final int batchSize;
+
+    /**
+     * Thread unique chargé de vider le tampon.
+     */
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Nombre d'entrées abandonnées faute de place dans le tampon.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructeur du journal d'accès.
+     *
+     * @param capacity La capacité du tampon circulaire.
+     * @param batchSize Le nombre maximal d'entrées écrites par lot.
+     * @param flushIntervalMillis L'intervalle entre deux vidages du tampon, en millisecondes.
+     */
+    public AccessLogWriter(@Value("${gateway.access-log.buffer-size:8192}") int capacity,
+                           @Value("${gateway.access-log.batch-size:512}") int batchSize,
+                           @Value("${gateway.access-log.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "access-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Dépose une entrée dans le tampon sans bloquer.
+     *
+     * @param entry L'entrée à journaliser.
+     */
+    public void append(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Vide le tampon et écrit les entrées par lots.
+     */
+    private void flush() {
+        List<AccessLogEntry> batch = new ArrayList<>(batchSize);
+        try {
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                for (AccessLogEntry entry : batch) {
+                    ACCESS_LOG.info(format(entry));
+                }
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            // Ne jamais interrompre le thread de vidage
+            ACCESS_LOG.warn("Access log flush failed", e);
+        }
+    }
+
+    /**
+     * Met en forme une entrée sous forme d'une ligne JSON.
+     *
+     * @param entry L'entrée à mettre en forme.
+     * @return La ligne structurée.
+     */
+    private static String format(AccessLogEntry entry) {
+        return "{\"ts\":\"" + Instant.ofEpochMilli(entry.getTimestamp()) + "\""
+                + ",\"route\":\"" + entry.getRouteId() + "\""
+                + ",\"method\":\"" + entry.getMethod() + "\""
+                + ",\"status\":" + entry.getStatus()
+                + ",\"latencyMs\":" + entry.getLatencyMillis()
+                + ",\"user\":\"" + redact(entry.getUser()) + "\"}";
+    }
+
+    /**
+     * Masque l'identifiant de l'utilisateur : seuls le premier caractère et le domaine sont conservés.
+     *
+     * @param user L'identifiant (email) de l'utilisateur, ou {@code null}.
+     * @return L'identifiant masqué.
+     */
+    static String redact(String user) {
+        if (user == null || user.isEmpty()) {
+            return "-";
+        }
+        int at = user.indexOf('@');
+        String domain = at >= 0 ? user.substring(at) : "";
+        return user.charAt(0) + "***" + domain.replace("\"", "");
+    }
+
+    /**
+     * @return Le nombre d'entrées abandonnées faute de place dans le tampon.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Écrit les entrées restantes puis arrête le thread de vidage.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+}
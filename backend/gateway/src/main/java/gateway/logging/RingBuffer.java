@@ -0,0 +1,95 @@
+package gateway.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tampon circulaire borné, sans verrou, à producteurs multiples et consommateur unique.
+ *
+ * Les producteurs (threads de la boucle d'événements Netty) réservent une case par CAS sur
+ * l'indice d'écriture puis y publient leur élément ; ils ne bloquent jamais : si le tampon est
+ * plein, l'élément est refusé. Un seul thread consommateur vide le tampon par lots.
+ *
+ * @param <E> Le type des éléments stockés.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class RingBuffer<E> {
+
+    /**
+     * Cases du tampon. Une case vide vaut {@code null}.
+     */
+    private final AtomicReferenceArray<E> slots;
+
+    /**
+     * Masque utilisé pour ramener une séquence à un indice de case (capacité en puissance de 2).
+     */
+    private final int mask;
+
+    /**
+     * Prochaine séquence à réserver par un producteur.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Prochaine séquence à lire par le consommateur.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Constructeur du tampon.
+     *
+     * @param capacity La capacité souhaitée, arrondie à la puissance de 2 supérieure.
+     */
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Ajoute un élément sans jamais bloquer.
+     *
+     * @param element L'élément à ajouter (non nul).
+     * @return {@code true} si l'élément a été ajouté, {@code false} si le tampon est plein.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.lazySet((int) (sequence & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Retire au plus {@code maxElements} éléments publiés. Ne doit être appelé que par le consommateur.
+     *
+     * @param batch La liste recevant les éléments retirés.
+     * @param maxElements Le nombre maximal d'éléments à retirer.
+     * @return Le nombre d'éléments retirés.
+     */
+    int drainTo(List<E> batch, int maxElements) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (sequence & mask);
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            batch.add(element);
+            sequence++;
+            drained++;
+        }
+        head.lazySet(sequence);
+        return drained;
+    }
+}
@@ -0,0 +1,39 @@
+package gateway.metrics;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Dernier filtre web de la passerelle : il note l'instant où la requête est confiée au routage,
+ * après la sécurité et le CORS. {@link RouteMetricsFilter} en déduit la durée de la recherche de route.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class DispatchTimestampWebFilter implements WebFilter {
+
+    /**
+     * Attribut de l'échange contenant l'instant (en nanosecondes) du début du routage.
+     */
+    static final String DISPATCH_START_ATTRIBUTE = "gateway.metrics.dispatch-start";
+
+    /**
+     * Note l'instant du début du routage puis poursuit le traitement.
+     *
+     * @param exchange L'échange de la requête.
+     * @param chain La suite de la chaîne de filtres web.
+     * @return Mono<Void> qui se termine avec le traitement de la requête.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        exchange.getAttributes().put(DISPATCH_START_ATTRIBUTE, System.nanoTime());
+        return chain.filter(exchange);
+    }
+}
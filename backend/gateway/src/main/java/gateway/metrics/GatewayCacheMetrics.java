@@ -0,0 +1,76 @@
+package gateway.metrics;
+
+import gateway.cache.ResponseCache;
+import gateway.cache.VerifiedTokenCache;
+import gateway.filters.RequestCoalescingFilter;
+import gateway.logging.AccessLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publie dans Micrometer les compteurs déjà tenus par les composants de la passerelle :
+ * cache des tokens, cache des réponses, regroupement des requêtes et journal d'accès.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class GatewayCacheMetrics implements MeterBinder {
+
+    /**
+     * Composants dont les compteurs sont publiés.
+     */
+    private final VerifiedTokenCache tokenCache;
+    private final ResponseCache responseCache;
+    private final RequestCoalescingFilter coalescingFilter;
+    private final AccessLogWriter accessLogWriter;
+
+    /**
+     * Constructeur du publieur.
+     *
+     * @param tokenCache Le cache des tokens vérifiés.
+     * @param responseCache Le cache des réponses.
+     * @param coalescingFilter Le filtre de regroupement des requêtes.
+     * @param accessLogWriter L'écrivain du journal d'accès.
+     */
+    public GatewayCacheMetrics(VerifiedTokenCache tokenCache, ResponseCache responseCache,
+                               RequestCoalescingFilter coalescingFilter, AccessLogWriter accessLogWriter) {
+        this.tokenCache = tokenCache;
+        this.responseCache = responseCache;
+        this.coalescingFilter = coalescingFilter;
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    /**
+     * Enregistre les compteurs et jauges dans le registre.
+     *
+     * @param registry Le registre Micrometer de l'application.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.jwt.cache.requests", tokenCache, VerifiedTokenCache::getHits)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.requests", tokenCache, VerifiedTokenCache::getMisses)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("gateway.jwt.cache.evictions", tokenCache, VerifiedTokenCache::getEvictions)
+                .register(registry);
+        Gauge.builder("gateway.jwt.cache.size", tokenCache, VerifiedTokenCache::size).register(registry);
+
+        FunctionCounter.builder("gateway.response.cache.requests", responseCache, ResponseCache::getHits)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("gateway.response.cache.requests", responseCache, ResponseCache::getMisses)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("gateway.response.cache.evictions", responseCache, ResponseCache::getEvictions)
+                .register(registry);
+        Gauge.builder("gateway.response.cache.bytes", responseCache, ResponseCache::getCurrentBytes)
+                .baseUnit("bytes").register(registry);
+
+        FunctionCounter.builder("gateway.coalesced.requests", coalescingFilter, RequestCoalescingFilter::getCoalesced)
+                .register(registry);
+        FunctionCounter.builder("gateway.access-log.dropped", accessLogWriter, AccessLogWriter::getDropped)
+                .register(registry);
+    }
+}
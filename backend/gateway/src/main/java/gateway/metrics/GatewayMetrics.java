@@ -0,0 +1,176 @@
+package gateway.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métriques de la passerelle, publiées via Micrometer (et exposées au format Prometheus
+ * sur le port de supervision).
+ *
+ * Les temporisateurs publient les percentiles p50, p95 et p99 ainsi qu'un histogramme, calculés
+ * par Micrometer à partir d'histogrammes HdrHistogram glissants :
+ *
+ * - gateway.jwt.verification : durée de vérification d'un token (tag cache=hit|miss) ;
+ * - gateway.route.matching : durée de la recherche de la route correspondant à la requête ;
+ * - gateway.route.requests : durée totale de traitement d'une requête, par route et classe de statut ;
+ * - gateway.upstream.requests : durée des appels aux services, par route et classe de statut.
+ *
+ * Les compteurs gateway.auth.failures, gateway.upstream.errors et gateway.rate-limit.rejected
+ * complètent ces durées.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class GatewayMetrics {
+
+    /**
+     * Percentiles publiés par tous les temporisateurs de la passerelle.
+     */
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * Registre Micrometer de l'application.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * Temporisateurs sans tag variable, créés une seule fois.
+     */
+    private final Timer jwtCacheHit;
+    private final Timer jwtCacheMiss;
+    private final Timer routeMatching;
+
+    /**
+     * Constructeur des métriques.
+     *
+     * @param registry Le registre Micrometer de l'application.
+     */
+    public GatewayMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.jwtCacheHit = timer("gateway.jwt.verification", "Durée de vérification des tokens JWT")
+                .tag("cache", "hit").register(registry);
+        this.jwtCacheMiss = timer("gateway.jwt.verification", "Durée de vérification des tokens JWT")
+                .tag("cache", "miss").register(registry);
+        this.routeMatching = timer("gateway.route.matching", "Durée de recherche de la route d'une requête")
+                .register(registry);
+    }
+
+    /**
+     * Enregistre la durée d'une vérification de token.
+     *
+     * @param nanos La durée en nanosecondes.
+     * @param cached {@code true} si le token a été trouvé dans le cache.
+     */
+    public void recordJwtVerification(long nanos, boolean cached) {
+        (cached ? jwtCacheHit : jwtCacheMiss).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Enregistre la durée de recherche de la route d'une requête.
+     *
+     * @param nanos La durée en nanosecondes.
+     */
+    public void recordRouteMatching(long nanos) {
+        routeMatching.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Enregistre la durée totale de traitement d'une requête routée.
+     *
+     * @param routeId L'identifiant de la route.
+     * @param status Le code HTTP de la réponse (0 si inconnu).
+     * @param nanos La durée en nanosecondes.
+     */
+    public void recordRequest(String routeId, int status, long nanos) {
+        timer("gateway.route.requests", "Durée de traitement des requêtes par route")
+                .tag("route", routeId)
+                .tag("status", statusClass(status))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Enregistre la durée d'un appel à un service (jusqu'à la réception des en-têtes de la réponse).
+     *
+     * @param routeId L'identifiant de la route.
+     * @param status Le code HTTP de la réponse du service (0 en cas d'erreur).
+     * @param nanos La durée en nanosecondes.
+     */
+    public void recordUpstream(String routeId, int status, long nanos) {
+        timer("gateway.upstream.requests", "Durée des appels aux services par route")
+                .tag("route", routeId)
+                .tag("status", statusClass(status))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Compte un échec d'authentification.
+     *
+     * @param reason La raison de l'échec (missing_token, invalid_token).
+     */
+    public void authFailure(String reason) {
+        Counter.builder("gateway.auth.failures")
+                .description("Requêtes refusées faute de token JWT valide")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Compte une erreur d'appel à un service (connexion refusée, délai dépassé...).
+     *
+     * @param routeId L'identifiant de la route.
+     * @param error L'erreur rencontrée.
+     */
+    public void upstreamError(String routeId, Throwable error) {
+        Counter.builder("gateway.upstream.errors")
+                .description("Appels aux services en erreur")
+                .tag("route", routeId)
+                .tag("exception", error.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Compte une requête refusée par la limitation de débit.
+     *
+     * @param routeId L'identifiant de la route.
+     */
+    public void rateLimited(String routeId) {
+        Counter.builder("gateway.rate-limit.rejected")
+                .description("Requêtes refusées par la limitation de débit")
+                .tag("route", routeId)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Prépare un temporisateur publiant les percentiles de la passerelle.
+     *
+     * @param name Le nom du temporisateur.
+     * @param description La description du temporisateur.
+     * @return Le constructeur du temporisateur.
+     */
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram();
+    }
+
+    /**
+     * Regroupe un code HTTP par classe (2xx, 4xx...) pour limiter le nombre de séries.
+     *
+     * @param status Le code HTTP.
+     * @return La classe du code, ou "none" s'il est inconnu.
+     */
+    private static String statusClass(int status) {
+        return status < 100 ? "none" : (status / 100) + "xx";
+    }
+}
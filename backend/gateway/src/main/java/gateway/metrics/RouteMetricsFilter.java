@@ -0,0 +1,69 @@
+package gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtre global mesurant, pour chaque requête routée, la durée de la recherche de route
+ * et la durée totale de traitement par la passerelle (filtres, appel au service et écriture de la réponse).
+ *
+ * Premier filtre de la chaîne d'une route, il s'exécute juste après la sélection de la route.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Métriques de la passerelle.
+     */
+    private final GatewayMetrics metrics;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param metrics Les métriques de la passerelle.
+     */
+    public RouteMetricsFilter(GatewayMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Mesure la recherche de route et le traitement de la requête.
+     *
+     * @param exchange L'échange de la requête.
+     * @param chain La chaîne des filtres de la route.
+     * @return Mono<Void> qui se termine avec le traitement de la requête.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        Long dispatchStart = exchange.getAttribute(DispatchTimestampWebFilter.DISPATCH_START_ATTRIBUTE);
+        if (dispatchStart != null) {
+            metrics.recordRouteMatching(start - dispatchStart);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "-";
+
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            metrics.recordRequest(routeId, status != null ? status.value() : 0, System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * @return L'ordre du filtre : le premier de la chaîne.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
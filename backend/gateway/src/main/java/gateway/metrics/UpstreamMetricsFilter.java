@@ -0,0 +1,72 @@
+package gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtre global mesurant la durée des appels aux services, juste avant leur envoi par
+ * {@link NettyRoutingFilter} et jusqu'à la réception des en-têtes de la réponse.
+ *
+ * Les réponses servies par la passerelle elle-même (cache, regroupement, refus) n'atteignent
+ * pas ce filtre et ne sont donc pas comptées comme appels aux services.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class UpstreamMetricsFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Métriques de la passerelle.
+     */
+    private final GatewayMetrics metrics;
+
+    /**
+     * Constructeur du filtre.
+     *
+     * @param metrics Les métriques de la passerelle.
+     */
+    public UpstreamMetricsFilter(GatewayMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Mesure l'appel au service.
+     *
+     * @param exchange L'échange de la requête.
+     * @param chain La suite de la chaîne des filtres de la route.
+     * @return Mono<Void> qui se termine à la réception de la réponse du service.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "-";
+
+        return chain.filter(exchange)
+                .doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    metrics.recordUpstream(routeId, status != null ? status.value() : 0, System.nanoTime() - start);
+                })
+                .doOnError(error -> {
+                    metrics.recordUpstream(routeId, 0, System.nanoTime() - start);
+                    metrics.upstreamError(routeId, error);
+                });
+    }
+
+    /**
+     * @return L'ordre du filtre : juste avant l'appel au service.
+     */
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
@@ -0,0 +1,171 @@
+package gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stockage local, sans verrou, des seaux à jetons utilisés par la limitation de débit.
+ *
+ * Chaque seau est réduit à un unique {@link AtomicLong} contenant l'instant d'arrivée théorique
+ * de la prochaine requête (algorithme GCRA, équivalent à un seau à jetons) : la prise d'un jeton
+ * se fait par une simple boucle de CAS, sans verrou ni horloge de remplissage.
+ *
+ * Les seaux sont répartis sur plusieurs segments indépendants ; chaque segment est borné et
+ * purge ses seaux inactifs (pleins) lorsqu'il dépasse sa taille maximale.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class TokenBucketStore {
+
+    /**
+     * Nombre de segments (puissance de 2).
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * Segments de seaux, indexés par l'empreinte de la clé.
+     */
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+
+    /**
+     * Nombre maximal de seaux par segment.
+     */
+    private final int maxKeysPerStripe;
+
+    /**
+     * Constructeur du stockage.
+     *
+     * @param maxKeys Le nombre maximal de seaux conservés, tous segments confondus.
+     */
+    public TokenBucketStore(@Value("${gateway.rate-limit.max-keys:100000}") int maxKeys) {
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Tente de prendre un jeton dans le seau d'une clé.
+     *
+     * @param key La clé du seau (route et utilisateur ou adresse IP).
+     * @param burstCapacity Le nombre maximal de jetons du seau.
+     * @param replenishRate Le nombre de jetons ajoutés par seconde.
+     * @return Le résultat de la tentative.
+     */
+    public Result tryConsume(String key, int burstCapacity, double replenishRate) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / replenishRate);
+        long tolerance = interval * burstCapacity;
+        AtomicLong bucket = bucket(key);
+
+        while (true) {
+            long now = System.nanoTime();
+            long theoreticalArrival = bucket.get();
+            long next = Math.max(theoreticalArrival, now) + interval;
+            long debt = next - now;
+            if (debt > tolerance) {
+                return new Result(false, 0, debt - tolerance);
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                return new Result(true, (tolerance - debt) / interval, 0);
+            }
+        }
+    }
+
+    /**
+     * Récupère (ou crée) le seau d'une clé.
+     *
+     * @param key La clé du seau.
+     * @return Le seau de la clé.
+     */
+    private AtomicLong bucket(String key) {
+        int hash = key.hashCode();
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            purge(stripe);
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    /**
+     * Libère de la place dans un segment : les seaux redevenus pleins sont retirés en premier
+     * (les retirer ne change rien pour leur clé), puis des seaux arbitraires si nécessaire.
+     *
+     * @param stripe Le segment à purger.
+     */
+    private void purge(ConcurrentHashMap<String, AtomicLong> stripe) {
+        long now = System.nanoTime();
+        stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        Iterator<String> keys = stripe.keySet().iterator();
+        while (stripe.size() >= maxKeysPerStripe && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Résultat d'une tentative de prise de jeton.
+     */
+    public static final class Result {
+
+        /**
+         * Indique si la requête est acceptée.
+         */
+        private final boolean allowed;
+
+        /**
+         * Nombre de jetons restant dans le seau.
+         */
+        private final long remaining;
+
+        /**
+         * Délai avant qu'un jeton soit disponible, en nanosecondes.
+         */
+        private final long retryAfterNanos;
+
+        /**
+         * Constructeur d'un résultat.
+         *
+         * @param allowed Indique si la requête est acceptée.
+         * @param remaining Le nombre de jetons restant.
+         * @param retryAfterNanos Le délai avant qu'un jeton soit disponible, en nanosecondes.
+         */
+        Result(boolean allowed, long remaining, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        /**
+         * @return {@code true} si la requête est acceptée.
+         */
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        /**
+         * @return Le nombre de jetons restant dans le seau.
+         */
+        public long getRemaining() {
+            return remaining;
+        }
+
+        /**
+         * @return Le délai avant qu'un jeton soit disponible, en secondes (arrondi au supérieur).
+         */
+        public long getRetryAfterSeconds() {
+            return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
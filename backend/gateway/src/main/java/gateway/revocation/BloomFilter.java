@@ -0,0 +1,101 @@
+package gateway.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom sur des chaînes de caractères, sûr en accès concurrent.
+ *
+ * Un filtre de Bloom répond "peut-être présent" ou "certainement absent" en temps constant,
+ * sans allocation : il sert à écarter immédiatement les tokens non révoqués, qui sont l'immense
+ * majorité, avant toute recherche exacte.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+final class BloomFilter {
+
+    /**
+     * Bits du filtre, par mots de 64 bits.
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * Nombre de bits du filtre.
+     */
+    private final long bitCount;
+
+    /**
+     * Nombre de fonctions de hachage.
+     */
+    private final int hashCount;
+
+    /**
+     * Construit un filtre dimensionné pour un nombre d'éléments et un taux de faux positifs.
+     *
+     * @param expectedEntries Le nombre d'éléments attendus.
+     * @param falsePositiveRate Le taux de faux positifs visé, entre 0 et 1.
+     */
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    /**
+     * Ajoute un élément au filtre.
+     *
+     * @param value L'élément à ajouter.
+     */
+    void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Indique si un élément a pu être ajouté au filtre.
+     *
+     * @param value L'élément recherché.
+     * @return {@code false} si l'élément n'a certainement pas été ajouté.
+     */
+    boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hachage 64 bits d'une chaîne (mélange inspiré de MurmurHash3).
+     *
+     * @param value La chaîne à hacher.
+     * @param seed La graine, pour obtenir des hachages indépendants.
+     * @return Le hachage de la chaîne.
+     */
+    private static long hash(String value, long seed) {
+        long h = seed ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+        }
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
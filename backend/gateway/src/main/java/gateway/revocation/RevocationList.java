@@ -0,0 +1,269 @@
+package gateway.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liste des tokens révoqués (déconnexions), tenue en mémoire par la passerelle.
+ *
+ * La liste est alimentée par le service d'authentification : à intervalle régulier, la passerelle
+ * récupère les révocations postérieures à sa dernière lecture, ordonnées par instant de révocation.
+ * Une révocation peut devenir visible après une révocation plus récente (transactions concurrentes,
+ * horloges de plusieurs instances) : chaque lecture repart donc d'une fenêtre de recouvrement avant
+ * le dernier instant lu. Les révocations relues sont dédoublonnées par leur identifiant ("jti").
+ *
+ * La vérification d'un token se fait en deux temps :
+ * - un filtre de Bloom écarte en temps constant les tokens non révoqués, soit presque toutes les requêtes ;
+ * - en cas de réponse positive du filtre, l'ensemble exact des révocations tranche (faux positifs).
+ *
+ * Si le service d'authentification est injoignable, la dernière liste connue reste appliquée.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@Component
+public class RevocationList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevocationList.class);
+
+    /**
+     * Nombre maximal de révocations renvoyées par le service d'authentification à chaque lecture.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Taux de faux positifs visé pour le filtre de Bloom.
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final ParameterizedTypeReference<Map<String, Object>> PAGE_TYPE = new ParameterizedTypeReference<>() {};
+
+    /**
+     * Révocations connues : identifiant du token et instant d'expiration (en millisecondes).
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * Filtre de Bloom des révocations, reconstruit lorsque des révocations expirent.
+     */
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * Capacité pour laquelle le filtre de Bloom courant est dimensionné.
+     */
+    private volatile int capacity;
+
+    /**
+     * Instant de révocation de la dernière révocation lue.
+     */
+    private volatile Instant lastSeen = Instant.EPOCH;
+
+    private final WebClient webClient;
+    private final Duration refreshInterval;
+
+    /**
+     * Fenêtre relue à chaque lecture : elle doit couvrir la durée d'une transaction de révocation
+     * et l'écart d'horloge entre les instances du service d'authentification.
+     */
+    private final Duration overlap;
+
+    /**
+     * Rafraîchissement périodique en cours.
+     */
+    private Disposable refreshing;
+
+    /**
+     * Constructeur de la liste des révocations.
+     *
+     * @param webClientBuilder Le constructeur de clients HTTP réactifs.
+     * @param authUri L'adresse du service d'authentification.
+     * @param refreshInterval L'intervalle de rafraîchissement de la liste.
+     * @param overlap La fenêtre relue avant la dernière révocation lue.
+     * @param expectedEntries Le nombre de révocations simultanées attendu, pour dimensionner le filtre.
+     */
+    public RevocationList(WebClient.Builder webClientBuilder,
+                          @Value("${gateway.services.auth-uri:http://auth-service:8081}") String authUri,
+                          @Value("${gateway.revocation.refresh-interval:5s}") Duration refreshInterval,
+                          @Value("${gateway.revocation.overlap:30s}") Duration overlap,
+                          @Value("${gateway.revocation.expected-entries:100000}") int expectedEntries) {
+        this.webClient = webClientBuilder.baseUrl(authUri).build();
+        this.refreshInterval = refreshInterval;
+        this.overlap = overlap;
+        this.capacity = expectedEntries;
+        this.bloomFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Indique si un token a été révoqué.
+     *
+     * @param jti L'identifiant du token (claim "jti").
+     * @return {@code true} si le token a été révoqué ; {@code false} s'il ne l'a pas été ou n'a pas d'identifiant.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Démarre le rafraîchissement périodique une fois l'application démarrée.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refreshing = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(error -> {
+                            LOGGER.warn("Unable to refresh revoked tokens: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Arrête le rafraîchissement à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void stop() {
+        if (refreshing != null) {
+            refreshing.dispose();
+        }
+    }
+
+    /**
+     * Lit les nouvelles révocations (page par page, à partir de la fenêtre de recouvrement)
+     * puis retire celles dont le token a expiré.
+     *
+     * @return Mono<Void> qui se termine une fois la liste à jour.
+     */
+    private Mono<Void> refresh() {
+        Instant from = lastSeen.equals(Instant.EPOCH) ? Instant.EPOCH : lastSeen.minus(overlap);
+        return fetchPage(new Cursor(from, 0L, PAGE_SIZE))
+                .expand(next -> next.count >= PAGE_SIZE ? fetchPage(next) : Mono.empty())
+                .then(Mono.fromRunnable(this::purgeExpired));
+    }
+
+    /**
+     * Lit une page de révocations postérieures à un curseur.
+     *
+     * @param cursor Le curseur de la page précédente.
+     * @return Le curseur de la page suivante, avec le nombre de révocations lues.
+     */
+    @SuppressWarnings("unchecked")
+    private Mono<Cursor> fetchPage(Cursor cursor) {
+        return webClient.get()
+                .uri(uri -> uri.path("/api/auth/revocations")
+                        .queryParam("since", cursor.since.toString())
+                        .queryParam("afterId", cursor.afterId)
+                        .build())
+                .retrieve()
+                .bodyToMono(PAGE_TYPE)
+                .map(page -> {
+                    List<Map<String, Object>> entries = (List<Map<String, Object>>) page.getOrDefault("revoked", List.of());
+                    for (Map<String, Object> entry : entries) {
+                        add((String) entry.get("jti"), ((Number) entry.get("expiresAt")).longValue());
+                    }
+                    Cursor next = new Cursor(Instant.parse((String) page.get("since")),
+                            ((Number) page.get("afterId")).longValue(), entries.size());
+                    if (next.since.isAfter(lastSeen)) {
+                        lastSeen = next.since;
+                    }
+                    return next;
+                });
+    }
+
+    /**
+     * Ajoute une révocation : d'abord à l'ensemble exact, puis au filtre de Bloom, pour qu'un
+     * lecteur concurrent ne voie jamais le filtre sans l'entrée exacte.
+     *
+     * @param jti L'identifiant du token révoqué.
+     * @param expiresAtMillis L'instant d'expiration du token.
+     */
+    private void add(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        // Les révocations de la fenêtre de recouvrement sont relues à chaque lecture
+        if (revoked.putIfAbsent(jti, expiresAtMillis) != null) {
+            return;
+        }
+        bloomFilter.put(jti);
+        if (revoked.size() > capacity) {
+            rebuild(capacity * 2);
+        }
+    }
+
+    /**
+     * Retire les révocations des tokens expirés et reconstruit le filtre de Bloom si nécessaire
+     * (un filtre de Bloom ne permet pas de retirer un élément).
+     */
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            rebuild(capacity);
+        }
+    }
+
+    /**
+     * Reconstruit le filtre de Bloom à partir de l'ensemble exact, puis le publie.
+     *
+     * @param newCapacity La capacité du nouveau filtre.
+     */
+    private void rebuild(int newCapacity) {
+        BloomFilter rebuilt = new BloomFilter(newCapacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        capacity = newCapacity;
+        bloomFilter = rebuilt;
+    }
+
+    /**
+     * @return Le nombre de révocations connues.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Position de lecture dans les révocations du service d'authentification.
+     */
+    private static final class Cursor {
+
+        /**
+         * Instant de révocation de la dernière révocation lue.
+         */
+        private final Instant since;
+
+        /**
+         * Identifiant de la dernière révocation lue, pour départager les révocations du même instant.
+         */
+        private final long afterId;
+
+        /**
+         * Nombre de révocations lues dans la page.
+         */
+        private final int count;
+
+        private Cursor(Instant since, long afterId, int count) {
+            this.since = since;
+            this.afterId = afterId;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package gateway.aggregation;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de l'agrégation des données d'un tableau de projet.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class BoardAggregatorTest {
+
+    @Test
+    void taskPagesAreFollowedAndMerged() {
+        List<String> taskQueries = new CopyOnWriteArrayList<>();
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            String body = "{}";
+            if (request.url().getPath().equals("/api/tasks/project/7")) {
+                taskQueries.add(request.url().getRawQuery());
+                body = request.url().getRawQuery().contains("cursor=")
+                        ? "{\"items\":[{\"id\":3}]}"
+                        : "{\"items\":[{\"id\":1},{\"id\":2}],\"next\":\"eyJ+aWQiOjJ9=\"}";
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        BoardAggregator aggregator = new BoardAggregator(webClient,
+                new ReactiveResilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults()),
+                Duration.ofSeconds(3), 2, 2, "http://auth", "http://task", "http://project");
+
+        BoardPart tasks = aggregator.parts(7L, "Bearer token", "alice")
+                .filter(part -> part.getPart().equals(BoardAggregator.TASKS))
+                .blockFirst();
+
+        assertThat(tasks.getStatus()).isEqualTo(200);
+        assertThat(tasks.getData().isArray()).isTrue();
+        assertThat(tasks.getData()).extracting(task -> task.get("id").asInt()).containsExactly(1, 2, 3);
+        assertThat(taskQueries).containsExactly("limit=2", "limit=2&cursor=eyJ%2BaWQiOjJ9%3D");
+    }
+
+    @Test
+    void userPagesAreFollowedAndMerged() {
+        List<String> userQueries = new CopyOnWriteArrayList<>();
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            String body = "{}";
+            if (request.url().getPath().equals("/api/auth/users")) {
+                userQueries.add(request.url().getRawQuery());
+                body = request.url().getRawQuery().contains("after=")
+                        ? "{\"users\":[{\"id\":3,\"username\":\"carol\"}]}"
+                        : "{\"users\":[{\"id\":1,\"username\":\"alice\"},{\"id\":2,\"username\":\"bob\"}],\"nextCursor\":2}";
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        BoardAggregator aggregator = new BoardAggregator(webClient,
+                new ReactiveResilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults()),
+                Duration.ofSeconds(3), 2, 2, "http://auth", "http://task", "http://project");
+
+        BoardPart users = aggregator.parts(7L, "Bearer token", "alice")
+                .filter(part -> part.getPart().equals(BoardAggregator.USERS))
+                .blockFirst();
+
+        assertThat(users.getStatus()).isEqualTo(200);
+        assertThat(users.getData()).extracting(user -> user.get("username").asText()).containsExactly("alice", "bob", "carol");
+        assertThat(userQueries).containsExactly("limit=2", "limit=2&after=2");
+    }
+}
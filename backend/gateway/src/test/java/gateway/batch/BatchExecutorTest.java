@@ -0,0 +1,31 @@
+package gateway.batch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la liste des chemins exclus des lots.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class BatchExecutorTest {
+
+    @Test
+    void sessionAndAdminRoutesAreForbidden() {
+        assertThat(BatchExecutor.isForbidden("/api/auth/login")).isTrue();
+        assertThat(BatchExecutor.isForbidden("/api/auth/refresh")).isTrue();
+        assertThat(BatchExecutor.isForbidden("/api/auth/logout/")).isTrue();
+        assertThat(BatchExecutor.isForbidden("/api/auth/admin")).isTrue();
+        assertThat(BatchExecutor.isForbidden("/api/auth/admin/users/import")).isTrue();
+        assertThat(BatchExecutor.isForbidden("/api/tasks/events")).isTrue();
+    }
+
+    @Test
+    void regularRoutesAreAllowed() {
+        assertThat(BatchExecutor.isForbidden("/api/tasks/project/1")).isFalse();
+        assertThat(BatchExecutor.isForbidden("/api/auth/users/batch")).isFalse();
+        assertThat(BatchExecutor.isForbidden("/api/auth/administrators")).isFalse();
+    }
+}
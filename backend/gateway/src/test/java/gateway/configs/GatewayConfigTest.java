@@ -0,0 +1,113 @@
+package gateway.configs;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests des routes de la passerelle : les flux d'événements (SSE) sont servis par leurs propres routes,
+ * sans le délai du disjoncteur des routes générales de leur service.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+@SpringBootTest(properties = "gateway.resilience.timeout=200ms")
+class GatewayConfigTest {
+
+    @Autowired
+    private RouteLocator routeLocator;
+
+    @Test
+    void eventStreamsUseTheirOwnRoutes() {
+        assertThat(route("/api/tasks/events").getId()).isEqualTo("task_event_route");
+        assertThat(route("/api/projects/events").getId()).isEqualTo("project_event_route");
+        assertThat(route("/api/messages/stream/42").getId()).isEqualTo("message_event_route");
+        assertThat(route("/api/tasks/project/1").getId()).isEqualTo("task_route");
+        assertThat(route("/api/messages/conversation/42").getId()).isEqualTo("message_route");
+    }
+
+    @Test
+    void eventStreamOutlivesTheCircuitBreakerTimeout() {
+        MockServerWebExchange exchange = exchange("/api/tasks/events");
+        Route route = route(exchange);
+        AtomicInteger events = new AtomicInteger();
+
+        // Le service émet un événement toutes les 100 ms pendant 1 s, bien au-delà du délai de 200 ms
+        Instant start = Instant.now();
+        run(route, exchange, upstream -> upstream.getResponse().writeWith(Flux.interval(Duration.ofMillis(100))
+                .take(10)
+                .doOnNext(tick -> events.incrementAndGet())
+                .map(tick -> upstream.getResponse().bufferFactory()
+                        .wrap(("data: " + tick + "\n\n").getBytes(StandardCharsets.UTF_8))))).block(Duration.ofSeconds(5));
+
+        assertThat(events).hasValue(10);
+        assertThat(Duration.between(start, Instant.now())).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(exchange.getResponse().getBodyAsString().block()).endsWith("data: 9\n\n");
+    }
+
+    private Route route(String path) {
+        return route(exchange(path));
+    }
+
+    private Route route(ServerWebExchange exchange) {
+        return routeLocator.getRoutes()
+                .concatMap(route -> Mono.from(route.getPredicate().apply(exchange))
+                        .filter(Boolean::booleanValue)
+                        .map(matched -> route))
+                .next()
+                .block();
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        String token = JWT.create()
+                .withSubject("alice")
+                .withJWTId(UUID.randomUUID().toString())
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("mykey"));
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    /**
+     * Applique les filtres d'une route, dans leur ordre, puis le service simulé.
+     */
+    private static Mono<Void> run(Route route, ServerWebExchange exchange, GatewayFilterChain upstream) {
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        List<GatewayFilter> filters = new ArrayList<>(route.getFilters());
+        AnnotationAwareOrderComparator.sort(filters);
+        return chain(filters, 0, upstream).filter(exchange);
+    }
+
+    private static GatewayFilterChain chain(List<GatewayFilter> filters, int index, GatewayFilterChain upstream) {
+        if (index == filters.size()) {
+            return upstream;
+        }
+        return exchange -> filters.get(index).filter(exchange, chain(filters, index + 1, upstream));
+    }
+}
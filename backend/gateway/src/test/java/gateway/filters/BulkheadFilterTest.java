@@ -0,0 +1,59 @@
+package gateway.filters;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gateway.filters.ResponseCacheFilterTest.AXIOS_ACCEPT;
+import static gateway.filters.ResponseCacheFilterTest.exchange;
+import static gateway.filters.ResponseCacheFilterTest.get;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la limite de requêtes simultanées par service.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class BulkheadFilterTest {
+
+    @Test
+    void browserRequestsAreLimitedButEventStreamsAreExempt() {
+        GatewayFilter filter = new BulkheadFilter(BulkheadRegistry.ofDefaults())
+                .apply(new BulkheadFilter.Config("task-service", 1));
+        Sinks.Empty<Void> release = Sinks.empty();
+        AtomicInteger upstream = new AtomicInteger();
+        GatewayFilterChain heldChain = exchange -> {
+            upstream.incrementAndGet();
+            return release.asMono();
+        };
+
+        // Une première requête occupe la seule place du compartiment
+        Disposable held = filter.filter(exchange(get("/api/tasks/project/1", AXIOS_ACCEPT)), heldChain).subscribe();
+
+        MockServerWebExchange rejected = exchange(get("/api/tasks/project/2", AXIOS_ACCEPT));
+        filter.filter(rejected, heldChain).block();
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("1");
+
+        MockServerWebExchange stream = exchange(get("/api/tasks/events", "text/event-stream"));
+        filter.filter(stream, exchange -> Mono.empty()).block();
+        assertThat(stream.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // La place est rendue à la fin de la requête
+        release.tryEmitEmpty();
+        held.dispose();
+        MockServerWebExchange accepted = exchange(get("/api/tasks/project/3", AXIOS_ACCEPT));
+        filter.filter(accepted, exchange -> Mono.empty()).block();
+        assertThat(accepted.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(upstream).hasValue(1);
+    }
+}
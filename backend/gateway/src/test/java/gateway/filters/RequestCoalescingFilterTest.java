@@ -0,0 +1,63 @@
+package gateway.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gateway.filters.ResponseCacheFilterTest.AXIOS_ACCEPT;
+import static gateway.filters.ResponseCacheFilterTest.exchange;
+import static gateway.filters.ResponseCacheFilterTest.get;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du regroupement des requêtes GET identiques simultanées.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class RequestCoalescingFilterTest {
+
+    @Test
+    void concurrentBrowserRequestsAreCoalesced() {
+        GatewayFilter filter = new RequestCoalescingFilter(1 << 20).apply(new RequestCoalescingFilter.Config());
+        AtomicInteger upstream = new AtomicInteger();
+        GatewayFilterChain slowChain = exchange -> {
+            upstream.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200)).then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return exchange.getResponse().writeWith(Mono.just(
+                        exchange.getResponse().bufferFactory().wrap("[]".getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+
+        MockServerWebExchange first = exchange(get("/api/tasks/project/1", AXIOS_ACCEPT));
+        MockServerWebExchange second = exchange(get("/api/tasks/project/1", AXIOS_ACCEPT));
+        Mono.when(filter.filter(first, slowChain), filter.filter(second, slowChain)).block();
+
+        assertThat(upstream).hasValue(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Gateway-Source")).isEqualTo("coalesced");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[]");
+    }
+
+    @Test
+    void eventStreamsAreNotCoalesced() {
+        GatewayFilter filter = new RequestCoalescingFilter(1 << 20).apply(new RequestCoalescingFilter.Config());
+        AtomicInteger upstream = new AtomicInteger();
+        GatewayFilterChain slowChain = exchange -> {
+            upstream.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).then();
+        };
+
+        Mono.when(filter.filter(exchange(get("/api/tasks", "text/event-stream")), slowChain),
+                filter.filter(exchange(get("/api/tasks", "text/event-stream")), slowChain)).block();
+
+        assertThat(upstream).hasValue(2);
+    }
+}
@@ -0,0 +1,97 @@
+package gateway.filters;
+
+import gateway.cache.ResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du cache des réponses : détection des flux d'événements et service depuis le cache
+ * des requêtes envoyées par le frontend.
+ *
+ * @author Jules Courné
+ * @version 1.0
+ */
+class ResponseCacheFilterTest {
+
+    /**
+     * En-tête Accept envoyé par défaut par axios.
+     */
+    static final String AXIOS_ACCEPT = "application/json, text/plain, */*";
+
+    @Test
+    void wildcardAcceptIsNotAnEventStream() {
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/tasks/project/1", "*/*").build())).isFalse();
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/tasks/project/1", AXIOS_ACCEPT).build())).isFalse();
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/tasks/project/1", "text/*").build())).isFalse();
+        assertThat(ResponseCacheFilter.isEventStream(MockServerHttpRequest.get("/api/tasks/project/1").build())).isFalse();
+    }
+
+    @Test
+    void explicitEventStreamAcceptOrStreamPathIsAnEventStream() {
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/events", "text/event-stream").build())).isTrue();
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/tasks", "application/json, text/event-stream;q=0.9").build())).isTrue();
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/tasks/events", "*/*").build())).isTrue();
+        assertThat(ResponseCacheFilter.isEventStream(get("/api/messages/stream/42", "*/*").build())).isTrue();
+    }
+
+    @Test
+    void browserRequestsAreServedFromCache() {
+        GatewayFilter filter = new ResponseCacheFilter(new ResponseCache(100, 1 << 20, 1 << 16))
+                .apply(new ResponseCacheFilter.Config(Duration.ofSeconds(60)));
+        AtomicInteger upstream = new AtomicInteger();
+        GatewayFilterChain chain = upstreamChain(upstream);
+
+        MockServerWebExchange last = null;
+        for (int i = 0; i < 3; i++) {
+            last = exchange(get("/api/tasks/project/1", AXIOS_ACCEPT));
+            filter.filter(last, chain).block();
+        }
+
+        assertThat(upstream).hasValue(1);
+        assertThat(last.getResponse().getHeaders().getFirst("X-Gateway-Source")).isEqualTo("cache");
+        assertThat(last.getResponse().getBodyAsString().block()).isEqualTo("[]");
+    }
+
+    /**
+     * Prépare une requête GET avec un en-tête Accept.
+     */
+    static MockServerHttpRequest.BaseBuilder<?> get(String path, String accept) {
+        return MockServerHttpRequest.get(path).header(HttpHeaders.ACCEPT, accept);
+    }
+
+    /**
+     * Crée l'échange d'une requête routée vers une route de test.
+     */
+    static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("task_route").uri("http://task-service:8082").predicate(e -> true).build());
+        return exchange;
+    }
+
+    /**
+     * Simule le service en aval : compte les appels et répond "[]".
+     */
+    static GatewayFilterChain upstreamChain(AtomicInteger calls) {
+        return exchange -> {
+            calls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Mono.fromSupplier(() ->
+                    exchange.getResponse().bufferFactory().wrap("[]".getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,10 @@
+-- Schéma initial du service des messages, tel que créé jusqu'ici par Hibernate (ddl-auto=update).
+-- IF NOT EXISTS : sur une base existante, la migration ne fait que l'enregistrer dans l'historique.
+
+CREATE TABLE IF NOT EXISTS message_dt (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content         VARCHAR(255),
+    sender_email    VARCHAR(255),
+    allowed_emails  VARCHAR(255)[],
+    conversation_id VARCHAR(255)
+);
@@ -0,0 +1,4 @@
+-- Index de la requête de MessageRepository (findByConversationId) ; id en second pour renvoyer
+-- les messages d'une conversation dans l'ordre d'envoi sans tri supplémentaire.
+
+CREATE INDEX IF NOT EXISTS idx_message_conversation_id ON message_dt (conversation_id, id);
@@ -0,0 +1,109 @@
+package com.example.message.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que chaque requête de {@link MessageRepository} est servie par un index créé par les migrations.
+ * 
+ * La requête SQL réellement générée par Hibernate est capturée, puis préparée et passée à EXPLAIN
+ * avec les parcours séquentiels désactivés : un plan qui contient encore un "Seq Scan" signale
+ * une requête qu'aucun index ne peut servir.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.message.repositories.MessageRepositoryIndexTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class MessageRepositoryIndexTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @Test
+    void findByConversationIdUsesIndex() {
+        assertIndexed(explain(() -> messageRepository.findByConversationId("1-2"), "1-2"));
+    }
+
+    /**
+     * Exécute une requête du repository, puis renvoie le plan de la requête SQL capturée.
+     * 
+     * @param query L'appel au repository.
+     * @param values Les valeurs des paramètres de la requête SQL, dans l'ordre.
+     * @return Le plan d'exécution de la requête.
+     */
+    private String explain(Runnable query, String... values) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        assertThat(SqlCapture.STATEMENTS).isNotEmpty();
+        String sql = SqlCapture.STATEMENTS.get(0);
+
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder prepared = new StringBuilder();
+        int count = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(prepared, "\\$" + (++count));
+        }
+        matcher.appendTail(prepared);
+        assertThat(values).as("parameters of %s", sql).hasSize(count);
+
+        jdbcTemplate.execute("DEALLOCATE ALL");
+        jdbcTemplate.execute("PREPARE explained AS " + prepared);
+        List<String> arguments = new ArrayList<>();
+        for (String value : values) {
+            arguments.add("'" + value.replace("'", "''") + "'");
+        }
+        String execute = count == 0 ? "explained" : "explained(" + String.join(", ", arguments) + ")";
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE " + execute, String.class));
+    }
+
+    private static void assertIndexed(String plan) {
+        assertThat(plan).contains("Index").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Capture les requêtes SQL envoyées par Hibernate.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
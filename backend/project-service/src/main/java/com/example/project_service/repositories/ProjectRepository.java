@@ -2,6 +2,8 @@ package com.example.project_service.repositories;
 
 import com.example.project_service.entities.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,8 +30,12 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     /**
      * Trouver tous les projets dans lesquels un membre spécifique est inclus.
      * 
+     * La jointure explicite permet de partir de l'index sur project_members(members) ; la requête
+     * dérivée ("member of") produisait une sous-requête corrélée évaluée pour chaque projet.
+     * 
      * @param memberEmail l'email ou l'identifiant du membre recherché.
      * @return une liste de projets auxquels appartient le membre spécifié.
      */
-    List<Project> findByMembersContaining(String memberEmail);
+    @Query("select distinct p from Project p join p.members m where m = :member")
+    List<Project> findByMembersContaining(@Param("member") String memberEmail);
 }
@@ -0,0 +1,16 @@
+-- Schéma initial du service des projets, tel que créé jusqu'ici par Hibernate (ddl-auto=update).
+-- IF NOT EXISTS : sur une base existante, la migration ne fait que l'enregistrer dans l'historique.
+
+CREATE TABLE IF NOT EXISTS project_dt (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    owner       VARCHAR(255),
+    start_date  TIMESTAMP(6),
+    end_date    TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS project_members (
+    project_id BIGINT NOT NULL REFERENCES project_dt (id),
+    members    VARCHAR(255)
+);
@@ -0,0 +1,6 @@
+-- Index des requêtes de ProjectRepository (findByOwner, findByMembersContaining)
+-- et du chargement des membres d'un projet (jointure sur project_id).
+
+CREATE INDEX IF NOT EXISTS idx_project_owner ON project_dt (owner);
+CREATE INDEX IF NOT EXISTS idx_project_members_members ON project_members (members);
+CREATE INDEX IF NOT EXISTS idx_project_members_project_id ON project_members (project_id);
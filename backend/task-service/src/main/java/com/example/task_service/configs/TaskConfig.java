@@ -48,6 +48,7 @@ public class TaskConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/tasks/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/tasks/**").permitAll()
                         .requestMatchers("/api/tasks/events").permitAll()
+                        .requestMatchers("/error").permitAll()
                         .anyRequest().authenticated())
                 .build();
     }
@@ -63,7 +64,8 @@ public class TaskConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://10.2.128.84:3000/")); 
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowCredentials(true);
-        configuration.setAllowedHeaders(List.of("Content-Type", "Authorization"));
+        configuration.setAllowedHeaders(List.of("Content-Type", "Authorization", "If-Match"));
+        configuration.setExposedHeaders(List.of("ETag"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
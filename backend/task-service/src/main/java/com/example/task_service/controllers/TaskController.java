@@ -1,16 +1,24 @@
 package com.example.task_service.controllers;
 
 import com.example.task_service.services.TaskService;
+import com.example.task_service.dto.BulkTaskResult;
+import com.example.task_service.dto.TaskOperation;
+import com.example.task_service.dto.TaskPage;
 import com.example.task_service.entities.Task;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 import org.springframework.http.MediaType;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -61,11 +69,20 @@ public class TaskController {
 
     /**
      * Endpoint pour récupérer toutes les tâches.
-     * @return La liste des tâches existantes.
+     * 
+     * La réponse est toujours une page ({@link TaskPage}) avec le curseur de la page suivante :
+     * sans {@code limit}, la taille de page par défaut s'applique.
+     * 
+     * @param limit La taille de page demandée (plafonnée).
+     * @param cursor Le curseur de la page précédente.
+     * @param sort La clé de tri : id (par défaut), dueDate ou createDate.
+     * @return Une page de tâches.
      */
     @GetMapping
-    public List<Task> getAllTasks() {
-        return taskService.getAllTasks();
+    public ResponseEntity<TaskPage> getAllTasks(@RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(getTaskPage(null, null, sort, cursor, limit));
     }
 
     /**
@@ -81,12 +98,45 @@ public class TaskController {
         return ResponseEntity.ok(createdTask);
     }
 
+    /**
+     * Endpoint pour créer, modifier et supprimer des tâches en une seule requête.
+     * 
+     * Les opérations sont appliquées dans une seule transaction (toutes ou aucune) et un unique
+     * événement TASK_BULK, résumant les changements, est diffusé aux clients.
+     * 
+     * @param operations Les opérations à appliquer, dans l'ordre.
+     * @return Les tâches créées et modifiées et les identifiants des tâches supprimées, 400 si une opération
+     * est invalide, 404 si une tâche n'existe pas, 409 si une tâche a été modifiée entre-temps.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResult> bulkTasks(@RequestBody List<TaskOperation> operations) {
+        BulkTaskResult result;
+        try {
+            result = taskService.applyBulk(operations);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task has been modified");
+        }
+        taskSink.tryEmitNext(Map.of("type", "TASK_BULK",
+                "created", result.getCreated().size(),
+                "updated", result.getUpdated().size(),
+                "deleted", result.getDeleted().size(),
+                "projectIds", result.getProjectIds()));
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Endpoint pour mettre à jour une tâche existante.
+     * 
+     * Obsolète : la tâche est retrouvée par sa date de création et la modification écrase celle
+     * d'un autre utilisateur ; préférer {@code PUT /api/tasks/{id}} avec l'en-tête If-Match.
+     * 
      * @param createDate La date de création de la tâche à mettre à jour.
      * @param newTask Les nouvelles informations pour la tâche.
      * @return La tâche mise à jour ou un code de statut HTTP 404 si la tâche n'est pas trouvée.
      */
+    @Deprecated
     @PutMapping("/update")
     public ResponseEntity<Task> updateTask(@RequestParam LocalDateTime createDate, @RequestBody Task newTask) {
         Task existingTask = taskService.getTaskByCreateDate(createDate);
@@ -95,12 +145,7 @@ public class TaskController {
             return ResponseEntity.notFound().build();
         }
 
-        existingTask.setTitle(newTask.getTitle());
-        existingTask.setDescription(newTask.getDescription());
-        existingTask.setDueDate(newTask.getDueDate());
-        existingTask.setStatus(newTask.getStatus());
-
-        Task updatedTask = taskService.updateTask(existingTask);
+        Task updatedTask = taskService.updateTask(existingTask.getId(), null, newTask);
 
         taskSink.tryEmitNext(Map.of("type", "TASK_UPDATED", "task", updatedTask, "createDate", createDate));
 
@@ -115,37 +160,90 @@ public class TaskController {
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         Task task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(etag(task)).body(task);
+    }
+
+    /**
+     * Endpoint pour mettre à jour une tâche par son identifiant.
+     * 
+     * La version modifiée par le client est donnée par l'en-tête If-Match (ETag renvoyé par
+     * {@code GET /api/tasks/{id}}) ou, à défaut, par le champ {@code version} du corps : une tâche
+     * modifiée entre-temps n'est pas écrasée (412 avec If-Match, 409 sinon).
+     * 
+     * @param id L'identifiant de la tâche à mettre à jour.
+     * @param ifMatch L'ETag de la version modifiée par le client ("*" pour ne pas la comparer).
+     * @param changes Les nouvelles informations pour la tâche.
+     * @return La tâche mise à jour avec son nouvel ETag, 404 si la tâche n'existe pas, 409 ou 412 si elle
+     * a été modifiée entre-temps, 428 si aucune version n'est fournie.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Task> updateTaskById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @RequestBody Task changes) {
+        Long expectedVersion = expectedVersion(ifMatch, changes.getVersion());
+        Task updatedTask;
+        try {
+            updatedTask = taskService.updateTask(id, expectedVersion, changes);
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(ifMatch);
+        }
+        taskSink.tryEmitNext(taskEvent("TASK_UPDATED", updatedTask));
+        return ResponseEntity.ok().eTag(etag(updatedTask)).body(updatedTask);
     }
 
     /**
      * Endpoint pour récupérer les tâches associées à un utilisateur via son e-mail.
+     * 
+     * La réponse est toujours une page ({@link TaskPage}) ; sans {@code limit}, la taille de page par défaut s'applique.
+     * 
      * @param userEmail L'e-mail de l'utilisateur pour lequel récupérer les tâches.
-     * @return La liste des tâches associées à cet utilisateur.
+     * @param limit La taille de page demandée (plafonnée).
+     * @param cursor Le curseur de la page précédente.
+     * @param sort La clé de tri : id (par défaut), dueDate ou createDate.
+     * @return Une page des tâches associées à cet utilisateur.
      */
     @GetMapping("/user/{userEmail}")
-    public List<Task> getTaskById(@PathVariable String userEmail) {
-        List<Task> tasks = taskService.getTaskByUserEmail(userEmail);
-        return tasks;
+    public ResponseEntity<TaskPage> getTaskById(@PathVariable String userEmail,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(getTaskPage(userEmail, null, sort, cursor, limit));
     }
 
     /**
      * Endpoint pour supprimer une tâche par son identifiant.
+     * 
+     * La version supprimée par le client est donnée par l'en-tête If-Match : une tâche modifiée
+     * entre-temps n'est pas supprimée.
+     * 
      * @param id L'identifiant de la tâche à supprimer.
-     * @return Un code de statut HTTP 200 si la tâche a été supprimée avec succès.
+     * @param ifMatch L'ETag de la version supprimée par le client ("*" pour ne pas la comparer).
+     * @return Un code de statut HTTP 200 si la tâche a été supprimée avec succès, 404 si elle n'existe pas,
+     * 412 si elle a été modifiée entre-temps, 428 sans en-tête If-Match.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTask(@PathVariable Long id) {
-        taskService.deleteTask(id);
-
+    public ResponseEntity<?> deleteTask(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = expectedVersion(ifMatch, null);
+        Task deletedTask;
+        try {
+            deletedTask = taskService.deleteTask(id, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(ifMatch);
+        }
+        taskSink.tryEmitNext(taskEvent("TASK_DELETED", deletedTask));
         return ResponseEntity.ok().build();
     }
 
     /**
      * Endpoint pour supprimer une tâche par sa date de création.
+     * 
+     * Obsolète : préférer {@code DELETE /api/tasks/{id}} avec l'en-tête If-Match.
+     * 
      * @param createDate La date de création de la tâche à supprimer.
      * @return Un code de statut HTTP 200 si la tâche a été supprimée, ou 404 si la tâche n'a pas été trouvée.
      */
+    @Deprecated
     @DeleteMapping("/delete")
     public ResponseEntity<?> deleteByCreateDate(@RequestParam LocalDateTime createDate) {
         Task task = taskService.getTaskByCreateDate(createDate);
@@ -153,21 +251,133 @@ public class TaskController {
         if (task == null) {
             return ResponseEntity.notFound().build();  
         }
-        Long id = task.getId();
-        taskService.deleteTask(id);
+        taskService.deleteTask(task.getId(), null);
         taskSink.tryEmitNext(Map.of("type", "TASK_DELETED", "createDate", createDate));
         return ResponseEntity.ok().build();
     }
 
     /**
      * Endpoint pour récupérer les tâches associées à un projet via son identifiant.
+     * 
+     * La réponse est toujours une page ({@link TaskPage}) ; sans {@code limit}, la taille de page par défaut s'applique.
+     * 
      * @param projectId L'identifiant du projet pour lequel récupérer les tâches.
-     * @return La liste des tâches associées à ce projet.
+     * @param limit La taille de page demandée (plafonnée).
+     * @param cursor Le curseur de la page précédente.
+     * @param sort La clé de tri : id (par défaut), dueDate ou createDate.
+     * @return Une page des tâches associées à ce projet.
      */
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Task>> getTaskByProjectId(@PathVariable Long projectId) {
-        List<Task> tasks = taskService.getTaskByProjectId(projectId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<TaskPage> getTaskByProjectId(@PathVariable Long projectId,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(getTaskPage(null, projectId, sort, cursor, limit));
+    }
+
+    /**
+     * Endpoint pour récupérer le nombre de tâches de chaque statut d'un projet.
+     * 
+     * Les compteurs sont tenus à jour à chaque écriture : le coût ne dépend pas du nombre de tâches du projet.
+     * 
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches par statut (par exemple {"To Do": 3, "Done": 5}).
+     */
+    @GetMapping("/project/{projectId}/stats")
+    public ResponseEntity<Map<String, Long>> getTaskStats(@PathVariable Long projectId) {
+        return ResponseEntity.ok(taskService.getTaskStats(projectId));
+    }
+
+    /**
+     * Construit l'ETag d'une tâche à partir de sa version.
+     * 
+     * @param task La tâche.
+     * @return L'ETag de la tâche.
+     */
+    private static String etag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    /**
+     * Détermine la version attendue d'une tâche à partir de l'en-tête If-Match ou du corps de la requête.
+     * 
+     * @param ifMatch L'en-tête If-Match, ou {@code null}.
+     * @param bodyVersion La version indiquée dans le corps de la requête, ou {@code null}.
+     * @return La version attendue, ou {@code null} pour "If-Match: *".
+     * @throws ResponseStatusException 428 si aucune version n'est fournie, 412 si l'ETag n'est pas
+     * celui d'une tâche.
+     */
+    private static Long expectedVersion(String ifMatch, Long bodyVersion) {
+        if (ifMatch == null) {
+            if (bodyVersion == null) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match header or version required");
+            }
+            return bodyVersion;
+        }
+        String etag = ifMatch.trim();
+        if (etag.equals("*")) {
+            return null;
+        }
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.valueOf(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            // Un ETag qui n'a pas été produit par ce service ne peut correspondre à aucune version
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+        }
+    }
+
+    /**
+     * Construit l'erreur renvoyée lorsqu'une tâche a été modifiée depuis la version du client.
+     * 
+     * @param ifMatch L'en-tête If-Match de la requête, ou {@code null}.
+     * @return 412 si la version venait de l'en-tête If-Match, 409 si elle venait du corps de la requête.
+     */
+    private static ResponseStatusException versionConflict(String ifMatch) {
+        return new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT,
+                "Task has been modified");
+    }
+
+    /**
+     * Construit l'événement diffusé aux clients après une modification par identifiant.
+     * 
+     * La date de création est jointe (si elle existe) pour les clients qui identifient encore
+     * les tâches par ce champ.
+     * 
+     * @param type Le type de l'événement.
+     * @param task La tâche concernée.
+     * @return L'événement.
+     */
+    private static Map<String, Object> taskEvent(String type, Task task) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("id", task.getId());
+        event.put("task", task);
+        if (task.getCreateDate() != null) {
+            event.put("createDate", task.getCreateDate());
+        }
+        return event;
+    }
+
+    /**
+     * Récupère une page de tâches et traduit les paramètres invalides en erreur 400.
+     * 
+     * @param userMail L'email de l'utilisateur des tâches, ou {@code null}.
+     * @param projectId L'identifiant du projet des tâches, ou {@code null}.
+     * @param sort La clé de tri.
+     * @param cursor Le curseur de la page précédente.
+     * @param limit La taille de page demandée.
+     * @return La page de tâches.
+     * @throws ResponseStatusException 400 si la clé de tri ou le curseur est invalide.
+     */
+    private TaskPage getTaskPage(String userMail, Long projectId, String sort, String cursor, Integer limit) {
+        try {
+            return taskService.getTaskPage(userMail, projectId, sort, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
 }
@@ -0,0 +1,79 @@
+package com.example.task_service.dto;
+
+import com.example.task_service.entities.Task;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Résultat d'une requête de modification en masse des tâches : les tâches créées et modifiées
+ * (avec leur identifiant et leur nouvelle version) et les identifiants des tâches supprimées.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+public class BulkTaskResult {
+
+    /**
+     * Les tâches créées, dans l'ordre des opérations.
+     */
+    private final List<Task> created;
+
+    /**
+     * Les tâches modifiées, dans l'ordre des opérations.
+     */
+    private final List<Task> updated;
+
+    /**
+     * Les identifiants des tâches supprimées, dans l'ordre des opérations.
+     */
+    private final List<Long> deleted;
+
+    /**
+     * Les projets concernés par au moins une opération.
+     */
+    private final Set<Long> projectIds;
+
+    /**
+     * Constructeur du résultat.
+     * 
+     * @param created Les tâches créées.
+     * @param updated Les tâches modifiées.
+     * @param deleted Les identifiants des tâches supprimées.
+     * @param projectIds Les projets concernés.
+     */
+    public BulkTaskResult(List<Task> created, List<Task> updated, List<Long> deleted, Set<Long> projectIds) {
+        this.created = created;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.projectIds = projectIds;
+    }
+
+    /**
+     * @return Les tâches créées, dans l'ordre des opérations.
+     */
+    public List<Task> getCreated() {
+        return created;
+    }
+
+    /**
+     * @return Les tâches modifiées, dans l'ordre des opérations.
+     */
+    public List<Task> getUpdated() {
+        return updated;
+    }
+
+    /**
+     * @return Les identifiants des tâches supprimées, dans l'ordre des opérations.
+     */
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return Les projets concernés par au moins une opération.
+     */
+    public Set<Long> getProjectIds() {
+        return projectIds;
+    }
+}
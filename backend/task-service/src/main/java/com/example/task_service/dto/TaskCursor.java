@@ -0,0 +1,121 @@
+package com.example.task_service.dto;
+
+import com.example.task_service.entities.Task;
+import com.example.task_service.repository.TaskSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination des tâches : la position de la dernière tâche d'une page dans l'ordre
+ * de tri (valeur de la clé de tri et identifiant).
+ * 
+ * Le curseur est transmis au client sous forme opaque (Base64) ; la page suivante commence
+ * juste après cette position, sans décalage (OFFSET) à parcourir en base.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+public class TaskCursor {
+
+    /**
+     * Marque d'une valeur de tri absente (tâche sans date).
+     */
+    private static final String NULL_VALUE = "~";
+
+    /**
+     * La clé de tri de la pagination.
+     */
+    private final TaskSort sort;
+
+    /**
+     * La valeur de la clé de tri de la dernière tâche lue ({@code null} pour le tri par identifiant
+     * ou une tâche sans date).
+     */
+    private final LocalDateTime value;
+
+    /**
+     * L'identifiant de la dernière tâche lue.
+     */
+    private final long id;
+
+    /**
+     * Constructeur d'un curseur.
+     * 
+     * @param sort La clé de tri.
+     * @param value La valeur de la clé de tri de la dernière tâche lue.
+     * @param id L'identifiant de la dernière tâche lue.
+     */
+    public TaskCursor(TaskSort sort, LocalDateTime value, long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Construit le curseur positionné sur une tâche.
+     * 
+     * @param sort La clé de tri.
+     * @param task La dernière tâche lue.
+     * @return Le curseur.
+     */
+    public static TaskCursor after(TaskSort sort, Task task) {
+        LocalDateTime value = switch (sort) {
+            case ID -> null;
+            case DUE_DATE -> task.getDueDate();
+            case CREATE_DATE -> task.getCreateDate();
+        };
+        return new TaskCursor(sort, value, task.getId());
+    }
+
+    /**
+     * @return Le curseur sous forme opaque, à transmettre au client.
+     */
+    public String encode() {
+        String raw = sort.name() + "|" + (value == null ? NULL_VALUE : value.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Relit un curseur transmis par le client.
+     * 
+     * @param encoded Le curseur sous forme opaque.
+     * @return Le curseur.
+     * @throws IllegalArgumentException Si le curseur est mal formé.
+     */
+    public static TaskCursor decode(String encoded) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            TaskSort sort = TaskSort.valueOf(parts[0]);
+            LocalDateTime value = NULL_VALUE.equals(parts[1]) ? null : LocalDateTime.parse(parts[1]);
+            return new TaskCursor(sort, value, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * @return La clé de tri du curseur.
+     */
+    public TaskSort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return La valeur de la clé de tri de la dernière tâche lue.
+     */
+    public LocalDateTime getValue() {
+        return value;
+    }
+
+    /**
+     * @return L'identifiant de la dernière tâche lue.
+     */
+    public long getId() {
+        return id;
+    }
+}
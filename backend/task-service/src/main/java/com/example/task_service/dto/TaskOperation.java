@@ -0,0 +1,103 @@
+package com.example.task_service.dto;
+
+import com.example.task_service.entities.Task;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Opération d'une requête de modification en masse des tâches ({@code POST /api/tasks/bulk}).
+ * 
+ * - create : {@code task} est la tâche à créer ;
+ * - update : la tâche {@code id} en version {@code version} reçoit le titre, la description,
+ *   l'échéance et le statut de {@code task} ;
+ * - delete : la tâche {@code id} en version {@code version} est supprimée.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+public class TaskOperation {
+
+    /**
+     * Types d'opérations.
+     */
+    public enum Type {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+
+    /**
+     * Le type de l'opération.
+     */
+    private Type op;
+
+    /**
+     * L'identifiant de la tâche modifiée ou supprimée.
+     */
+    private Long id;
+
+    /**
+     * La version de la tâche connue du client (modification et suppression).
+     */
+    private Long version;
+
+    /**
+     * La tâche à créer, ou les nouvelles informations de la tâche modifiée.
+     */
+    private Task task;
+
+    /**
+     * @return Le type de l'opération.
+     */
+    public Type getOp() {
+        return op;
+    }
+
+    /**
+     * @param op Le type de l'opération.
+     */
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    /**
+     * @return L'identifiant de la tâche modifiée ou supprimée.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @param id L'identifiant de la tâche modifiée ou supprimée.
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return La version de la tâche connue du client.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param version La version de la tâche connue du client.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return La tâche à créer, ou les nouvelles informations de la tâche modifiée.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * @param task La tâche à créer, ou les nouvelles informations de la tâche modifiée.
+     */
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
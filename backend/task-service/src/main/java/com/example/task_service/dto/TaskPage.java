@@ -0,0 +1,52 @@
+package com.example.task_service.dto;
+
+import com.example.task_service.entities.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Page d'une liste de tâches : les tâches de la page et le curseur de la page suivante
+ * (absent sur la dernière page).
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPage {
+
+    /**
+     * Les tâches de la page.
+     */
+    private final List<Task> items;
+
+    /**
+     * Le curseur de la page suivante, ou {@code null} sur la dernière page.
+     */
+    private final String next;
+
+    /**
+     * Constructeur d'une page.
+     * 
+     * @param items Les tâches de la page.
+     * @param next Le curseur de la page suivante.
+     */
+    public TaskPage(List<Task> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    /**
+     * @return Les tâches de la page.
+     */
+    public List<Task> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Le curseur de la page suivante, ou {@code null} sur la dernière page.
+     */
+    public String getNext() {
+        return next;
+    }
+}
@@ -21,10 +21,12 @@ public class Task {
     /**
      * L'ID unique de la tâche.
      * 
-     * Il s'agit de la clé primaire de l'entité, générée automatiquement par la base de données.
+     * Il s'agit de la clé primaire de l'entité, tirée de la séquence task_dt_seq par blocs de 50 :
+     * les identifiants sont connus avant l'insertion, ce qui permet de regrouper les insertions en lots.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_dt_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -81,6 +83,16 @@ public class Task {
     @Column(name = "project_id")
     private Long projectId;
 
+    /**
+     * La version de la tâche.
+     * 
+     * Ce champ est incrémenté à chaque modification : une modification fondée sur une version
+     * périmée de la tâche est refusée au lieu d'écraser celle d'un autre utilisateur.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Constructeur par défaut.
      * 
@@ -255,6 +267,24 @@ public class Task {
         this.projectId = projectId;
     }
 
+    /**
+     * Récupère la version de la tâche.
+     * 
+     * @return La version de la tâche, ou {@code null} si elle n'a pas encore été enregistrée.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Définit la version de la tâche.
+     * 
+     * @param version La version de la tâche.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Retourne une représentation en chaîne de caractères de l'objet Task.
      * 
@@ -270,6 +300,7 @@ public class Task {
                 ", dueDate=" + dueDate +
                 ", status='" + status + '\'' +
                 ", userMail='" + userMail + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,24 @@
+package com.example.task_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception levée lorsqu'aucune tâche ne correspond à l'identifiant demandé.
+ * Elle est annotée avec `@ResponseStatus(HttpStatus.NOT_FOUND)` pour retourner automatiquement
+ * un code HTTP 404.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class TaskNotFoundException extends RuntimeException {
+
+    /**
+     * Constructeur de l'exception TaskNotFoundException.
+     * @param id L'identifiant de la tâche introuvable.
+     */
+    public TaskNotFoundException(Long id) {
+        super("Task not found: " + id);
+    }
+}
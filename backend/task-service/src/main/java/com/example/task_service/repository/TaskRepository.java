@@ -11,12 +11,13 @@ import java.util.List;
  * Interface de gestion des tâches dans la base de données.
  * 
  * Cette interface étend {@link JpaRepository} et permet d'effectuer des opérations CRUD (Create, Read, Update, Delete)
- * sur les entités `Task`. Elle inclut des méthodes spécifiques pour rechercher des tâches en fonction de différents critères.
+ * sur les entités `Task`. Elle inclut des méthodes spécifiques pour rechercher des tâches en fonction de différents critères,
+ * ainsi que la pagination par curseur ({@link TaskRepositoryCustom}).
  * 
  * @author Courné Jules
  * @version 1.0
  */
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     
     /**
      * Recherche une tâche par sa date de création.
@@ -0,0 +1,27 @@
+package com.example.task_service.repository;
+
+import com.example.task_service.dto.TaskCursor;
+import com.example.task_service.entities.Task;
+
+import java.util.List;
+
+/**
+ * Requêtes de {@link TaskRepository} construites dynamiquement (pagination par curseur).
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Récupère une page de tâches par curseur (keyset), triée selon une clé puis par identifiant.
+     * 
+     * @param userMail L'email de l'utilisateur des tâches, ou {@code null} pour ne pas filtrer.
+     * @param projectId L'identifiant du projet des tâches, ou {@code null} pour ne pas filtrer.
+     * @param sort La clé de tri.
+     * @param after Le curseur de la fin de la page précédente, ou {@code null} pour la première page.
+     * @param limit Le nombre maximal de tâches renvoyées.
+     * @return Les tâches de la page, dans l'ordre de tri.
+     */
+    List<Task> findPage(String userMail, Long projectId, TaskSort sort, TaskCursor after, int limit);
+}
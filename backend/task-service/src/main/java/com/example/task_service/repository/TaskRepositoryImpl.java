@@ -0,0 +1,125 @@
+package com.example.task_service.repository;
+
+import com.example.task_service.dto.TaskCursor;
+import com.example.task_service.entities.Task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémentation des requêtes dynamiques de {@link TaskRepository}.
+ * 
+ * La page suivante est sélectionnée par une condition sur la position de la dernière tâche lue
+ * (clé de tri, identifiant) plutôt que par un décalage : le coût d'une page ne dépend pas de sa position.
+ * 
+ * Pour un tri par date, la liste est lue en deux phases : d'abord les tâches datées, dans l'ordre de
+ * l'index (projet ou utilisateur, date, identifiant), puis les tâches sans date par identifiant. Chaque
+ * phase est une requête servie par cet index ; une page à cheval sur les deux est complétée par la
+ * seconde requête. Le curseur d'une tâche sans date (valeur {@code null}) reprend directement la seconde phase.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    /**
+     * Gestionnaire d'entités JPA.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Task> findPage(String userMail, Long projectId, TaskSort sort, TaskCursor after, int limit) {
+        if (sort == TaskSort.ID) {
+            return findPhase(userMail, projectId, (cb, task) -> after == null
+                    ? null
+                    : cb.gt(task.get("id"), after.getId()), null, limit);
+        }
+
+        List<Task> page = new ArrayList<>(limit);
+        if (after == null || after.getValue() != null) {
+            // Phase des tâches datées
+            page.addAll(findPhase(userMail, projectId, (cb, task) -> {
+                Path<LocalDateTime> key = task.get(sort.getAttribute());
+                if (after == null) {
+                    return cb.isNotNull(key);
+                }
+                // key >= valeur délimite le parcours de l'index ; l'égalité départage par identifiant
+                return cb.and(cb.greaterThanOrEqualTo(key, after.getValue()),
+                        cb.or(cb.greaterThan(key, after.getValue()), cb.gt(task.get("id"), after.getId())));
+            }, sort.getAttribute(), limit));
+            if (page.size() == limit) {
+                return page;
+            }
+        }
+
+        // Phase des tâches sans date, en fin de liste
+        Long afterId = after != null && after.getValue() == null ? after.getId() : null;
+        page.addAll(findPhase(userMail, projectId, (cb, task) -> {
+            Predicate undated = cb.isNull(task.get(sort.getAttribute()));
+            return afterId == null ? undated : cb.and(undated, cb.gt(task.get("id"), afterId));
+        }, null, limit - page.size()));
+        return page;
+    }
+
+    /**
+     * Condition de position d'une phase de lecture.
+     */
+    @FunctionalInterface
+    private interface PhaseCondition {
+
+        /**
+         * @param cb Le constructeur de requêtes.
+         * @param task La racine de la requête.
+         * @return La condition, ou {@code null} s'il n'y en a pas.
+         */
+        Predicate build(HibernateCriteriaBuilder cb, Root<Task> task);
+    }
+
+    /**
+     * Lit une phase de la liste : les tâches du projet ou de l'utilisateur qui vérifient la condition,
+     * triées par clé puis par identifiant.
+     * 
+     * @param userMail L'email de l'utilisateur, ou {@code null}.
+     * @param projectId L'identifiant du projet, ou {@code null}.
+     * @param condition La condition de position de la phase.
+     * @param key L'attribut de tri, ou {@code null} pour un tri par identifiant seul.
+     * @param limit Le nombre maximal de tâches.
+     * @return Les tâches de la phase.
+     */
+    private List<Task> findPhase(String userMail, Long projectId, PhaseCondition condition, String key, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (userMail != null) {
+            where.add(cb.equal(task.get("userMail"), userMail));
+        }
+        if (projectId != null) {
+            where.add(cb.equal(task.get("projectId"), projectId));
+        }
+        Predicate position = condition.build(cb, task);
+        if (position != null) {
+            where.add(position);
+        }
+
+        query.select(task).where(where.toArray(Predicate[]::new));
+        query.orderBy(key != null
+                ? List.of(cb.asc(task.get(key)), cb.asc(task.get("id")))
+                : List.of(cb.asc(task.get("id"))));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
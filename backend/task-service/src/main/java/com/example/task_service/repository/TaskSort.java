@@ -0,0 +1,65 @@
+package com.example.task_service.repository;
+
+/**
+ * Clés de tri des listes de tâches paginées.
+ * 
+ * Chaque clé est complétée par l'identifiant de la tâche, pour un ordre total et stable :
+ * deux tâches de même échéance restent toujours dans le même ordre d'une page à l'autre.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+public enum TaskSort {
+
+    /**
+     * Tri par identifiant (ordre de création en base).
+     */
+    ID("id"),
+
+    /**
+     * Tri par date d'échéance, les tâches sans échéance en dernier.
+     */
+    DUE_DATE("dueDate"),
+
+    /**
+     * Tri par date de création, les tâches sans date de création en dernier.
+     */
+    CREATE_DATE("createDate");
+
+    /**
+     * Nom de l'attribut de l'entité {@code Task} correspondant.
+     */
+    private final String attribute;
+
+    /**
+     * Constructeur d'une clé de tri.
+     * 
+     * @param attribute Le nom de l'attribut de l'entité.
+     */
+    TaskSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * @return Le nom de l'attribut de l'entité {@code Task} correspondant.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Retrouve une clé de tri à partir de son nom dans l'API (id, dueDate, createDate).
+     * 
+     * @param name Le nom de la clé de tri.
+     * @return La clé de tri correspondante.
+     * @throws IllegalArgumentException Si le nom ne correspond à aucune clé.
+     */
+    public static TaskSort fromName(String name) {
+        for (TaskSort sort : values()) {
+            if (sort.attribute.equalsIgnoreCase(name)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort key: " + name);
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.task_service.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.task_service.dto.BulkTaskResult;
+import com.example.task_service.dto.TaskCursor;
+import com.example.task_service.dto.TaskOperation;
+import com.example.task_service.dto.TaskPage;
 import com.example.task_service.repository.TaskRepository;
+import com.example.task_service.repository.TaskSort;
 import com.example.task_service.entities.Task;
+import com.example.task_service.exceptions.TaskNotFoundException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service de gestion des tâches.
@@ -25,14 +41,26 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskStatsService taskStatsService;
+
     /**
-     * Récupère toutes les tâches disponibles dans la base de données.
-     * 
-     * @return Une liste contenant toutes les tâches.
+     * Taille de page utilisée lorsque le client n'en précise pas.
      */
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
-    }
+    @Value("${task.page.default-size:50}")
+    private int defaultPageSize;
+
+    /**
+     * Taille de page maximale acceptée.
+     */
+    @Value("${task.page.max-size:200}")
+    private int maxPageSize;
+
+    /**
+     * Nombre maximal d'opérations d'une modification en masse.
+     */
+    @Value("${task.bulk.max-operations:1000}")
+    private int maxBulkOperations;
 
     /**
      * Crée une nouvelle tâche dans la base de données.
@@ -40,8 +68,11 @@ public class TaskService {
      * @param task L'objet Task à créer.
      * @return La tâche qui a été enregistrée dans la base de données.
      */
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task createdTask = taskRepository.save(task);
+        taskStatsService.created(createdTask);
+        return createdTask;
     }
 
     /**
@@ -49,35 +80,191 @@ public class TaskService {
      * 
      * @param id L'identifiant de la tâche à récupérer.
      * @return La tâche correspondante.
-     * @throws RuntimeException Si aucune tâche n'est trouvée avec l'ID donné.
+     * @throws TaskNotFoundException Si aucune tâche n'est trouvée avec l'ID donné.
      */
     public Task getTaskById(Long id) {
         return taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+                .orElseThrow(() -> new TaskNotFoundException(id));
     }
 
     /**
-     * Récupère toutes les tâches associées à un utilisateur spécifique via son email.
+     * Supprime une tâche en fonction de son identifiant.
      * 
-     * @param userEmail L'email de l'utilisateur pour lequel récupérer les tâches.
-     * @return Une liste de tâches associées à cet utilisateur.
-     * @throws RuntimeException Si aucune tâche n'est trouvée pour cet utilisateur.
+     * @param id L'identifiant de la tâche à supprimer.
      */
-    public List<Task> getTaskByUserEmail(String userEmail) {
-        List<Task> tasks = taskRepository.findByUserMail(userEmail); // Mise à jour pour utiliser userMail
-        if (tasks.isEmpty()) {
-            throw new RuntimeException("No tasks found for user with email: " + userEmail);
-        }
-        return tasks;
+    @Transactional
+    public void deleteTask(Long id) {
+        deleteTask(id, null);
     }
 
     /**
-     * Supprime une tâche en fonction de son identifiant.
+     * Met à jour une tâche identifiée par son identifiant, à condition qu'elle n'ait pas été modifiée
+     * depuis la version lue par le client.
+     * 
+     * Une modification concurrente validée entre la lecture et l'écriture est détectée par le
+     * numéro de version au moment de l'écriture et produit la même exception.
+     * 
+     * @param id L'identifiant de la tâche à mettre à jour.
+     * @param expectedVersion La version de la tâche connue du client, ou {@code null} pour ne pas la comparer.
+     * @param changes Les nouvelles informations de la tâche (titre, description, échéance, statut).
+     * @return La tâche mise à jour, avec sa nouvelle version.
+     * @throws TaskNotFoundException Si aucune tâche n'est trouvée avec l'ID donné.
+     * @throws ObjectOptimisticLockingFailureException Si la tâche a été modifiée depuis cette version.
+     */
+    @Transactional
+    public Task updateTask(Long id, Long expectedVersion, Task changes) {
+        Task task = getTaskById(id);
+        checkVersion(task, expectedVersion);
+        String previousStatus = task.getStatus();
+        task.setTitle(changes.getTitle());
+        task.setDescription(changes.getDescription());
+        task.setDueDate(changes.getDueDate());
+        task.setStatus(changes.getStatus());
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskStatsService.updated(task.getProjectId(), previousStatus, updatedTask);
+        return updatedTask;
+    }
+
+    /**
+     * Supprime une tâche identifiée par son identifiant, à condition qu'elle n'ait pas été modifiée
+     * depuis la version lue par le client.
      * 
      * @param id L'identifiant de la tâche à supprimer.
+     * @param expectedVersion La version de la tâche connue du client, ou {@code null} pour ne pas la comparer.
+     * @return La tâche supprimée.
+     * @throws TaskNotFoundException Si aucune tâche n'est trouvée avec l'ID donné.
+     * @throws ObjectOptimisticLockingFailureException Si la tâche a été modifiée depuis cette version.
      */
-    public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+    @Transactional
+    public Task deleteTask(Long id, Long expectedVersion) {
+        Task task = getTaskById(id);
+        checkVersion(task, expectedVersion);
+        taskRepository.delete(task);
+        taskRepository.flush();
+        taskStatsService.deleted(task);
+        return task;
+    }
+
+    /**
+     * Applique une liste de créations, modifications et suppressions de tâches dans une seule transaction :
+     * si une opération échoue, aucune n'est appliquée.
+     * 
+     * Les tâches modifiées ou supprimées sont chargées en une seule requête, et les écritures sont
+     * envoyées en lots JDBC lors de l'unique flush final (identifiants tirés par blocs de la séquence,
+     * voir {@code hibernate.jdbc.batch_size}).
+     * 
+     * @param operations Les opérations, dans l'ordre.
+     * @return Les tâches créées et modifiées, les identifiants des tâches supprimées et les projets concernés.
+     * @throws IllegalArgumentException Si la liste est vide, trop longue, ou contient une opération incomplète
+     * ou deux opérations sur la même tâche.
+     * @throws TaskNotFoundException Si une tâche à modifier ou supprimer n'existe pas.
+     * @throws ObjectOptimisticLockingFailureException Si une tâche a été modifiée depuis la version indiquée.
+     */
+    @Transactional
+    public BulkTaskResult applyBulk(List<TaskOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations");
+        }
+        if (operations.size() > maxBulkOperations) {
+            throw new IllegalArgumentException("Bulk requests are limited to " + maxBulkOperations + " operations");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (int index = 0; index < operations.size(); index++) {
+            validate(index, operations.get(index), ids);
+        }
+        Map<Long, Task> existing = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Task> toCreate = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        Set<Long> projectIds = new LinkedHashSet<>();
+        TaskStatsService.Deltas deltas = new TaskStatsService.Deltas();
+        for (TaskOperation operation : operations) {
+            if (operation.getOp() == TaskOperation.Type.CREATE) {
+                Task task = operation.getTask();
+                task.setId(null);
+                task.setVersion(null);
+                toCreate.add(task);
+                addProject(projectIds, task);
+                deltas.add(task.getProjectId(), task.getStatus(), 1);
+                continue;
+            }
+            Task task = existing.get(operation.getId());
+            if (task == null) {
+                throw new TaskNotFoundException(operation.getId());
+            }
+            checkVersion(task, operation.getVersion());
+            addProject(projectIds, task);
+            deltas.add(task.getProjectId(), task.getStatus(), -1);
+            if (operation.getOp() == TaskOperation.Type.UPDATE) {
+                Task changes = operation.getTask();
+                task.setTitle(changes.getTitle());
+                task.setDescription(changes.getDescription());
+                task.setDueDate(changes.getDueDate());
+                task.setStatus(changes.getStatus());
+                deltas.add(task.getProjectId(), task.getStatus(), 1);
+                updated.add(task);
+            } else {
+                taskRepository.delete(task);
+                deleted.add(task.getId());
+            }
+        }
+        List<Task> created = taskRepository.saveAll(toCreate);
+        taskRepository.flush();
+        taskStatsService.apply(deltas);
+        return new BulkTaskResult(created, updated, deleted, projectIds);
+    }
+
+    /**
+     * Vérifie qu'une opération de modification en masse est complète.
+     * 
+     * @param index La position de l'opération dans la requête.
+     * @param operation L'opération.
+     * @param ids Les identifiants des tâches déjà visées par une opération, complétés par celle-ci.
+     * @throws IllegalArgumentException Si l'opération est incomplète ou vise une tâche déjà visée.
+     */
+    private static void validate(int index, TaskOperation operation, Set<Long> ids) {
+        if (operation == null || operation.getOp() == null) {
+            throw new IllegalArgumentException("Operation " + index + ": missing op");
+        }
+        if (operation.getOp() != TaskOperation.Type.DELETE && operation.getTask() == null) {
+            throw new IllegalArgumentException("Operation " + index + ": missing task");
+        }
+        if (operation.getOp() == TaskOperation.Type.CREATE) {
+            return;
+        }
+        if (operation.getId() == null || operation.getVersion() == null) {
+            throw new IllegalArgumentException("Operation " + index + ": id and version required");
+        }
+        if (!ids.add(operation.getId())) {
+            throw new IllegalArgumentException("Operation " + index + ": task " + operation.getId() + " already modified");
+        }
+    }
+
+    /**
+     * Ajoute le projet d'une tâche aux projets concernés par une modification en masse.
+     * 
+     * @param projectIds Les projets concernés.
+     * @param task La tâche.
+     */
+    private static void addProject(Set<Long> projectIds, Task task) {
+        if (task.getProjectId() != null) {
+            projectIds.add(task.getProjectId());
+        }
+    }
+
+    /**
+     * Vérifie que la tâche est toujours dans la version connue du client.
+     * 
+     * @param task La tâche lue en base.
+     * @param expectedVersion La version connue du client, ou {@code null} pour ne pas la comparer.
+     * @throws ObjectOptimisticLockingFailureException Si les versions diffèrent.
+     */
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
     }
 
     /**
@@ -96,17 +283,50 @@ public class TaskService {
      * @param task L'objet Task contenant les nouvelles informations pour la tâche à mettre à jour.
      * @return La tâche mise à jour.
      */
+    @Transactional
     public Task updateTask(Task task) {
-        return taskRepository.save(task);
+        return updateTask(task.getId(), null, task);
+    }
+
+    /**
+     * Récupère le nombre de tâches de chaque statut d'un projet, sans lire ses tâches.
+     * 
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches par statut.
+     */
+    public Map<String, Long> getTaskStats(Long projectId) {
+        return taskStatsService.getStats(projectId);
     }
 
     /**
-     * Récupère les tâches associées à un projet donné par son identifiant.
+     * Récupère une page de tâches, triée selon une clé puis par identifiant.
      * 
-     * @param projectId L'identifiant du projet pour lequel récupérer les tâches.
-     * @return Une liste de tâches associées au projet.
+     * Une tâche de plus que la taille de page est lue pour savoir s'il existe une page suivante,
+     * sans requête de comptage.
+     * 
+     * @param userMail L'email de l'utilisateur des tâches, ou {@code null} pour ne pas filtrer.
+     * @param projectId L'identifiant du projet des tâches, ou {@code null} pour ne pas filtrer.
+     * @param sortName La clé de tri (id, dueDate, createDate), ou {@code null} pour trier par identifiant.
+     * @param cursor Le curseur de la page précédente, ou {@code null} pour la première page.
+     * @param limit La taille de page demandée, ou {@code null} pour la taille par défaut.
+     * @return La page de tâches et le curseur de la page suivante.
+     * @throws IllegalArgumentException Si la clé de tri ou le curseur est invalide, ou si le curseur
+     * a été produit pour une autre clé de tri.
      */
-    public List<Task> getTaskByProjectId(Long projectId) {
-        return taskRepository.findByProjectId(projectId);
+    @Transactional(readOnly = true)
+    public TaskPage getTaskPage(String userMail, Long projectId, String sortName, String cursor, Integer limit) {
+        TaskSort sort = sortName == null ? TaskSort.ID : TaskSort.fromName(sortName);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+        if (after != null && after.getSort() != sort) {
+            throw new IllegalArgumentException("Cursor does not match sort key " + sort.getAttribute());
+        }
+        int size = Math.max(1, Math.min(limit == null ? defaultPageSize : limit, maxPageSize));
+
+        List<Task> tasks = taskRepository.findPage(userMail, projectId, sort, after, size + 1);
+        if (tasks.size() <= size) {
+            return new TaskPage(tasks, null);
+        }
+        List<Task> items = tasks.subList(0, size);
+        return new TaskPage(items, TaskCursor.after(sort, items.get(size - 1)).encode());
     }
 }
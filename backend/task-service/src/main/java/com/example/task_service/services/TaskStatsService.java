@@ -0,0 +1,403 @@
+package com.example.task_service.services;
+
+import com.example.task_service.entities.Task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs du nombre de tâches par projet et par statut.
+ * 
+ * Chaque écriture sur les tâches applique sa variation à la table task_status_count_dt dans sa propre
+ * transaction, puis, une fois la transaction validée, à une copie en mémoire : les statistiques d'un
+ * projet sont lues en mémoire, sans parcourir ses tâches.
+ * 
+ * Une réconciliation périodique recompte les tâches et recharge la copie en mémoire. Elle corrige un
+ * éventuel écart, et les variations dues aux autres instances du service lorsqu'il en existe plusieurs
+ * (leurs écritures ne sont visibles ici qu'après la réconciliation suivante).
+ * 
+ * Chaque variation porte la génération lue juste après son écriture en table ; la réconciliation passe à
+ * la génération suivante pendant qu'elle tient le verrou de la table. Une variation d'une génération
+ * antérieure est donc déjà comptée dans le recomptage et ignorée après le remplacement de la copie en
+ * mémoire ; une variation plus récente, validée avant ce remplacement, est mise en attente puis appliquée
+ * à la nouvelle copie. Le remplacement et l'application des variations sont exclusifs (verrou en mémoire,
+ * jamais tenu pendant une requête) : aucune variation n'est perdue ni comptée deux fois.
+ * 
+ * Les tâches sans projet ou sans statut ne sont pas comptées.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStatsService.class);
+
+    /**
+     * Ajout (ou création) d'un compteur, en une seule requête.
+     */
+    private static final String UPSERT = "INSERT INTO task_status_count_dt (project_id, status, count) VALUES (?, ?, ?) "
+            + "ON CONFLICT (project_id, status) DO UPDATE SET count = task_status_count_dt.count + EXCLUDED.count";
+
+    /**
+     * Absence de réconciliation en cours.
+     */
+    private static final long NONE = -1;
+
+    /**
+     * Compteurs en mémoire, avec la génération à partir de laquelle les variations doivent leur être appliquées.
+     */
+    private volatile Counters counters = new Counters(0, new ConcurrentHashMap<>());
+
+    /**
+     * Génération courante, incrémentée par chaque réconciliation sous le verrou de la table.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Génération de la réconciliation en cours, dont la copie en mémoire n'est pas encore remplacée ({@link #NONE} sinon).
+     */
+    private volatile long reconciling = NONE;
+
+    /**
+     * Variations de la génération en cours de réconciliation, validées avant le remplacement de la copie en mémoire.
+     */
+    private final List<Deltas> pending = new ArrayList<>();
+
+    /**
+     * Verrou en mémoire : partagé pour appliquer une variation, exclusif pour remplacer la copie.
+     */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    /**
+     * Accès JDBC à la table des compteurs, dans la transaction JPA en cours.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Transactions de la réconciliation.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructeur du service.
+     * 
+     * @param jdbcTemplate L'accès JDBC à la base des tâches.
+     * @param transactionTemplate Le modèle de transaction de l'application.
+     */
+    public TaskStatsService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Renvoie le nombre de tâches de chaque statut d'un projet.
+     * 
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches par statut (statuts sans tâche exclus).
+     */
+    public Map<String, Long> getStats(Long projectId) {
+        Map<String, AtomicLong> project = counters.values().get(projectId);
+        Map<String, Long> stats = new LinkedHashMap<>();
+        if (project != null) {
+            project.forEach((status, count) -> {
+                if (count.get() > 0) {
+                    stats.put(status, count.get());
+                }
+            });
+        }
+        return stats;
+    }
+
+    /**
+     * Compte une tâche créée.
+     * 
+     * @param task La tâche créée.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Task task) {
+        Deltas deltas = new Deltas();
+        deltas.add(task.getProjectId(), task.getStatus(), 1);
+        apply(deltas);
+    }
+
+    /**
+     * Compte une tâche supprimée.
+     * 
+     * @param task La tâche supprimée.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Task task) {
+        Deltas deltas = new Deltas();
+        deltas.add(task.getProjectId(), task.getStatus(), -1);
+        apply(deltas);
+    }
+
+    /**
+     * Compte un changement de statut ou de projet d'une tâche.
+     * 
+     * @param projectId Le projet de la tâche avant la modification.
+     * @param status Le statut de la tâche avant la modification.
+     * @param task La tâche modifiée.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(Long projectId, String status, Task task) {
+        Deltas deltas = new Deltas();
+        deltas.add(projectId, status, -1);
+        deltas.add(task.getProjectId(), task.getStatus(), 1);
+        apply(deltas);
+    }
+
+    /**
+     * Applique un ensemble de variations : à la table des compteurs immédiatement (dans la transaction
+     * en cours, en un seul lot), puis aux compteurs en mémoire après la validation de la transaction.
+     * Un appel hors transaction est refusé : la variation serait validée indépendamment de l'écriture
+     * de la tâche.
+     * 
+     * @param deltas Les variations des compteurs.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Deltas deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.values.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] {key.projectId(), key.status(), delta});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+        // Lue après l'écriture : une réconciliation en cours a fini (l'écriture attendait le verrou de la table),
+        // une réconciliation future attendra la validation de cette transaction pour recompter
+        long written = generation.get();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyInMemory(deltas, written);
+                }
+            });
+        } else {
+            applyInMemory(deltas, written);
+        }
+    }
+
+    /**
+     * Applique des variations validées aux compteurs en mémoire, selon leur génération.
+     * 
+     * @param deltas Les variations des compteurs.
+     * @param written La génération lue lors de l'écriture des variations en table.
+     */
+    private void applyInMemory(Deltas deltas, long written) {
+        swapLock.readLock().lock();
+        try {
+            Counters current = counters;
+            if (written < current.generation()) {
+                // Déjà comptée par la réconciliation qui a produit la copie en mémoire
+                return;
+            }
+            long next = reconciling;
+            if (next != NONE && written >= next) {
+                // Absente du recomptage en cours : appliquée à la copie qui va remplacer l'actuelle
+                synchronized (pending) {
+                    pending.add(deltas);
+                }
+                return;
+            }
+            add(current.values(), deltas);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute des variations à des compteurs.
+     * 
+     * @param values Les compteurs.
+     * @param deltas Les variations des compteurs.
+     */
+    private static void add(Map<Long, Map<String, AtomicLong>> values, Deltas deltas) {
+        deltas.values.forEach((key, delta) -> values
+                .computeIfAbsent(key.projectId(), id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key.status(), status -> new AtomicLong())
+                .addAndGet(delta));
+    }
+
+    /**
+     * Charge les compteurs au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, Map<String, AtomicLong>> loaded = read();
+        swapLock.writeLock().lock();
+        try {
+            counters = new Counters(generation.get(), loaded);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recompte les tâches de chaque projet, réécrit la table des compteurs et recharge les compteurs en mémoire.
+     * 
+     * La table des compteurs est verrouillée pendant le recomptage : une écriture sur les tâches en cours
+     * a soit déjà mis à jour les compteurs (le recomptage attend sa validation et la compte), soit les
+     * mettra à jour après la réconciliation. La génération suivante est ouverte sous ce verrou ; ses
+     * variations, validées avant le remplacement de la copie en mémoire, lui sont appliquées ensuite.
+     * Si la réconciliation échoue, elles sont appliquées à la copie actuelle, qui reste en place.
+     */
+    @Scheduled(initialDelayString = "${task.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${task.stats.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        long[] next = {NONE};
+        Map<Long, Map<String, AtomicLong>> reconciled = null;
+        try {
+            reconciled = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("LOCK TABLE task_status_count_dt IN EXCLUSIVE MODE");
+                next[0] = generation.get() + 1;
+                reconciling = next[0];
+                generation.set(next[0]);
+                jdbcTemplate.update("DELETE FROM task_status_count_dt");
+                jdbcTemplate.update("INSERT INTO task_status_count_dt (project_id, status, count) "
+                        + "SELECT project_id, status, COUNT(*) FROM task_dt "
+                        + "WHERE project_id IS NOT NULL AND status IS NOT NULL GROUP BY project_id, status");
+                return read();
+            });
+        } finally {
+            swap(next[0], reconciled);
+        }
+    }
+
+    /**
+     * Remplace la copie en mémoire par le résultat d'une réconciliation et lui applique les variations
+     * en attente ; en cas d'échec de la réconciliation, les applique à la copie actuelle.
+     * 
+     * @param next La génération ouverte par la réconciliation ({@link #NONE} si elle n'a pas démarré).
+     * @param reconciled Les compteurs recomptés, ou {@code null} en cas d'échec.
+     */
+    private void swap(long next, Map<Long, Map<String, AtomicLong>> reconciled) {
+        if (next == NONE) {
+            return;
+        }
+        swapLock.writeLock().lock();
+        try {
+            Counters previous = counters;
+            Map<Long, Map<String, AtomicLong>> values = reconciled != null ? reconciled : previous.values();
+            synchronized (pending) {
+                pending.forEach(deltas -> add(values, deltas));
+                pending.clear();
+            }
+            if (reconciled != null) {
+                counters = new Counters(next, reconciled);
+                if (!same(previous.values(), reconciled)) {
+                    LOGGER.info("Task status counters reconciled");
+                }
+            }
+            reconciling = NONE;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lit la table des compteurs.
+     * 
+     * @return Les compteurs, par projet puis par statut.
+     */
+    private Map<Long, Map<String, AtomicLong>> read() {
+        Map<Long, Map<String, AtomicLong>> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT project_id, status, count FROM task_status_count_dt", rs -> {
+            loaded.computeIfAbsent(rs.getLong(1), id -> new ConcurrentHashMap<>())
+                    .put(rs.getString(2), new AtomicLong(rs.getLong(3)));
+        });
+        return loaded;
+    }
+
+    /**
+     * Compare deux états des compteurs, pour signaler les écarts corrigés par la réconciliation.
+     * 
+     * @param a Le premier état.
+     * @param b Le second état.
+     * @return {@code true} si les compteurs non nuls sont identiques.
+     */
+    private static boolean same(Map<Long, Map<String, AtomicLong>> a, Map<Long, Map<String, AtomicLong>> b) {
+        return Objects.equals(snapshot(a), snapshot(b));
+    }
+
+    /**
+     * Copie les compteurs non nuls sous forme de valeurs simples.
+     * 
+     * @param counters Les compteurs.
+     * @return La copie des compteurs non nuls.
+     */
+    private static Map<Long, Map<String, Long>> snapshot(Map<Long, Map<String, AtomicLong>> counters) {
+        Map<Long, Map<String, Long>> copy = new LinkedHashMap<>();
+        counters.forEach((projectId, statuses) -> statuses.forEach((status, count) -> {
+            if (count.get() != 0) {
+                copy.computeIfAbsent(projectId, id -> new LinkedHashMap<>()).put(status, count.get());
+            }
+        }));
+        return copy;
+    }
+
+    /**
+     * Variations des compteurs accumulées pendant une écriture (une ou plusieurs tâches).
+     */
+    public static class Deltas {
+
+        /**
+         * Variation de chaque compteur.
+         */
+        private final Map<Key, Long> values = new LinkedHashMap<>();
+
+        /**
+         * Ajoute une variation ; les tâches sans projet ou sans statut sont ignorées.
+         * 
+         * @param projectId Le projet de la tâche.
+         * @param status Le statut de la tâche.
+         * @param delta La variation (+1 pour une tâche ajoutée, -1 pour une tâche retirée).
+         */
+        public void add(Long projectId, String status, long delta) {
+            if (projectId != null && status != null) {
+                values.merge(new Key(projectId, status), delta, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Copie en mémoire des compteurs.
+     * 
+     * @param generation La première génération dont les variations ne sont pas comptées dans cette copie.
+     * @param values Les compteurs : projet, puis statut.
+     */
+    private record Counters(long generation, Map<Long, Map<String, AtomicLong>> values) {}
+
+    /**
+     * Identifiant d'un compteur : un projet et un statut.
+     * 
+     * @param projectId L'identifiant du projet.
+     * @param status Le statut.
+     */
+    private record Key(Long projectId, String status) {}
+}
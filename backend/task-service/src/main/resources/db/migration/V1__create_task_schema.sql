@@ -0,0 +1,13 @@
+-- Schéma initial du service des tâches, tel que créé jusqu'ici par Hibernate (ddl-auto=update).
+-- IF NOT EXISTS : sur une base existante, la migration ne fait que l'enregistrer dans l'historique.
+
+CREATE TABLE IF NOT EXISTS task_dt (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    create_date TIMESTAMP(6),
+    due_date    TIMESTAMP(6),
+    status      VARCHAR(255),
+    user_email  VARCHAR(255),
+    project_id  BIGINT
+);
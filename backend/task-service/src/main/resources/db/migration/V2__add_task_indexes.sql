@@ -0,0 +1,7 @@
+-- Index des requêtes de TaskRepository.
+-- (project_id, id) et (user_email, id) servent à la fois la recherche par égalité et la pagination
+-- par curseur triée par identifiant, sans tri supplémentaire.
+
+CREATE INDEX IF NOT EXISTS idx_task_project_id ON task_dt (project_id, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_email ON task_dt (user_email, id);
+CREATE INDEX IF NOT EXISTS idx_task_create_date ON task_dt (create_date);
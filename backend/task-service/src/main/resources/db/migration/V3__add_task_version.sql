@@ -0,0 +1,3 @@
+-- Version des tâches pour le verrouillage optimiste (PUT/DELETE /api/tasks/{id} avec If-Match).
+
+ALTER TABLE task_dt ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Identifiants des tâches tirés d'une séquence par blocs de 50 (optimiseur "pooled" de Hibernate) :
+-- contrairement à une colonne IDENTITY, les insertions peuvent alors être regroupées en lots JDBC.
+-- La séquence repart après le plus grand identifiant existant.
+
+CREATE SEQUENCE IF NOT EXISTS task_dt_seq INCREMENT BY 50;
+SELECT setval('task_dt_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM task_dt), 1));
+
+ALTER TABLE task_dt ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,16 @@
+-- Nombre de tâches par projet et par statut, tenu à jour dans la transaction de chaque écriture
+-- sur task_dt (GET /api/tasks/project/{id}/stats). Initialisé à partir des tâches existantes.
+
+CREATE TABLE IF NOT EXISTS task_status_count_dt (
+    project_id BIGINT NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    count      BIGINT NOT NULL,
+    PRIMARY KEY (project_id, status)
+);
+
+INSERT INTO task_status_count_dt (project_id, status, count)
+SELECT project_id, status, COUNT(*)
+FROM task_dt
+WHERE project_id IS NOT NULL AND status IS NOT NULL
+GROUP BY project_id, status
+ON CONFLICT (project_id, status) DO NOTHING;
@@ -0,0 +1,9 @@
+-- Index de la pagination par date de TaskRepositoryImpl.findPage.
+-- La liste d'un projet ou d'un utilisateur triée par échéance ou par date de création est lue dans
+-- l'ordre (date, id) de ces index : les tâches datées à partir du curseur, puis les tâches sans date
+-- (date IS NULL) par identifiant, sans tri de toutes les tâches du projet.
+
+CREATE INDEX IF NOT EXISTS idx_task_project_due_date ON task_dt (project_id, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_task_project_create_date ON task_dt (project_id, create_date, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_due_date ON task_dt (user_email, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_create_date ON task_dt (user_email, create_date, id);
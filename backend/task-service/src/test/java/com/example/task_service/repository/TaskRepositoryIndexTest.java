@@ -0,0 +1,161 @@
+package com.example.task_service.repository;
+
+import com.example.task_service.dto.TaskCursor;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que chaque requête de {@link TaskRepository} est servie par un index créé par les migrations.
+ * 
+ * La requête SQL réellement générée par Hibernate est capturée, puis préparée et passée à EXPLAIN
+ * avec les parcours séquentiels désactivés : un plan qui contient encore un "Seq Scan" signale
+ * une requête qu'aucun index ne peut servir.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.task_service.repository.TaskRepositoryIndexTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class TaskRepositoryIndexTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @Test
+    void findByCreateDateUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findByCreateDate(LocalDateTime.now()), "2024-01-01 00:00:00"));
+    }
+
+    @Test
+    void findByUserMailUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findByUserMail("a@b.c"), "a@b.c"));
+    }
+
+    @Test
+    void findByProjectIdUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findByProjectId(1L), "1"));
+    }
+
+    @Test
+    void findPageByProjectUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findPage(null, 1L, TaskSort.ID,
+                new TaskCursor(TaskSort.ID, null, 10), 51), "1", "10", "51"));
+    }
+
+    @Test
+    void findPageByUserUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findPage("a@b.c", null, TaskSort.ID,
+                new TaskCursor(TaskSort.ID, null, 10), 51), "a@b.c", "10", "51"));
+    }
+
+    @Test
+    void findPageByProjectAndDueDateUsesIndex() {
+        LocalDateTime dueDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        assertIndexed(explain(() -> taskRepository.findPage(null, 1L, TaskSort.DUE_DATE,
+                new TaskCursor(TaskSort.DUE_DATE, dueDate, 10), 51),
+                "1", "2024-01-01 00:00:00", "2024-01-01 00:00:00", "10", "51"));
+    }
+
+    @Test
+    void findPageByUserAndCreateDateUsesIndex() {
+        LocalDateTime createDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        assertIndexed(explain(() -> taskRepository.findPage("a@b.c", null, TaskSort.CREATE_DATE,
+                new TaskCursor(TaskSort.CREATE_DATE, createDate, 10), 51),
+                "a@b.c", "2024-01-01 00:00:00", "2024-01-01 00:00:00", "10", "51"));
+    }
+
+    @Test
+    void findFirstPageByProjectAndCreateDateUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findPage(null, 1L, TaskSort.CREATE_DATE, null, 51), "1", "51"));
+    }
+
+    @Test
+    void findUndatedPageByUserAndDueDateUsesIndex() {
+        assertIndexed(explain(() -> taskRepository.findPage("a@b.c", null, TaskSort.DUE_DATE,
+                new TaskCursor(TaskSort.DUE_DATE, null, 10), 51), "a@b.c", "10", "51"));
+    }
+
+    /**
+     * Exécute une requête du repository, puis renvoie le plan de la requête SQL capturée.
+     * 
+     * @param query L'appel au repository.
+     * @param values Les valeurs des paramètres de la requête SQL, dans l'ordre.
+     * @return Le plan d'exécution de la requête.
+     */
+    private String explain(Runnable query, String... values) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        assertThat(SqlCapture.STATEMENTS).isNotEmpty();
+        String sql = SqlCapture.STATEMENTS.get(0);
+
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder prepared = new StringBuilder();
+        int count = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(prepared, "\\$" + (++count));
+        }
+        matcher.appendTail(prepared);
+        assertThat(values).as("parameters of %s", sql).hasSize(count);
+
+        jdbcTemplate.execute("DEALLOCATE ALL");
+        jdbcTemplate.execute("PREPARE explained AS " + prepared);
+        List<String> arguments = new ArrayList<>();
+        for (String value : values) {
+            arguments.add("'" + value.replace("'", "''") + "'");
+        }
+        String execute = count == 0 ? "explained" : "explained(" + String.join(", ", arguments) + ")";
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE " + execute, String.class));
+    }
+
+    private static void assertIndexed(String plan) {
+        assertThat(plan).contains("Index").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Capture les requêtes SQL envoyées par Hibernate.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
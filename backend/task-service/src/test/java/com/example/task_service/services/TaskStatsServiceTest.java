@@ -0,0 +1,115 @@
+package com.example.task_service.services;
+
+import com.example.task_service.entities.Task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que les compteurs de tâches par statut suivent les écritures, y compris par les routes
+ * historiques qui passent par les méthodes sans contrôle de version de {@link TaskService}.
+ * 
+ * @author Courné Jules
+ * @version 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TaskStatsServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deleteByCreateDateUpdatesCounters() throws Exception {
+        LocalDateTime createDate = LocalDateTime.of(2024, 5, 1, 10, 0);
+        taskService.createTask(new Task("Rédiger", "Compte rendu", createDate, createDate.plusDays(7), "TODO", "alice@example.com", 42L));
+        taskService.createTask(new Task("Relire", "Compte rendu", createDate.plusMinutes(1), createDate.plusDays(7), "TODO", "alice@example.com", 42L));
+        assertThat(taskStatsService.getStats(42L)).isEqualTo(Map.of("TODO", 2L));
+
+        mockMvc.perform(delete("/api/tasks/delete").param("createDate", createDate.toString()))
+                .andExpect(status().isOk());
+
+        assertThat(taskStatsService.getStats(42L)).isEqualTo(Map.of("TODO", 1L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count FROM task_status_count_dt WHERE project_id = 42 AND status = 'TODO'", Long.class))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void countersRejectWritesOutsideATransaction() {
+        Task task = new Task("Orpheline", null, LocalDateTime.of(2024, 5, 2, 10, 0), null, "DONE", "alice@example.com", 43L);
+
+        assertThatThrownBy(() -> taskStatsService.deleted(task)).isInstanceOf(IllegalTransactionStateException.class);
+        assertThat(taskStatsService.getStats(43L)).isEmpty();
+    }
+
+    @Test
+    void countersStayExactWhileReconciling() throws Exception {
+        LocalDateTime createDate = LocalDateTime.of(2024, 6, 1, 10, 0);
+        int writers = 4;
+        int tasksPerWriter = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                writes.add(executor.submit(() -> {
+                    for (int i = 0; i < tasksPerWriter; i++) {
+                        taskService.createTask(new Task("Tâche", null, createDate.plusSeconds(writer * 1000L + i),
+                                null, "TODO", "alice@example.com", 44L));
+                    }
+                    return null;
+                }));
+            }
+            while (writes.stream().anyMatch(write -> !write.isDone())) {
+                taskStatsService.reconcile();
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Ni variation perdue ni variation comptée deux fois, avant comme après une nouvelle réconciliation
+        assertThat(taskStatsService.getStats(44L)).isEqualTo(Map.of("TODO", (long) writers * tasksPerWriter));
+        taskStatsService.reconcile();
+        assertThat(taskStatsService.getStats(44L)).isEqualTo(Map.of("TODO", (long) writers * tasksPerWriter));
+    }
+}
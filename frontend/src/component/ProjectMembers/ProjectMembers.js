@@ -1,5 +1,5 @@
 import React, { useState, useEffect, useRef, useContext } from 'react';
-import { getAllUsers } from '../../service/AuthService';
+import { searchUsers } from '../../service/AuthService';
 import { TaskContext } from '../../context/TaskContext/TaskContext';
 import AlertService from '../../utils/AlertService';
 
@@ -23,6 +23,9 @@ const ProjectMembers = () => {
     // Liste des utilisateurs récupérés pour l'ajout de membres
     const [users, setUsers] = useState([]); 
 
+    // Début de l'email saisi dans le menu des utilisateurs
+    const [query, setQuery] = useState('');
+
     // Fonctions et données du contexte
     const { handleAddMember, members, owner, handleDeleteMember } = useContext(TaskContext); 
 
@@ -38,12 +41,22 @@ const ProjectMembers = () => {
     // Référence pour le bouton d'ajout de membres (+)
     const buttonRef = useRef(null); 
 
-    // Effet pour afficher une alerte si aucun utilisateur n'est trouvé
+    // Effet pour rechercher les utilisateurs à chaque saisie (le dernier résultat seul est conservé)
     useEffect(() => {
-        if (users.length === 0 && isUserMenuOpen) {
-            AlertService.info("Aucun utilisateur trouvé.");
+        if (!isUserMenuOpen || query.trim() === '') {
+            setUsers([]);
+            return;
         }
-    }, [users, isUserMenuOpen]);
+        let cancelled = false;
+        fetchUsers(query.trim()).then(result => {
+            if (!cancelled) {
+                setUsers(result);
+            }
+        });
+        return () => {
+            cancelled = true;
+        };
+    }, [query, isUserMenuOpen]);
 
     /**
      * Ajoute un écouteur d'événements pour fermer le menu lorsqu'on clique en dehors
@@ -66,12 +79,8 @@ const ProjectMembers = () => {
     /**
      * Fonction pour afficher/fermer le menu des utilisateurs
      */
-    const toggleUserMenu = async () => {
-
-        if (users.length === 0) {
-            await fetchUsers(); 
-            console.log(users);
-        }
+    const toggleUserMenu = () => {
+        setQuery('');
         setIsUserMenuOpen(prevState => !prevState);
     };
 
@@ -99,19 +108,22 @@ const ProjectMembers = () => {
     };
     
     /**
-     * Fonction pour récupérer tous les utilisateurs
+     * Fonction pour rechercher les utilisateurs dont l'email commence par le texte saisi
+     * 
+     * @param {string} prefix Le début de l'email saisi
+     * @returns La liste des utilisateurs trouvés, hors utilisateur connecté et membres actuels
      */
-    const fetchUsers = async () => {
+    const fetchUsers = async (prefix) => {
         try {
-          const userData = await getAllUsers(); 
-          const filteredUsers = userData.filter(user => 
+          const userData = await searchUsers(prefix); 
+          return userData.filter(user => 
             user.username !== userEmail && 
             user.username && 
             !members.includes("\"" + user.username + "\"") 
           );
-          setUsers(filteredUsers);
         } catch (error) {
-          console.error("Error fetching users:", error);
+          AlertService.error("Erreur lors de la recherche des utilisateurs.");
+          return [];
         }
     };
 
@@ -219,6 +231,17 @@ const ProjectMembers = () => {
                                 ref={userMenuRef}
                                 className="absolute right-[250px] top-[50%] mt-2 bg-white border border-neutral-200 rounded-lg shadow-lg w-auto max-w-max max-h-[300px] overflow-y-auto"
                             >
+                                <input
+                                    type="text"
+                                    autoFocus
+                                    value={query}
+                                    onChange={(e) => setQuery(e.target.value)}
+                                    placeholder="Rechercher un email..."
+                                    className="w-full p-2 border-b border-neutral-200 outline-none"
+                                />
+                                {query.trim() !== '' && users.length === 0 && (
+                                    <p className="p-2 text-sm text-gray-500">Aucun utilisateur trouvé.</p>
+                                )}
                                 {
                                     users
                                         .filter(user => !members.includes(user.username) && user.username !== owner)
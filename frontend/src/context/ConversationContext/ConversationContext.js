@@ -1,5 +1,5 @@
 import React, { createContext, useState, useEffect } from 'react';
-import { EventSourcePlus } from "event-source-plus";
+import { subscribe, followConversations } from "../../service/EventService";
 import axios from 'axios';
 
 // Création du contexte ConversationContext
@@ -22,9 +22,6 @@ export const ConversationProvider = ({ children }) => {
     // Récupération de l'email de l'utilisateur depuis sessionStorage
     const userEmail = sessionStorage.getItem('mail'); 
 
-    // Écouteur de messages en temps réel
-    const [eventSourceListener, setEventSourceListener] = useState(null); 
-
     // Liste des messages de la conversation
     const [messages, setMessages] = useState([]); 
 
@@ -34,40 +31,20 @@ export const ConversationProvider = ({ children }) => {
     // Indicateur de chargement des messages
     const [loading, setLoading] = useState(true); 
 
-    // useEffect pour établir une connexion EventSource lorsque la conversation change
+    // useEffect pour suivre les messages de la conversation en cours sur le flux partagé
     useEffect(() => {
         if (!jwtToken || !conversationId) return;
-    
-        if (eventSourceListener) return;
-    
-        const eventSource = new EventSourcePlus(`http://localhost:8080/api/messages/stream/${conversationId}`, {
-            method: "GET",
-            headers: {
-                "Authorization": `Bearer ${jwtToken}`
-            }
-        });
 
-        const listener = eventSource.listen({
-            async onMessage(event) {
-                const data = JSON.parse(event.data);
-                if (data.type === 'MESSAGE_RECEIVED') {
-                    console.log("message received with value :", data.message);
-                    setMessages(prevMessages => [...prevMessages, data.message]);
-                }
-            },
-            onError(error) {
-                console.error("EventSourcePlus error:", error);
-                listener.abort();
+        // La passerelle ne transmet plus que les messages de cette conversation
+        followConversations([conversationId]);
+
+        return subscribe("messages", (data) => {
+            if (data.type === 'MESSAGE_RECEIVED' && String(data.message.conversationId) === String(conversationId)) {
+                console.log("message received with value :", data.message);
+                setMessages(prevMessages => [...prevMessages, data.message]);
             }
         });
-    
-        setEventSourceListener(eventSource);
-    
-        return () => {
-            listener.abort();
-            setEventSourceListener(null);
-        };
-    }, [conversationId, jwtToken, loading]);
+    }, [conversationId, jwtToken]);
     
     /**
      * Fonction d'envoie d'un nouveau message
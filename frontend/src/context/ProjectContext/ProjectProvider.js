@@ -1,6 +1,6 @@
 import React, { createContext, useState, useEffect } from 'react';
 import { createProject, updateProject, deleteProjectById, getProjectsByOwner, getProjectsByMember } from '../../service/ProjectService';
-import { EventSourcePlus } from "event-source-plus";
+import { subscribe } from "../../service/EventService";
 
 //Création du contexte pour les projets
 export const ProjectContext = createContext();
@@ -29,124 +29,88 @@ export const ProjectProvider = ({ children }) => {
     const jwtToken = sessionStorage.getItem('jwtToken'); 
     const userEmail = sessionStorage.getItem('mail');
 
-    // États pour gérer la connexion en temps réel avec EventSource
-    const [eventSourceListener, setEventSourceListener] = useState(null);
-
-    // useEffect pour établir une connexion en temps réel avec EventSourcePlus
+    // useEffect pour s'abonner aux événements de projets du flux partagé
     useEffect(() => {
-        console.log("useEffect for EventSourcePlus triggered.");
-    
         if (!jwtToken) {
             console.error("No JWT token found. Please log in.");
             return;
         }
-    
-        console.log("Establishing EventSourcePlus connection with token:", jwtToken);
-        
-        if (!eventSourceListener) {
-            console.log("Establishing EventSourcePlus connection on Projects with token:", jwtToken);
 
-            const eventSource = new EventSourcePlus("http://localhost:8080/api/projects/events", {
-                method: "GET", 
-                headers: {
-                    "Authorization": `Bearer ${jwtToken}`,
-                    "Content-Type": "application/json"
-                }
-            });
-        
-            const listener = eventSource.listen({
-                async onMessage(event) {
-
-                    try{
-                        console.log("Received message from EventSourcePlus:", event);
-                        const data = JSON.parse(event.data);
-                        
-                        // Vérifier le type d'événement
-                        switch (data.type) {
-                            case 'PROJECT_CREATED':
-                                if (data.project.members !== null && data.project.members.includes(userEmail)) {
-                                    // Ajouter le projet uniquement s'il n'existe pas déjà
-                                    setProjectsMember((prevUpdates) => {
-                                        if (!prevUpdates.find(project => project.id === data.project.id)) {
-                                            return [...prevUpdates, data.project];
-                                        }
-                                        return prevUpdates; // Ne pas ajouter si déjà présent
-                                    });
-                                }
-                                break;
-                            case 'PROJECT_UPDATED':
-                                setProjectsMember((prevUpdates) => {
-                                    return prevUpdates.map(project => 
-                                        project.id === data.project.id ? data.project : project
-                                    );
-                                });
-                                break;
-                            case 'PROJECT_DELETED':
-                                setProjectsMember((prevUpdates) => {
-                                    return prevUpdates.filter(project => project.id !== data.id);
-                                });
-                                break;
-                            case 'MEMBER_ADDED': // Nouveau cas pour gérer l'ajout de membres
-                                if (data.project.members !== null && data.project.members.includes(userEmail)) {
-                                    setProjectsMember((prevUpdates) => {
-                                        // Vérifiez si le projet existe déjà dans prevUpdates
-                                        const projectExists = prevUpdates.find(existingProject => existingProject.id === data.project.id);
-                                        
-                                        // Si le projet n'existe pas encore dans la liste, ajoutez-le
-                                        if (!projectExists) {
-                                            return [...prevUpdates, data.project];
-                                        }
-                                        
-                                        // Si le projet existe déjà, mettez à jour le membre
-                                        // Cette étape s'assure que l'on met à jour l'état même si le projet est déjà présent
-                                        return prevUpdates.map(existingProject => {
-                                            if (existingProject.id === data.project.id) {
-                                                // Retourner un projet mis à jour
-                                                return {
-                                                    ...existingProject,
-                                                    members: data.project.members // Mettre à jour la liste des membres
-                                                };
-                                            }
-                                            return existingProject;
-                                        });
-                                    });
-                                }
-                                break;
-                            case 'MEMBER_REMOVED': 
-                                if (data.project.members !== null) {
-                                    setProjectsMember((prevUpdates) => {
-                                        return prevUpdates
-                                            .map(existingProject => {
-                                                if (existingProject.id === data.project.id) {
-                                                    return {
-                                                        ...existingProject,
-                                                        members: data.project.members // Mettez à jour la liste des membres
-                                                    };
-                                                }
-                                                return existingProject;
-                                            })
-                                            .filter(existingProject => existingProject.members.includes(userEmail)); // Filtrer uniquement les projets où l'utilisateur est membre
-                                    });
-                                }
-                                break;
+        return subscribe("projects", (data) => {
+            // Vérifier le type d'événement
+            switch (data.type) {
+                case 'PROJECT_CREATED':
+                    if (data.project.members !== null && data.project.members.includes(userEmail)) {
+                        // Ajouter le projet uniquement s'il n'existe pas déjà
+                        setProjectsMember((prevUpdates) => {
+                            if (!prevUpdates.find(project => project.id === data.project.id)) {
+                                return [...prevUpdates, data.project];
+                            }
+                            return prevUpdates; // Ne pas ajouter si déjà présent
+                        });
+                    }
+                    break;
+                case 'PROJECT_UPDATED':
+                    setProjectsMember((prevUpdates) => {
+                        return prevUpdates.map(project => 
+                            project.id === data.project.id ? data.project : project
+                        );
+                    });
+                    break;
+                case 'PROJECT_DELETED':
+                    setProjectsMember((prevUpdates) => {
+                        return prevUpdates.filter(project => project.id !== data.id);
+                    });
+                    break;
+                case 'MEMBER_ADDED': // Nouveau cas pour gérer l'ajout de membres
+                    if (data.project.members !== null && data.project.members.includes(userEmail)) {
+                        setProjectsMember((prevUpdates) => {
+                            // Vérifiez si le projet existe déjà dans prevUpdates
+                            const projectExists = prevUpdates.find(existingProject => existingProject.id === data.project.id);
+                            
+                            // Si le projet n'existe pas encore dans la liste, ajoutez-le
+                            if (!projectExists) {
+                                return [...prevUpdates, data.project];
+                            }
                             
-                            default:
-                                console.warn("Unknown event type:", data.type);
-                        }
+                            // Si le projet existe déjà, mettez à jour le membre
+                            // Cette étape s'assure que l'on met à jour l'état même si le projet est déjà présent
+                            return prevUpdates.map(existingProject => {
+                                if (existingProject.id === data.project.id) {
+                                    // Retourner un projet mis à jour
+                                    return {
+                                        ...existingProject,
+                                        members: data.project.members // Mettre à jour la liste des membres
+                                    };
+                                }
+                                return existingProject;
+                            });
+                        });
                     }
-                    catch(error){
-                        console.error("Error in onMessage:", error);
+                    break;
+                case 'MEMBER_REMOVED': 
+                    if (data.project.members !== null) {
+                        setProjectsMember((prevUpdates) => {
+                            return prevUpdates
+                                .map(existingProject => {
+                                    if (existingProject.id === data.project.id) {
+                                        return {
+                                            ...existingProject,
+                                            members: data.project.members // Mettez à jour la liste des membres
+                                        };
+                                    }
+                                    return existingProject;
+                                })
+                                .filter(existingProject => existingProject.members.includes(userEmail)); // Filtrer uniquement les projets où l'utilisateur est membre
+                        });
                     }
-                },
-                onError(error) {
-                    console.error("EventSourcePlus error:", error);
-                    listener.abort();
-                }
-            });
-            setEventSourceListener(eventSource);
-        }
-
-    }, [projectsOwned, projectsMember, eventSourceListener]);
+                    break;
+                
+                default:
+                    console.warn("Unknown event type:", data.type);
+            }
+        });
+    }, [jwtToken, userEmail]);
 
     /**
      * Récupération des projets possédés par l'utilisateur
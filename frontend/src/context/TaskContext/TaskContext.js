@@ -1,7 +1,7 @@
 import React, { createContext, useState, useEffect } from 'react';
-import { createTask, updateTask, deleteTaskByCreateDate, getTasksByProjectId } from '../../service/TaskService';
+import { createTask, updateTask, deleteTask, getTaskById, getTasksByProjectId } from '../../service/TaskService';
 import { getMembersByProjectId, addMemberToProject, deleteMemberFromProject, getProjectById } from '../../service/ProjectService';
-import { EventSourcePlus } from "event-source-plus";
+import { subscribe } from "../../service/EventService";
 
 //Création du contexte pour les tâches
 export const TaskContext = createContext();
@@ -44,9 +44,6 @@ export const TaskProvider = ({ children }) => {
     // Récupération de l'email de l'utilisateur
     const userEmail = sessionStorage.getItem('mail');  
 
-    // Écouteur des événements via EventSourcePlus      
-    const [eventSourceListener, setEventSourceListener] = useState(null);
-
     // useEffect pour récupérer les informations du projet dès que l'ID du projet change
     useEffect(() => {
         const fetchData = async () => {
@@ -71,62 +68,46 @@ export const TaskProvider = ({ children }) => {
         fetchData();
     }, [projectId]);
 
-    // useEffect pour gérer la connexion en temps réel avec les événements de tâches
+    // useEffect pour s'abonner aux événements de tâches du flux partagé
     useEffect(() => {
         if (!jwtToken) {
             console.error("No JWT token found. Please log in.");
             return;
         }
-        
-        if (!eventSourceListener) {
-            console.log("Establishing EventSourcePlus connection on Task with token:", jwtToken);
-            const eventSource = new EventSourcePlus(`http://localhost:8080/api/tasks/events`, {
-                method: "GET",
-                headers: {
-                    "Authorization": `Bearer ${jwtToken}`,
-                    "Content-Type": "application/json"
-                }
-            });
-
-            const listener = eventSource.listen({
-                onMessage(event) {
-                    const data = JSON.parse(event.data);
 
-                    // Traite l'événement uniquement si `task.user_email` est différent de `userEmail`
-                    switch (data.type) {
-                        case "TASK_CREATED":
-                            if (data.task.userMail !== userEmail){
-                                setTickets(prevTickets => [...prevTickets, data.task]);
-                            }
-                            break;
-                        case "TASK_UPDATED":
-                            if (data.task.useMail !== userEmail){
-                                setTickets(prevTickets =>
-                                    prevTickets.map(ticket => 
-                                        ticket.createDate === data.createDate ? { ...ticket, ...data.task } : ticket
-                                    )
-                                );
-                            }
-                            break;
-                        case "TASK_DELETED":
-                            setTickets(prevTickets => 
-                                prevTickets.filter(ticket => ticket.createDate !== data.createDate)
-                            );
-                            break;
-                        default:
-                            console.warn("Unknown event type:", data.type);
+        return subscribe("tasks", (data) => {
+            // Traite l'événement uniquement si `task.user_email` est différent de `userEmail`
+            switch (data.type) {
+                case "TASK_CREATED":
+                    if (data.task.userMail !== userEmail){
+                        setTickets(prevTickets => [...prevTickets, data.task]);
                     }
-                },
-                onError(error) {
-                    console.error("EventSource error:", error);
-                    listener.abort();
-                }
-            });
-
-            setEventSourceListener(eventSource);
-        }
-
-    }, [projectId, tickets, eventSourceListener]);
+                    break;
+                case "TASK_UPDATED":
+                    if (data.task.useMail !== userEmail){
+                        setTickets(prevTickets =>
+                            prevTickets.map(ticket => 
+                                ticket.createDate === data.createDate ? { ...ticket, ...data.task } : ticket
+                            )
+                        );
+                    }
+                    break;
+                case "TASK_DELETED":
+                    setTickets(prevTickets => 
+                        prevTickets.filter(ticket => ticket.createDate !== data.createDate)
+                    );
+                    break;
+                case "TASK_BULK":
+                    // Événement unique pour une modification en masse : on recharge les tâches du projet
+                    if (projectId && data.projectIds.includes(projectId)) {
+                        getTasksByProjectId(projectId).then(setTickets);
+                    }
+                    break;
+                default:
+                    console.warn("Unknown event type:", data.type);
+            }
+        });
+    }, [projectId, jwtToken]);
 
     /**
      * Fonction qui ajoute un nouveau membre au projet en cours.
@@ -178,28 +159,54 @@ export const TaskProvider = ({ children }) => {
      */
     const updateTicket = async (ticketId, updatedTicket) => {
         try {
-            await updateTask(ticketId, updatedTicket);
+            const response = await updateTask(updatedTicket.id, updatedTicket);
             setTickets(prevTickets =>
                 prevTickets.map(ticket =>
-                    ticket.createDate === ticketId ? { ...ticket, ...updatedTicket } : ticket
+                    ticket.createDate === ticketId ? { ...ticket, ...response.data } : ticket
                 )
             );
             console.log("TICKET UPDATED");
         } catch (error) {
+            if (error.response && (error.response.status === 409 || error.response.status === 412)) {
+                // Tâche modifiée entre-temps par un autre utilisateur : on recharge sa dernière version
+                await reloadTicket(updatedTicket.id);
+            }
             console.error('Error updating task:', error);
         }
     };
 
+    /**
+     * Fonction qui recharge depuis le serveur le ticket avec l'id id
+     * 
+     * @param {number} id 
+     */
+    const reloadTicket = async (id) => {
+        try {
+            const task = await getTaskById(id);
+            setTickets(prevTickets => prevTickets.map(ticket => ticket.id === id ? task : ticket));
+        } catch (error) {
+            // Tâche supprimée entre-temps
+            setTickets(prevTickets => prevTickets.filter(ticket => ticket.id !== id));
+        }
+    };
+
     /**
      * Fonction qui supprime le ticket avec la date de création createDate
      * 
      * @param {Date} createDate 
      */
     const deleteTicket = async (createDate) => {
+        const deleted = tickets.find(ticket => ticket.createDate === createDate);
+        if (!deleted) {
+            return;
+        }
         try {
-            await deleteTaskByCreateDate(createDate);
+            await deleteTask(deleted.id, deleted.version);
             setTickets(prevTickets => prevTickets.filter(ticket => ticket.createDate !== createDate));
         } catch (error) {
+            if (error.response && error.response.status === 412) {
+                await reloadTicket(deleted.id);
+            }
             console.error('Error deleting task:', error);
         }
     };
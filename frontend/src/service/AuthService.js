@@ -3,6 +3,50 @@ import axios from 'axios';
 // Constantes de configuration de l'url pour accéder au service d'authentification
 const url = "http://localhost:8080/api/auth"; 
 
+// Renouvellement en cours du token d'accès, partagé par les requêtes refusées en même temps
+let refreshing = null;
+
+/**
+ * Intercepteur des réponses : lorsqu'une requête est refusée (401) parce que le token d'accès a expiré,
+ * un nouveau token est demandé une seule fois avec le token de rafraîchissement (cookie), puis la requête
+ * est rejouée avec le nouveau token.
+ */
+axios.interceptors.response.use(
+    response => response,
+    async error => {
+        const original = error.config;
+        const status = error.response ? error.response.status : null;
+        if (status !== 401 || !original || original._retried
+            || original.url.startsWith(`${url}/login`) || original.url.startsWith(`${url}/refresh`)
+            || !sessionStorage.getItem('jwtToken')) {
+            throw error;
+        }
+        original._retried = true;
+        const accessToken = await refreshAccessToken();
+        original.headers['Authorization'] = `Bearer ${accessToken}`;
+        return axios(original);
+    }
+);
+
+/**
+ * Fonction de renouvellement du token d'accès, à partir du token de rafraîchissement (cookie HttpOnly)
+ * 
+ * @returns {string} accessToken - le nouveau token d'authentification
+ */
+export async function refreshAccessToken() {
+    if (!refreshing) {
+        refreshing = axios.post(`${url}/refresh`, null, { withCredentials: true })
+            .then(response => {
+                sessionStorage.setItem('jwtToken', response.data);
+                return response.data;
+            })
+            .finally(() => {
+                refreshing = null;
+            });
+    }
+    return refreshing;
+};
+
 /**
  * Fonction de connexion
  * 
@@ -12,6 +56,7 @@ const url = "http://localhost:8080/api/auth";
 export async function login(user) {
     try {
         const response = await axios.post(`${url}/login`, user, {
+            withCredentials: true, // Reçoit le cookie du token de rafraîchissement
             headers: {
                 'Content-Type': 'application/json'
             }
@@ -53,28 +98,67 @@ export async function signup(user) {
 };
 
 /**
- *  Fonction pour obtenir tous les utilisateurs
+ *  Fonction pour obtenir tous les utilisateurs. Le serveur renvoie les utilisateurs par pages
+ *  ({ users, nextCursor }) : les pages sont lues en suivant le curseur nextCursor jusqu'à la dernière.
  * 
- * @returns response.data - la liste des utilisateurs
+ * @returns la liste des utilisateurs
  */
 export const getAllUsers = async () => {
     try {
-        const response = await axios.get(`${url}/users`, {
+        const users = [];
+        let after;
+        do {
+            const response = await axios.get(`${url}/users`, {
+                params: after !== undefined ? { after, limit: 500 } : { limit: 500 },
+                headers: {
+                    'Authorization': `Bearer ${sessionStorage.getItem('jwtToken')}`
+                }
+            });
+            users.push(...response.data.users);
+            after = response.data.nextCursor;
+        } while (after !== undefined && after !== null);
+        return users; // Retourne la liste des utilisateurs
+    } catch (error) {
+        console.error("Error fetching users:", error);
+        throw error; // Rejette l'erreur pour être géré par le composant appelant
+    }
+};
+
+/**
+ *  Fonction pour rechercher les utilisateurs dont l'email commence par un préfixe
+ * 
+ * @param {string} prefix - le début de l'email saisi
+ * @param {number} limit - le nombre maximal de résultats
+ * @returns response.data - la liste des utilisateurs trouvés ({ id, username })
+ */
+export const searchUsers = async (prefix, limit = 10) => {
+    try {
+        const response = await axios.get(`${url}/users/search`, {
+            params: { prefix, limit },
             headers: {
                 'Authorization': `Bearer ${sessionStorage.getItem('jwtToken')}`
             }
         });
-        return response.data; // Retourne la liste des utilisateurs
+        return response.data;
     } catch (error) {
-        console.error("Error fetching users:", error);
-        throw error; // Rejette l'erreur pour être géré par le composant appelant
+        console.error("Error searching users:", error);
+        throw error;
     }
 };
 
 /**
- * Fonction de déconnexion
+ * Fonction de déconnexion : le token d'accès et le token de rafraîchissement sont révoqués côté serveur
  */
 export function logout() {
+    const accessToken = sessionStorage.getItem('jwtToken');
+    if (accessToken) {
+        axios.post(`${url}/logout`, null, {
+            withCredentials: true,
+            headers: {
+                'Authorization': `Bearer ${accessToken}`
+            }
+        }).catch(error => console.error('Erreur de déconnexion:', error.message));
+    }
     sessionStorage.removeItem('jwtToken');
     sessionStorage.removeItem('mail');
 };
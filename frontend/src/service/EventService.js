@@ -0,0 +1,131 @@
+import { EventSourcePlus } from "event-source-plus";
+
+// Constantes de configuration de l'url du flux d'événements multiplexé de la passerelle
+const url = "http://localhost:8080/api/events";
+
+// Sujets écoutés sur l'unique connexion
+const topics = ["tasks", "projects", "messages", "users"];
+
+// Événement émis par la passerelle à chaque (re)connexion d'un flux amont, sans intérêt pour l'interface
+const CONNECTED_EVENT = "STREAM_CONNECTED";
+
+// Écouteurs abonnés, indexés par sujet
+const listeners = new Map(topics.map(topic => [topic, new Set()]));
+
+// Conversations dont les messages sont suivis
+let conversations = [];
+
+// Connexion en cours (null si aucune)
+let controller = null;
+
+/**
+ * Fonction qui retourne le token d'authentification
+ *
+ * @returns le token jwt de l'utilisateur
+ */
+const getAuthToken = () => {
+  return sessionStorage.getItem('jwtToken');
+};
+
+/**
+ * Indique si au moins un écouteur est abonné à un sujet
+ *
+ * @returns true si la connexion doit rester ouverte
+ */
+const hasListeners = () => {
+  return [...listeners.values()].some(topicListeners => topicListeners.size > 0);
+};
+
+/**
+ * Ouvre l'unique connexion SSE vers la passerelle. Chaque événement porte le nom de son sujet
+ * (tasks, projects, messages, users) et est transmis aux écouteurs de ce sujet.
+ */
+const connect = () => {
+  const token = getAuthToken();
+  if (!token) {
+    console.error("No JWT token found. Please log in.");
+    return;
+  }
+
+  const params = new URLSearchParams({ topics: topics.join(",") });
+  if (conversations.length > 0) {
+    params.set("conversations", conversations.join(","));
+  }
+
+  const eventSource = new EventSourcePlus(`${url}?${params}`, {
+    method: "GET",
+    headers: {
+      "Authorization": `Bearer ${token}`
+    }
+  });
+
+  controller = eventSource.listen({
+    onMessage(event) {
+      const topicListeners = listeners.get(event.event);
+      if (!topicListeners || !event.data) return;
+      try {
+        const data = JSON.parse(event.data);
+        if (data.type === CONNECTED_EVENT) return;
+        topicListeners.forEach(listener => listener(data));
+      } catch (error) {
+        console.error("Error in onMessage:", error);
+      }
+    },
+    onResponseError({ response }) {
+      console.error("Event stream error:", response.status);
+    }
+  });
+};
+
+/**
+ * Ferme puis rouvre la connexion, par exemple après un changement des conversations suivies
+ */
+const reconnect = () => {
+  if (controller) {
+    controller.abort();
+    controller = null;
+  }
+  if (hasListeners()) {
+    connect();
+  }
+};
+
+/**
+ * Abonne un écouteur aux événements d'un sujet. La connexion est ouverte au premier abonnement
+ * et fermée au dernier désabonnement.
+ *
+ * @param {string} topic - le sujet écouté (tasks, projects, messages ou users)
+ * @param {function} listener - la fonction appelée avec les données de chaque événement
+ * @returns la fonction de désabonnement
+ */
+export function subscribe(topic, listener) {
+  const topicListeners = listeners.get(topic);
+  if (!topicListeners) {
+    throw new Error(`Unknown event topic: ${topic}`);
+  }
+  topicListeners.add(listener);
+  if (!controller) {
+    connect();
+  }
+
+  return () => {
+    topicListeners.delete(listener);
+    if (!hasListeners() && controller) {
+      controller.abort();
+      controller = null;
+    }
+  };
+}
+
+/**
+ * Restreint les messages reçus aux conversations données ; la connexion est rouverte
+ * avec le nouveau filtre si celui-ci change.
+ *
+ * @param {string[]} conversationIds - les ids des conversations suivies (toutes si vide)
+ */
+export function followConversations(conversationIds) {
+  const next = conversationIds.filter(Boolean).map(String);
+  if (next.join(",") === conversations.join(",")) return;
+  conversations = next;
+  reconnect();
+}
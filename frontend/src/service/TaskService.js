@@ -13,18 +13,36 @@ const getAuthToken = () => {
 };
 
 /**
- * Récupère la liste des tâches
+ * Récupère toutes les pages d'une liste de tâches. Le serveur renvoie les tâches par pages
+ * ({ items, next }) : les pages sont lues en suivant le curseur next jusqu'à la dernière.
  * 
- * @returns response.data - list of tasks
+ * @param {string} path - l'url de la liste de tâches
+ * @returns la liste complète des tâches
  */
-export async function getAllTasks() {
-  try {
-    const response = await axios.get(url, {
+const getAllPages = async (path) => {
+  const tasks = [];
+  let cursor;
+  do {
+    const response = await axios.get(path, {
+      params: cursor ? { cursor } : {},
       headers: {
         'Authorization': `Bearer ${getAuthToken()}`
       }
     });
-    return response.data; 
+    tasks.push(...response.data.items);
+    cursor = response.data.next;
+  } while (cursor);
+  return tasks;
+};
+
+/**
+ * Récupère la liste des tâches
+ * 
+ * @returns la liste des tâches
+ */
+export async function getAllTasks() {
+  try {
+    return await getAllPages(url);
   } catch (error) {
     console.error('Erreur lors de la récupération des tâches:', error.response ? error.response.data : error.message);
     throw error; 
@@ -55,18 +73,37 @@ export async function createTask(task) {
 }
 
 /**
- * Modifie une tâche
+ * Crée, modifie et supprime des tâches en une seule requête (tout ou rien).
+ * 
+ * @param {Array} operations - les opérations : { op: 'create', task },
+ *   { op: 'update', id, version, task } ou { op: 'delete', id, version }
+ * @returns response.data - les tâches créées et modifiées et les ids des tâches supprimées
+ */
+export async function bulkTasks(operations) {
+  const response = await axios.post(`${url}/bulk`, operations, {
+    headers: {
+      'Content-Type': 'application/json',
+      'Authorization': `Bearer ${getAuthToken()}`
+    }
+  });
+  return response.data;
+}
+
+/**
+ * Modifie une tâche. La version de la tâche est envoyée dans l'en-tête If-Match : le serveur
+ * répond 412 si la tâche a été modifiée entre-temps par un autre utilisateur.
  * 
- * @param {Date} createDate - la date de création de la tâche à modifier
- * @param {Object} updatedTicket - la tâche modifié
- * @returns la tâche modifié
+ * @param {number} id - l'id de la tâche à modifier
+ * @param {Object} updatedTicket - la tâche modifié (avec sa version)
+ * @returns la réponse contenant la tâche modifié et sa nouvelle version
  */
-export const updateTask = async (createDate, updatedTicket) => {
+export const updateTask = async (id, updatedTicket) => {
 
-  return await axios.put(`${url}/update?createDate=${createDate}`, updatedTicket, {
+  return await axios.put(`${url}/${id}`, updatedTicket, {
       headers: {
           'Authorization': `Bearer ${getAuthToken()}`,
           'Content-Type': 'application/json',
+          'If-Match': `"${updatedTicket.version}"`,
       },
   });
 };
@@ -95,16 +132,11 @@ export async function getTaskById(id) {
  * Récupère la liste de tâches associés à l'email de l'utilisateur
  * 
  * @param {string} userEmail - l'email de l'utilisateur associé aux tâches à récupérer
- * @returns response.data - la liste de tâches
+ * @returns la liste de tâches
  */
 export async function getTasksByUserEmail(userEmail) {
   try {
-    const response = await axios.get(`${url}/user/${userEmail}`, {
-      headers: {
-        'Authorization': `Bearer ${getAuthToken()}` 
-      }
-    });
-    return response.data;
+    return await getAllPages(`${url}/user/${userEmail}`);
   } catch (error) {
     console.error('Erreur lors de la récupération des tâches de l\'utilisateur:', error.response ? error.response.data : error.message);
     throw error;
@@ -112,15 +144,17 @@ export async function getTasksByUserEmail(userEmail) {
 }
 
 /**
- * Supprimer la tâche avec l'id id
+ * Supprimer la tâche avec l'id id, si elle n'a pas été modifiée depuis la version version
  * 
  * @param {number} id - l'id de la tâche à supprimer
+ * @param {number} version - la version de la tâche connue du client
  */
-export async function deleteTask(id) {
+export async function deleteTask(id, version) {
   try {
     await axios.delete(`${url}/${id}`, {
       headers: {
-        'Authorization': `Bearer ${getAuthToken()}`
+        'Authorization': `Bearer ${getAuthToken()}`,
+        'If-Match': `"${version}"`
       }
     });
     console.log(`Tâche ${id} supprimée avec succès`);
@@ -160,14 +194,23 @@ export const deleteTaskByCreateDate = async (createDate) => {
  */
 export const getTasksByProjectId = async (projectId) => {
   try {
-      const response = await axios.get(`${url}/project/${projectId}`, {
-        headers: {
-          'Authorization': `Bearer ${getAuthToken()}` // Add Bearer token to the headers
-        }
-      });
-      return response.data; // Renvoie les tâches récupérées
+      return await getAllPages(`${url}/project/${projectId}`);
   } catch (error) {
       console.error("Erreur lors de la récupération des tâches par projet:", error);
       throw error;
   }
-};
\ No newline at end of file
+};
+/**
+ * Récupère le nombre de tâches de chaque statut d'un projet (calculé par le serveur).
+ * 
+ * @param {number} projectId - l'id du projet
+ * @returns le nombre de tâches par statut, par exemple { "To Do": 3, "Done": 5 }
+ */
+export const getTaskStatsByProjectId = async (projectId) => {
+  const response = await axios.get(`${url}/project/${projectId}/stats`, {
+    headers: {
+      'Authorization': `Bearer ${getAuthToken()}`
+    }
+  });
+  return response.data;
+};